@@ -34,8 +34,8 @@ CREATE USER IF NOT EXISTS 'minecraft_user'@'localhost'
 -- === 3단계: 권한 부여 ===
 -- 생성한 사용자에게 minecraft_db 데이터베이스에 대한 모든 권한을 부여합니다
 -- SELECT, INSERT, UPDATE, DELETE: 데이터 조작 권한
--- CREATE, ALTER, DROP: 테이블 구조 변경 권한 (Hibernate가 스키마를 자동 생성/수정하기 위해 필요)
--- INDEX: 인덱스 관리 권한
+-- CREATE, ALTER, DROP: 테이블 구조 변경 권한 (플러그인 내장 스키마 마이그레이션이 테이블을 생성/수정하기 위해 필요)
+-- INDEX: 인덱스 관리 권한 (마이그레이션이 조회용 인덱스를 생성)
 -- REFERENCES: 외래키 생성 권한
 
 GRANT SELECT, INSERT, UPDATE, DELETE, CREATE, ALTER, DROP, INDEX, REFERENCES 
@@ -72,7 +72,7 @@ SHOW GRANTS FOR 'minecraft_user'@'localhost';
 /*
 USE minecraft_db;
 
--- 테스트용 플레이어 데이터 (Hibernate가 테이블을 생성한 후에 실행)
+-- 테스트용 플레이어 데이터 (플러그인이 첫 실행에서 테이블을 생성한 후에 실행)
 INSERT INTO player_data (uuid, player_name, money, last_login, play_time_minutes) VALUES
 ('550e8400-e29b-41d4-a716-446655440000', 'TestPlayer1', 1000.0, NOW(), 120),
 ('550e8400-e29b-41d4-a716-446655440001', 'TestPlayer2', 500.0, NOW(), 60),
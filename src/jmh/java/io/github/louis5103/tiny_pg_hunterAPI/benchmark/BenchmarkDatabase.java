@@ -0,0 +1,186 @@
+package io.github.louis5103.tiny_pg_hunterAPI.benchmark;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerDataRepository;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 데이터베이스를 준비하고 정리합니다.
+ *
+ * - sqlite: 임시 폴더의 SQLite 파일
+ * - mysql: MariaDB4j 임베디드 서버 (MySQL 호환)
+ *   -Dtinypg.bench.mysql.port=3306 등을 주면 이미 실행 중인 MySQL을 사용합니다
+ *
+ * 플러그인에 포함된 config.yml을 그대로 읽은 뒤 벤치마크에 필요한 값만 덮어씁니다.
+ * startNode로 같은 DB를 쓰는 DatabaseManager를 더 열면 한 JVM 안에서 여러 서버를 흉내 낼 수 있습니다.
+ */
+final class BenchmarkDatabase {
+
+    static final String DATABASE_NAME = "tinypg_bench";
+
+    private final Path dataFolder;
+    private final YamlConfiguration config;
+    private final DB embeddedMySql;
+    private final DatabaseManager databaseManager;
+    private final List<PlayerData> seededPlayers;
+    // startNode로 추가로 연 노드 (stop에서 함께 닫음)
+    private final List<DatabaseManager> extraNodes = new ArrayList<>();
+
+    private BenchmarkDatabase(Path dataFolder, YamlConfiguration config, DB embeddedMySql,
+                              DatabaseManager databaseManager, List<PlayerData> seededPlayers) {
+        this.dataFolder = dataFolder;
+        this.config = config;
+        this.embeddedMySql = embeddedMySql;
+        this.databaseManager = databaseManager;
+        this.seededPlayers = seededPlayers;
+    }
+
+    /**
+     * @param backend          "sqlite" 또는 "mysql"
+     * @param secondLevelCache 2차 캐시 사용 여부
+     * @param players          미리 넣어둘 플레이어 수
+     */
+    static BenchmarkDatabase start(String backend, boolean secondLevelCache, int players) throws Exception {
+        return start(backend, secondLevelCache, players, false);
+    }
+
+    /**
+     * @param multiNode database.multi-node 값 (startNode로 여러 노드를 열어 검사할 때 true)
+     */
+    static BenchmarkDatabase start(String backend, boolean secondLevelCache, int players,
+                                   boolean multiNode) throws Exception {
+        Path dataFolder = Files.createTempDirectory("tinypg-bench");
+        YamlConfiguration config = loadBundledConfig();
+        config.set("database.type", backend);
+        config.set("database.multi-node", multiNode);
+        config.set("cache.second-level.enabled", secondLevelCache);
+        config.set("hibernate.show_sql", false);
+        config.set("hibernate.format_sql", false);
+        config.set("hibernate.use_sql_comments", false);
+
+        DB embeddedMySql = null;
+        if ("mysql".equalsIgnoreCase(backend)) {
+            embeddedMySql = configureMySql(config, dataFolder);
+        }
+
+        DatabaseManager databaseManager = openNode(config, dataFolder);
+        List<PlayerData> seeded = seed(new PlayerDataRepository(databaseManager), players);
+        return new BenchmarkDatabase(dataFolder, config, embeddedMySql, databaseManager, seeded);
+    }
+
+    private static DatabaseManager openNode(YamlConfiguration config, Path dataFolder) {
+        Logger logger = Logger.getLogger("TinyPG-Bench");
+        logger.setLevel(Level.WARNING);
+
+        // 벤치마크에는 서버 메인 스레드가 없으므로 호출한 스레드에서 바로 실행합니다
+        return new DatabaseManager(config, dataFolder.toFile(), logger, Runnable::run).initialize();
+    }
+
+    /**
+     * 같은 DB(같은 SQLite 파일 또는 같은 MySQL)를 쓰는 DatabaseManager를 하나 더 엽니다.
+     * 플러그인 인스턴스 하나에 해당하며, 커넥션 풀과 쓰기 스레드와 2차 캐시를 따로 가집니다.
+     */
+    DatabaseManager startNode() {
+        DatabaseManager node = openNode(config, dataFolder);
+        extraNodes.add(node);
+        return node;
+    }
+
+    private static YamlConfiguration loadBundledConfig() throws Exception {
+        try (Reader reader = new InputStreamReader(
+                BenchmarkDatabase.class.getClassLoader().getResourceAsStream("config.yml"), StandardCharsets.UTF_8)) {
+            return YamlConfiguration.loadConfiguration(reader);
+        }
+    }
+
+    private static DB configureMySql(YamlConfiguration config, Path dataFolder) throws Exception {
+        String externalPort = System.getProperty("tinypg.bench.mysql.port");
+        if (externalPort != null) {
+            config.set("database.mysql.host", System.getProperty("tinypg.bench.mysql.host", "localhost"));
+            config.set("database.mysql.port", Integer.parseInt(externalPort));
+            config.set("database.mysql.database", System.getProperty("tinypg.bench.mysql.database", DATABASE_NAME));
+            config.set("database.mysql.username", System.getProperty("tinypg.bench.mysql.username", "root"));
+            config.set("database.mysql.password", System.getProperty("tinypg.bench.mysql.password", ""));
+            return null;
+        }
+
+        DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder()
+                .setPort(0) // 빈 포트 자동 선택
+                .setDataDir(dataFolder.resolve("mariadb").toFile());
+        DB db = DB.newEmbeddedDB(builder.build());
+        db.start();
+        db.createDB(DATABASE_NAME);
+
+        config.set("database.mysql.host", "localhost");
+        config.set("database.mysql.port", builder.getPort());
+        config.set("database.mysql.database", DATABASE_NAME);
+        config.set("database.mysql.username", "root");
+        config.set("database.mysql.password", "");
+        return db;
+    }
+
+    private static List<PlayerData> seed(PlayerDataRepository repository, int players) {
+        Random random = new Random(42);
+        List<PlayerData> batch = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            String uuid = UUID.randomUUID().toString();
+            PlayerData playerData = new PlayerData(uuid, "bench_" + uuid.substring(0, 8) + "_" + i);
+            credit(playerData, random.nextLong(100_000_000L)); // 새 플레이어는 0원에서 시작
+            playerData.setPlayTimeMinutes((long) random.nextInt(100_000));
+            batch.add(playerData);
+        }
+        // 저장된 값(버전 포함)을 돌려줍니다. save 벤치마크는 이 값에서 시작해 저장할 때마다 결과로 바꿔 넣습니다
+        return List.copyOf(repository.saveAll(batch));
+    }
+
+    /**
+     * 저널 없이 잔액을 더합니다 (설정에서 저널을 끈 BalanceLedger와 같은 경로).
+     */
+    static void credit(PlayerData playerData, long amount) {
+        playerData.applyJournaled(amount, false, 0L, null);
+    }
+
+    DatabaseManager databaseManager() {
+        return databaseManager;
+    }
+
+    /**
+     * 미리 넣어둔 플레이어 (분리 상태)
+     */
+    List<PlayerData> seededPlayers() {
+        return seededPlayers;
+    }
+
+    void stop() throws Exception {
+        extraNodes.forEach(DatabaseManager::shutdown);
+        databaseManager.shutdown();
+        if (embeddedMySql != null) {
+            embeddedMySql.stop();
+        }
+        deleteRecursively(dataFolder);
+    }
+
+    private static void deleteRecursively(Path root) throws Exception {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
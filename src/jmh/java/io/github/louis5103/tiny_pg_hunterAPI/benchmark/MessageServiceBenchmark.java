@@ -0,0 +1,61 @@
+package io.github.louis5103.tiny_pg_hunterAPI.benchmark;
+
+import io.github.louis5103.tiny_pg_hunterAPI.service.MessageService;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 접속/퇴장/명령어 메시지를 만드는 비용을 측정합니다 (DB 없음).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageServiceBenchmark {
+
+    private MessageService messageService;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        messageService = new MessageService();
+        // 서버 없이 실행하므로 getName만 응답하는 가짜 플레이어를 사용합니다
+        player = (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName" -> "BenchPlayer";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    @Benchmark
+    public Component joinMessage() {
+        return messageService.joinMessage(player);
+    }
+
+    @Benchmark
+    public Component quitMessage() {
+        return messageService.quitMessage(player);
+    }
+
+    @Benchmark
+    public Component commandMessage() {
+        return messageService.commandMessage("명령어가 실행되었습니다");
+    }
+
+    @Benchmark
+    public Component staticMessage() {
+        // 자리표시자가 없는 메시지는 미리 만든 Component를 그대로 반환합니다
+        return messageService.getMessage("first-join");
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.louis5103.tiny_pg_hunterAPI.benchmark;
+
+import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerDataRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 여러 서버 모드(database.multi-node)의 저장 충돌 처리를 한 JVM 안의 두 노드로 확인하는 실행 검사입니다.
+ *
+ * 1. 같은 원본의 저장 두 개가 겹쳐도(빠른 재접속, 저장 주기 겹침) 변경분이 한 번만 더해지는지
+ * 2. 두 노드가 같은 플레이어를 동시에 바꾸며 저장하고, 그 사이에 원자적 UPDATE가 끼어들어도
+ *    모든 변경분이 DB에 정확히 한 번씩 반영되는지
+ *
+ * 노드마다 DatabaseManager(커넥션 풀, 쓰기 스레드, 2차 캐시)를 따로 열고 같은 DB를 공유합니다.
+ * 값이 어긋나면 예외로 끝나므로 종료 코드로 성공 여부를 알 수 있습니다.
+ *
+ * <pre>
+ * ./gradlew multiNodeCheck                  (SQLite 파일 공유)
+ * ./gradlew multiNodeCheck -Pbackend=mysql  (MariaDB4j 임베디드 서버 공유)
+ * </pre>
+ */
+public final class MultiNodeConflictCheck {
+
+    // 노드마다 반복하는 거래 + 저장 횟수
+    private static final int ROUNDS = 200;
+    // 몇 번째 반복마다 원자적 UPDATE(PlayerDataRepository.addMoney)를 끼워 넣을지
+    private static final int ATOMIC_EVERY = 10;
+    // 실패해서 다시 변경 상태가 된 원본을 최대 몇 번 더 저장할지
+    private static final int MAX_FINAL_SAVES = 10;
+
+    private MultiNodeConflictCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String backend = args.length > 0 ? args[0] : "sqlite";
+        BenchmarkDatabase database = BenchmarkDatabase.start(backend, true, 1, true);
+        try {
+            PlayerDataRepository nodeA = new PlayerDataRepository(database.databaseManager());
+            PlayerDataRepository nodeB = new PlayerDataRepository(database.startNode());
+            String uuid = database.seededPlayers().get(0).getUuid();
+
+            overlappingSnapshots(nodeA, uuid);
+            concurrentNodes(nodeA, nodeB, uuid);
+            System.out.printf("multi-node 검사 통과 (%s)%n", backend);
+        } finally {
+            database.stop();
+        }
+    }
+
+    /**
+     * 첫 저장이 반영되기 전에 같은 원본으로 두 번째 저장을 요청합니다.
+     * 그 사이 원자적 UPDATE로 버전을 올려서 충돌 처리(rebase) 경로도 함께 지나갑니다.
+     */
+    private static void overlappingSnapshots(PlayerDataRepository repository, String uuid) {
+        PlayerData live = repository.findByUuid(uuid);
+        long before = live.getBalance();
+
+        BenchmarkDatabase.credit(live, 1_000L);
+        live.clearDirty();
+        CompletableFuture<Void> first = repository.saveLiveAsync(live, false);
+        repository.addMoney(uuid, 100L);
+        BenchmarkDatabase.credit(live, 500L);
+        live.clearDirty();
+        CompletableFuture<Void> second = repository.saveLiveAsync(live, false);
+        CompletableFuture.allOf(first, second).join();
+        saveUntilClean(repository, live);
+
+        long expected = before + 1_600L;
+        expect("겹친 저장 - 메모리 잔액", expected, live.getBalance());
+        expect("겹친 저장 - DB 잔액", expected, repository.findByUuid(uuid).getBalance());
+    }
+
+    /**
+     * 두 노드가 각자의 원본으로 동시에 입금과 저장을 반복합니다.
+     * 저장은 기다리지 않고 계속 요청하므로 노드 안에서도 저장이 겹칩니다.
+     */
+    private static void concurrentNodes(PlayerDataRepository nodeA, PlayerDataRepository nodeB, String uuid)
+            throws Exception {
+        PlayerData onA = nodeA.findByUuid(uuid);
+        PlayerData onB = nodeB.findByUuid(uuid);
+        long startBalance = onA.getBalance();
+        long startPlayTime = onA.getPlayTimeMinutes();
+
+        List<CompletableFuture<Void>> saves = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> a = threads.submit(() -> hammer(nodeA, onA, uuid, saves));
+            Future<?> b = threads.submit(() -> hammer(nodeB, onB, uuid, saves));
+            a.get();
+            b.get();
+        } finally {
+            threads.shutdown();
+        }
+        // 충돌 재시도를 넘겨 실패한 저장은 원본을 다시 변경 상태로 돌리므로 아래에서 마저 저장합니다
+        synchronized (saves) {
+            saves.forEach(save -> save.exceptionally(e -> null).join());
+        }
+        saveUntilClean(nodeA, onA);
+        saveUntilClean(nodeB, onB);
+
+        int atomic = 2 * (ROUNDS / ATOMIC_EVERY);
+        PlayerData row = nodeA.findByUuid(uuid);
+        expect("두 노드 - DB 잔액", startBalance + 2L * ROUNDS + atomic, row.getBalance());
+        expect("두 노드 - DB 플레이 시간", startPlayTime + 2L * ROUNDS, row.getPlayTimeMinutes());
+    }
+
+    private static void hammer(PlayerDataRepository repository, PlayerData live, String uuid,
+                               List<CompletableFuture<Void>> saves) {
+        for (int i = 1; i <= ROUNDS; i++) {
+            BenchmarkDatabase.credit(live, 1L);
+            live.addPlayTime(1L);
+            live.clearDirty();
+            saves.add(repository.saveLiveAsync(live, false));
+            if (i % ATOMIC_EVERY == 0) {
+                repository.addMoney(uuid, 1L);
+            }
+        }
+    }
+
+    private static void saveUntilClean(PlayerDataRepository repository, PlayerData live) {
+        for (int i = 0; i < MAX_FINAL_SAVES && live.clearDirty(); i++) {
+            repository.saveLiveAsync(live, false).exceptionally(e -> null).join();
+        }
+        if (live.isDirty()) {
+            throw new IllegalStateException("저장하지 못한 변경이 남았습니다: " + live.getUuid());
+        }
+    }
+
+    private static void expect(String what, long expected, long actual) {
+        if (expected != actual) {
+            throw new IllegalStateException(String.format("%s: 기대값 %d, 실제 %d", what, expected, actual));
+        }
+        System.out.printf("%s: %d%n", what, actual);
+    }
+}
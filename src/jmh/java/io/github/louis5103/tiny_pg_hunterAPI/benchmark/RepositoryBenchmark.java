@@ -0,0 +1,89 @@
+package io.github.louis5103.tiny_pg_hunterAPI.benchmark;
+
+import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerDataRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * PlayerDataRepository의 주요 경로를 실제 DB에 대해 측정합니다.
+ *
+ * 처리량과 지연 분포(SampleTime의 p50/p99)를 함께 기록하고,
+ * gc 프로파일러로 호출당 할당량을 기록합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RepositoryBenchmark {
+
+    @Param({"sqlite", "mysql"})
+    public String backend;
+
+    @Param({"false", "true"})
+    public boolean secondLevelCache;
+
+    @Param({"10000"})
+    public int players;
+
+    private BenchmarkDatabase database;
+    private PlayerDataRepository repository;
+    // save가 저장 결과(새 버전)를 다시 넣으므로 스레드끼리 안전하게 바꿀 수 있는 배열입니다
+    private AtomicReferenceArray<PlayerData> seeded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start(backend, secondLevelCache, players);
+        repository = new PlayerDataRepository(database.databaseManager());
+        seeded = new AtomicReferenceArray<>(database.seededPlayers().toArray(new PlayerData[0]));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.stop();
+    }
+
+    private PlayerData randomPlayer() {
+        return seeded.get(ThreadLocalRandom.current().nextInt(seeded.length()));
+    }
+
+    @Benchmark
+    public PlayerData findByUuid() {
+        return repository.findByUuid(randomPlayer().getUuid());
+    }
+
+    @Benchmark
+    public PlayerData save() {
+        // 분리 상태의 기존 플레이어를 수정해서 merge (캐시에 없으면 SELECT + UPDATE)
+        // 저장 결과를 같은 자리에 다시 넣어서, 다음 저장이 최신 버전을 들고 가서 충돌 처리(rebase) 없이 저장되게 합니다
+        // (여러 스레드가 같은 플레이어를 동시에 고른 드문 경우에만 충돌 경로를 탑니다)
+        int index = ThreadLocalRandom.current().nextInt(seeded.length());
+        PlayerData playerData = seeded.get(index).copy();
+        BenchmarkDatabase.credit(playerData, ThreadLocalRandom.current().nextLong(1L, 1_000L));
+        PlayerData saved = repository.save(playerData);
+        seeded.set(index, saved);
+        return saved;
+    }
+
+    @Benchmark
+    public void updatePlayTime() {
+        repository.updatePlayTime(randomPlayer().getUuid(), 1L);
+    }
+
+    @Benchmark
+    public List<PlayerData> findTopPlayersByMoney() {
+        return repository.findTopPlayersByMoney(10);
+    }
+}
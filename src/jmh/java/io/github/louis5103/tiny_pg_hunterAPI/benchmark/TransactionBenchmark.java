@@ -0,0 +1,54 @@
+package io.github.louis5103.tiny_pg_hunterAPI.benchmark;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DatabaseManager.executeInTransaction 자체의 비용을 측정합니다.
+ *
+ * 빈 트랜잭션(EntityManager 생성 + begin/commit + close)과
+ * 읽기 전용 풀에서 커넥션만 빌렸다 돌려주는 경우를 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransactionBenchmark {
+
+    @Param({"sqlite", "mysql"})
+    public String backend;
+
+    private BenchmarkDatabase database;
+    private DatabaseManager databaseManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = BenchmarkDatabase.start(backend, false, 0);
+        databaseManager = database.databaseManager();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.stop();
+    }
+
+    @Benchmark
+    public Object emptyTransaction() {
+        return databaseManager.executeInTransaction(em -> null);
+    }
+
+    @Benchmark
+    public Object readOnlyConnection() {
+        return databaseManager.executeReadOnly(connection -> null);
+    }
+}
@@ -1,12 +1,29 @@
 package io.github.louis5103.tiny_pg_hunterAPI;
 
+import io.github.louis5103.tiny_pg_hunterAPI.command.AdminCommand;
 import io.github.louis5103.tiny_pg_hunterAPI.command.HelloCommand;
 import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import io.github.louis5103.tiny_pg_hunterAPI.journal.JournalEntry;
+import io.github.louis5103.tiny_pg_hunterAPI.journal.JournalReplayer;
+import io.github.louis5103.tiny_pg_hunterAPI.journal.TransactionJournal;
 import io.github.louis5103.tiny_pg_hunterAPI.listener.PlayerJoinListener;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.MetricsExporter;
 import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerDataRepository;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerSnapshotRepository;
+import io.github.louis5103.tiny_pg_hunterAPI.service.BalanceLedger;
+import io.github.louis5103.tiny_pg_hunterAPI.service.BroadcastService;
 import io.github.louis5103.tiny_pg_hunterAPI.service.MessageService;
+import io.github.louis5103.tiny_pg_hunterAPI.service.MoneyLeaderboard;
+import io.github.louis5103.tiny_pg_hunterAPI.service.NameIndex;
+import io.github.louis5103.tiny_pg_hunterAPI.service.PlayerDataLoader;
+import io.github.louis5103.tiny_pg_hunterAPI.service.PlayerSessionCache;
+import io.github.louis5103.tiny_pg_hunterAPI.service.PlaytimeTracker;
+import io.github.louis5103.tiny_pg_hunterAPI.service.ShutdownCoordinator;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.IOException;
+import java.util.List;
+
 /**
  * 메인 플러그인 클래스입니다.
  * 
@@ -28,7 +45,19 @@ public class Tiny_pg_hunterAPI extends JavaPlugin {
     // 핵심 컴포넌트들
     private DatabaseManager databaseManager;
     private PlayerDataRepository playerRepository;
+    private PlayerSnapshotRepository snapshotRepository;
     private MessageService messageService;
+    private BroadcastService broadcastService;
+    private PlayerDataLoader playerDataLoader;
+    private PlayerSessionCache sessionCache;
+    private BalanceLedger balanceLedger;
+    private TransactionJournal transactionJournal;
+    private JournalReplayer journalReplayer;
+    private PlaytimeTracker playtimeTracker;
+    private MoneyLeaderboard moneyLeaderboard;
+    private NameIndex nameIndex;
+    private MetricsExporter metricsExporter;
+    private ShutdownCoordinator shutdownCoordinator;
 
     /**
      * 플러그인이 활성화될 때 호출되는 메서드입니다.
@@ -53,16 +82,46 @@ public class Tiny_pg_hunterAPI extends JavaPlugin {
             reloadConfig();        // 설정 파일 다시 로드
             
             // 3. 데이터베이스 초기화
-            getLogger().info("데이터베이스 연결을 초기화합니다...");
+            getLogger().info("데이터베이스 매니저를 생성합니다... (연결은 백그라운드에서 진행)");
             this.databaseManager = new DatabaseManager(this);
+            openTransactionJournal();
             
             // 4. 레포지토리 초기화 (데이터베이스 매니저가 필요)
             getLogger().info("데이터 접근 계층을 초기화합니다...");
             this.playerRepository = new PlayerDataRepository(databaseManager);
+            this.snapshotRepository = new PlayerSnapshotRepository(databaseManager);
             
             // 5. 서비스 계층 초기화
             getLogger().info("서비스 계층을 초기화합니다...");
-            this.messageService = new MessageService();
+            this.messageService = new MessageService(getConfig());
+            this.broadcastService = new BroadcastService(getServer(), messageService,
+                    getConfig().getBoolean("broadcast.enabled", true),
+                    getConfig().getInt("broadcast.max-individual", 5),
+                    getConfig().getInt("broadcast.max-listed-names", 5));
+            this.broadcastService.start(this, getConfig().getLong("broadcast.window-ticks", 20L));
+            this.sessionCache = new PlayerSessionCache(databaseManager, playerRepository, getLogger());
+            this.sessionCache.start(this, getConfig().getLong("cache.flush-interval-seconds", 60L));
+            this.balanceLedger = new BalanceLedger(sessionCache, transactionJournal);
+            this.sessionCache.setBalanceLedger(balanceLedger);
+            this.playtimeTracker = new PlaytimeTracker(sessionCache, playerRepository, getLogger());
+            this.playtimeTracker.start(this, getConfig().getLong("playtime.checkpoint-minutes", 5L));
+            this.moneyLeaderboard = new MoneyLeaderboard(snapshotRepository, sessionCache, getLogger(),
+                    getConfig().getInt("leaderboard.size", 100));
+            this.sessionCache.setMoneyListener(moneyLeaderboard::update);
+            // 닉네임 색인은 처음 조회/탭 완성할 때 적재합니다
+            this.nameIndex = new NameIndex(snapshotRepository, databaseManager, getLogger());
+            this.playerDataLoader = new PlayerDataLoader(databaseManager, playerRepository, sessionCache, getLogger(),
+                    getConfig().getLong("database.executor.preload-timeout-ms", 5000L),
+                    getConfig().getLong("database.bootstrap.login-wait-ms", 10000L));
+            this.shutdownCoordinator = new ShutdownCoordinator(databaseManager, sessionCache, playerRepository,
+                    getLogger(),
+                    getConfig().getLong("shutdown.deadline-seconds", 20L) * 1000L,
+                    getConfig().getLong("shutdown.close-timeout-seconds", 5L) * 1000L);
+            this.metricsExporter = new MetricsExporter(databaseManager, getLogger());
+            this.metricsExporter.start(this,
+                    getDataFolder().toPath().resolve(getConfig().getString("metrics.dump-file", "metrics.prom")),
+                    getConfig().getLong("metrics.dump-interval-seconds", 60L),
+                    getConfig().getInt("metrics.http-port", 0));
             
             // 6. 명령어 등록
             getLogger().info("명령어를 등록합니다...");
@@ -72,6 +131,11 @@ public class Tiny_pg_hunterAPI extends JavaPlugin {
             getLogger().info("이벤트 리스너를 등록합니다...");
             registerListeners();
             
+            // 8. 영속성 계층 초기화 (백그라운드)
+            // SessionFactory 생성과 마이그레이션은 서버 시작을 막지 않도록 별도 스레드에서 진행합니다
+            // DB가 필요한 기능은 준비 완료 후 시작하며, 그 전의 접속은 리스너가 잠시 대기시킵니다
+            startDatabaseInBackground();
+            
             getLogger().info("=== 플러그인이 성공적으로 활성화되었습니다! ===");
             
         } catch (Exception e) {
@@ -87,6 +151,53 @@ public class Tiny_pg_hunterAPI extends JavaPlugin {
         }
     }
 
+    private void startDatabaseInBackground() {
+        DatabaseManager manager = this.databaseManager;
+        manager.initializeAsync().whenCompleteAsync((ignored, error) -> {
+            if (manager != databaseManager) {
+                return; // 그 사이 플러그인이 종료됨
+            }
+            if (error != null) {
+                getLogger().severe("데이터베이스 초기화에 실패해서 플러그인을 비활성화합니다: " + error.getMessage());
+                getServer().getPluginManager().disablePlugin(this);
+                return;
+            }
+            moneyLeaderboard.start(this, getConfig().getLong("leaderboard.reconcile-interval-seconds", 300L));
+            if (journalReplayer != null) {
+                journalReplayer.start(this, getConfig().getLong("journal.replay-interval-ticks", 20L));
+            }
+        }, manager.getMainThreadExecutor());
+    }
+
+    /**
+     * 거래 저널을 열고, 남아 있던 기록을 DB 초기화 마지막 단계에서 복구하도록 등록합니다.
+     * 복구가 끝나야 초기화가 완료되므로 플레이어 데이터는 항상 복구된 잔액으로 읽힙니다.
+     */
+    private void openTransactionJournal() throws IOException {
+        if (!getConfig().getBoolean("journal.enabled", true)) {
+            return;
+        }
+        getLogger().info("거래 저널을 엽니다...");
+        this.transactionJournal = new TransactionJournal(
+                getDataFolder().toPath().resolve(getConfig().getString("journal.directory", "journal")),
+                getLogger(),
+                getConfig().getLong("journal.segment-size-mb", 16L) * 1024L * 1024L,
+                getConfig().getInt("journal.max-batch", 1024));
+        List<JournalEntry> recovered = transactionJournal.open();
+        this.journalReplayer = new JournalReplayer(transactionJournal, databaseManager, getLogger(),
+                getConfig().getInt("journal.replay-batch-size", 1000));
+        JournalReplayer replayer = this.journalReplayer;
+        databaseManager.addStartupTask(connection -> {
+            replayer.recover(connection, recovered);
+            return null;
+        });
+
+        TransactionJournal journal = this.transactionJournal;
+        databaseManager.getMetrics().gauge("journal_replay_backlog", journal::replayBacklog);
+        databaseManager.getMetrics().gauge("journal_segments", journal::segmentCount);
+        databaseManager.getMetrics().gauge("journal_unsynced", () -> journal.lastSequence() - journal.durableSequence());
+    }
+
     /**
      * 플러그인이 비활성화될 때 호출되는 메서드입니다.
      * 모든 자원을 안전하게 정리합니다.
@@ -111,15 +222,55 @@ public class Tiny_pg_hunterAPI extends JavaPlugin {
      */
     private void cleanup() {
         try {
-            // 데이터베이스 연결 종료
-            if (databaseManager != null) {
+            if (metricsExporter != null) {
+                metricsExporter.stop();
+                metricsExporter = null;
+            }
+            
+            if (broadcastService != null) {
+                broadcastService.stop();
+                broadcastService = null;
+            }
+            
+            if (moneyLeaderboard != null) {
+                moneyLeaderboard.stop();
+                moneyLeaderboard = null;
+            }
+            
+            // 접속 중인 플레이어의 남은 플레이 시간을 세션 캐시에 반영 (아래 일괄 저장에 포함)
+            if (playtimeTracker != null) {
+                playtimeTracker.stop();
+                playtimeTracker = null;
+            }
+            
+            // 아직 DB에 옮기지 못한 거래 기록은 저널 파일에 남아 다음 시작 때 반영됩니다
+            if (journalReplayer != null) {
+                journalReplayer.stop();
+                journalReplayer = null;
+            }
+            
+            // 남은 변경 저장 → 대기열 정리(마감 시간 제한) → 연결 종료
+            if (shutdownCoordinator != null) {
                 getLogger().info("데이터베이스 연결을 종료합니다...");
+                shutdownCoordinator.shutdown();
+                shutdownCoordinator = null;
+            } else if (databaseManager != null) {
+                // 서비스 생성 전에 실패한 경우
                 databaseManager.shutdown();
-                databaseManager = null;
             }
+            // 마지막 저장까지 끝난 뒤 닫습니다 (종료 중의 거래도 기록되도록)
+            if (transactionJournal != null) {
+                transactionJournal.close();
+                transactionJournal = null;
+            }
+            sessionCache = null;
+            balanceLedger = null;
+            databaseManager = null;
             
             // 레퍼런스 정리
             playerRepository = null;
+            snapshotRepository = null;
+            playerDataLoader = null;
             messageService = null;
             instance = null;
             
@@ -137,7 +288,13 @@ public class Tiny_pg_hunterAPI extends JavaPlugin {
         HelloCommand helloCommand = new HelloCommand(messageService);
         this.getCommand("hello").setExecutor(helloCommand);
         
-        getLogger().info("명령어 등록 완료: /hello");
+        // AdminCommand 등록 (/tinypg metrics, slow, reset, export, import, whois)
+        AdminCommand adminCommand = new AdminCommand(databaseManager, messageService, snapshotRepository,
+                nameIndex, getDataFolder().toPath().resolve("transfer"), transactionJournal);
+        this.getCommand("tinypg").setExecutor(adminCommand);
+        this.getCommand("tinypg").setTabCompleter(adminCommand);
+        
+        getLogger().info("명령어 등록 완료: /hello, /tinypg");
     }
     
     /**
@@ -145,7 +302,8 @@ public class Tiny_pg_hunterAPI extends JavaPlugin {
      */
     private void registerListeners() {
         // 플레이어 접속 리스너 등록
-        PlayerJoinListener joinListener = new PlayerJoinListener(playerRepository, messageService);
+        PlayerJoinListener joinListener = new PlayerJoinListener(playerDataLoader, sessionCache, messageService,
+                broadcastService, playtimeTracker, nameIndex);
         getServer().getPluginManager().registerEvents(joinListener, this);
         
         getLogger().info("이벤트 리스너 등록 완료: PlayerJoinListener");
@@ -176,6 +334,43 @@ public class Tiny_pg_hunterAPI extends JavaPlugin {
         return playerRepository;
     }
     
+    /**
+     * 영속성 컨텍스트를 거치지 않는 조회 전용 레포지토리를 반환합니다.
+     * 불변 PlayerSnapshot을 돌려주므로 단순 조회에는 이쪽이 더 가볍습니다.
+     */
+    public PlayerSnapshotRepository getSnapshotRepository() {
+        return snapshotRepository;
+    }
+    
+    /**
+     * 접속 중인 플레이어 데이터 캐시를 반환합니다.
+     * 캐시된 PlayerData를 수정하면 주기적으로 데이터베이스에 저장됩니다.
+     */
+    public PlayerSessionCache getSessionCache() {
+        return sessionCache;
+    }
+    
+    /**
+     * 접속 중인 플레이어의 잔액 장부를 반환합니다. 어느 스레드에서든 잠금 없이 입출금/송금할 수 있습니다.
+     */
+    public BalanceLedger getBalanceLedger() {
+        return balanceLedger;
+    }
+    
+    /**
+     * 거래 저널을 반환합니다 (journal.enabled가 false면 null). 기록이 디스크에 닿기를 기다리려면 whenDurable을 사용하세요.
+     */
+    public TransactionJournal getTransactionJournal() {
+        return transactionJournal;
+    }
+    
+    /**
+     * 메모리에 유지되는 돈 순위표를 반환합니다. 조회 시 데이터베이스에 접근하지 않습니다.
+     */
+    public MoneyLeaderboard getMoneyLeaderboard() {
+        return moneyLeaderboard;
+    }
+    
     /**
      * 메시지 서비스를 반환합니다.
      */
@@ -0,0 +1,393 @@
+package io.github.louis5103.tiny_pg_hunterAPI.command;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.CacheRegionStats;
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseType;
+import io.github.louis5103.tiny_pg_hunterAPI.journal.TransactionJournal;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.DatabaseMetrics;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.LatencyHistogram;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.OperationTimer;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.PoolMetrics;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.SlowOperationLog;
+import io.github.louis5103.tiny_pg_hunterAPI.model.dto.NameHistoryEntry;
+import io.github.louis5103.tiny_pg_hunterAPI.model.dto.PlayerSnapshot;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerSnapshotRepository;
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.Money;
+import io.github.louis5103.tiny_pg_hunterAPI.service.MessageService;
+import io.github.louis5103.tiny_pg_hunterAPI.service.NameIndex;
+import io.github.louis5103.tiny_pg_hunterAPI.transfer.PlayerDataTransfer;
+import io.github.louis5103.tiny_pg_hunterAPI.transfer.TransferFormat;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * /tinypg 관리자 명령어입니다.
+ *
+ * - /tinypg metrics : 작업별 지연 시간, 커넥션 풀 상태, 캐시 적중률
+ * - /tinypg slow    : 최근 느린 작업 목록
+ * - /tinypg reset   : 누적 지표 초기화
+ * - /tinypg export &lt;파일&gt; : player_data 전체를 파일로 내보내기 (.csv / .ndjson, .gz 가능)
+ * - /tinypg import &lt;파일&gt; : 파일의 행을 player_data에 넣거나 덮어쓰기
+ * - /tinypg whois &lt;닉네임&gt; : 오프라인 플레이어 조회 (UUID, 소지금, 플레이 시간, 닉네임 기록)
+ *
+ * 지표는 메모리의 카운터만 읽으므로 메인 스레드에서 실행해도 DB에 접근하지 않습니다.
+ * 내보내기/가져오기 파일은 플러그인 폴더의 transfer/ 아래에만 만들고 읽으며, DB 작업은 비동기로 실행합니다.
+ * 가져오기는 접속 중인 플레이어의 세션 데이터와 겹칠 수 있으므로 접속자가 없을 때 실행하는 것이 안전합니다.
+ */
+public class AdminCommand implements CommandExecutor, TabCompleter {
+
+    private static final List<String> SUBCOMMANDS = List.of("metrics", "slow", "reset", "export", "import", "whois");
+
+    // 탭 완성으로 보여줄 최대 닉네임 수
+    private static final int MAX_NAME_COMPLETIONS = 50;
+
+    // 가져오기 배치(커밋) 단위 (행)
+    private static final int TRANSFER_BATCH_SIZE = 1000;
+
+    private final DatabaseManager databaseManager;
+    private final MessageService messageService;
+    private final PlayerSnapshotRepository snapshotRepository;
+    private final NameIndex nameIndex;
+    private final Path transferFolder;
+    // 가져온 행을 반영한 것으로 표시할 거래 저널 (null이면 저널을 끈 서버)
+    private final TransactionJournal transactionJournal;
+
+    public AdminCommand(DatabaseManager databaseManager, MessageService messageService,
+                        PlayerSnapshotRepository snapshotRepository, NameIndex nameIndex, Path transferFolder,
+                        TransactionJournal transactionJournal) {
+        if (databaseManager == null) {
+            throw new IllegalArgumentException("DatabaseManager는 null일 수 없습니다!");
+        }
+        if (messageService == null) {
+            throw new IllegalArgumentException("MessageService는 null일 수 없습니다!");
+        }
+        if (snapshotRepository == null) {
+            throw new IllegalArgumentException("PlayerSnapshotRepository는 null일 수 없습니다!");
+        }
+        if (nameIndex == null) {
+            throw new IllegalArgumentException("NameIndex는 null일 수 없습니다!");
+        }
+        if (transferFolder == null) {
+            throw new IllegalArgumentException("transferFolder는 null일 수 없습니다!");
+        }
+
+        this.databaseManager = databaseManager;
+        this.messageService = messageService;
+        this.snapshotRepository = snapshotRepository;
+        this.nameIndex = nameIndex;
+        this.transferFolder = transferFolder.toAbsolutePath().normalize();
+        this.transactionJournal = transactionJournal;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 0) {
+            return false; // plugin.yml의 usage 표시
+        }
+
+        DatabaseMetrics metrics = databaseManager.getMetrics();
+        switch (args[0].toLowerCase()) {
+            case "metrics" -> showMetrics(sender, metrics);
+            case "slow" -> showSlowOperations(sender, metrics.getSlowLog());
+            case "reset" -> {
+                metrics.reset();
+                sender.sendMessage(messageService.successMessage("지표를 초기화했습니다."));
+            }
+            case "whois" -> {
+                if (args.length < 2) {
+                    sender.sendMessage(messageService.errorMessage("닉네임을 지정하세요. 예: /tinypg whois Steve"));
+                    return true;
+                }
+                whois(sender, args[1]);
+            }
+            case "export", "import" -> {
+                if (args.length < 2) {
+                    sender.sendMessage(messageService.errorMessage("파일 이름을 지정하세요. 예: /tinypg " + args[0] + " players.csv.gz"));
+                    return true;
+                }
+                if (args[0].equalsIgnoreCase("export")) {
+                    exportTo(sender, args[1]);
+                } else {
+                    importFrom(sender, args[1]);
+                }
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void showMetrics(CommandSender sender, DatabaseMetrics metrics) {
+        sender.sendMessage(messageService.commandMessage("커넥션 풀"));
+        for (PoolMetrics pool : metrics.getPools()) {
+            LatencyHistogram.Snapshot acquire = pool.acquireSnapshot();
+            sender.sendMessage(String.format("§7 %s §factive %d / idle %d / max %d, 대기 %d, 타임아웃 %d, 획득 p99 %s",
+                    pool.getPoolName(), pool.getActiveConnections(), pool.getIdleConnections(),
+                    pool.getMaxConnections(), pool.getPendingThreads(), pool.getTimeoutCount(),
+                    millis(acquire.valueAt(0.99))));
+        }
+        for (Map.Entry<String, LongSupplier> gauge : metrics.getGauges().entrySet()) {
+            sender.sendMessage(String.format("§7 %s §f%d", gauge.getKey(), gauge.getValue().getAsLong()));
+        }
+
+        sender.sendMessage(messageService.commandMessage("작업별 지연 시간 (호출 수 / p50 / p99 / 최대 / 실패)"));
+        for (OperationTimer timer : metrics.getTimers()) {
+            LatencyHistogram.Snapshot snapshot = timer.snapshot();
+            if (snapshot.count() == 0) {
+                continue;
+            }
+            sender.sendMessage(String.format("§7 %s §f%d / %s / %s / %s / %d",
+                    timer.getName(), snapshot.count(), millis(snapshot.valueAt(0.5)),
+                    millis(snapshot.valueAt(0.99)), millis(snapshot.maxNanos()), timer.getErrorCount()));
+        }
+
+        List<CacheRegionStats> cacheStats = databaseManager.getCacheStatistics();
+        if (!cacheStats.isEmpty()) {
+            sender.sendMessage(messageService.commandMessage("2차 캐시"));
+            for (CacheRegionStats stats : cacheStats) {
+                sender.sendMessage(String.format("§7 %s §f적중 %d / 실패 %d (%.1f%%), 항목 %d",
+                        stats.region(), stats.hits(), stats.misses(), stats.hitRatio() * 100, stats.size()));
+            }
+        }
+    }
+
+    private void showSlowOperations(CommandSender sender, SlowOperationLog slowLog) {
+        List<SlowOperationLog.Entry> entries = slowLog.recent();
+        sender.sendMessage(messageService.commandMessage(String.format("느린 작업 (%s 이상, 누적 %d건)",
+                millis(slowLog.getThresholdNanos()), slowLog.getTotalCount())));
+        if (entries.isEmpty()) {
+            sender.sendMessage("§7 기록된 느린 작업이 없습니다.");
+            return;
+        }
+
+        SimpleDateFormat format = new SimpleDateFormat("HH:mm:ss");
+        for (SlowOperationLog.Entry entry : entries) {
+            sender.sendMessage(String.format("§7 %s §f%s §7%s (%s)",
+                    format.format(new Date(entry.epochMillis())), entry.operation(),
+                    millis(entry.durationNanos()), entry.thread()));
+        }
+    }
+
+    private void whois(CommandSender sender, String name) {
+        // 닉네임 → UUID는 메모리 색인으로, 상세 정보와 기록은 조회 전용 실행기에서 읽습니다
+        databaseManager.onMainThread(nameIndex.resolveAsync(name).thenCompose(uuid -> {
+            if (uuid != null) {
+                return databaseManager.callReadAsync(() -> new WhoisResult(
+                        snapshotRepository.findByUuid(uuid.toString()),
+                        snapshotRepository.findNameHistory(uuid.toString()), List.of()));
+            }
+            // 지금은 아무도 쓰지 않는 닉네임이면 예전에 썼던 플레이어를 찾습니다
+            return databaseManager.callReadAsync(() -> new WhoisResult(null, List.of(),
+                    snapshotRepository.findByPastName(name)));
+        })).whenComplete((result, error) -> {
+            if (error != null) {
+                sender.sendMessage(messageService.errorMessage("조회 실패: " + error.getMessage()));
+                return;
+            }
+            showWhois(sender, name, result);
+        });
+    }
+
+    private void showWhois(CommandSender sender, String name, WhoisResult result) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        PlayerSnapshot player = result.player();
+        if (player == null) {
+            if (result.pastOwners().isEmpty()) {
+                sender.sendMessage(messageService.errorMessage("플레이어를 찾을 수 없습니다: " + name));
+                return;
+            }
+            sender.sendMessage(messageService.commandMessage(name + "을(를) 예전에 사용한 플레이어"));
+            for (NameHistoryEntry entry : result.pastOwners()) {
+                sender.sendMessage(String.format("§7 %s §f(%s부터)", entry.uuid(),
+                        format.format(Date.from(entry.changedAt()))));
+            }
+            return;
+        }
+
+        sender.sendMessage(messageService.commandMessage(player.playerName()));
+        sender.sendMessage("§7 UUID §f" + player.uuid());
+        sender.sendMessage(String.format("§7 소지금 §f%s §7플레이 시간 §f%d분",
+                Money.format(player.balance()), player.playTimeMinutes()));
+        if (player.lastLogin() != null) {
+            sender.sendMessage("§7 마지막 접속 §f" + format.format(Date.from(player.lastLogin())));
+        }
+        if (result.history().size() > 1) {
+            StringBuilder names = new StringBuilder("§7 닉네임 기록 §f");
+            for (int i = 0; i < result.history().size(); i++) {
+                names.append(i == 0 ? "" : ", ").append(result.history().get(i).playerName());
+            }
+            sender.sendMessage(names.toString());
+        }
+    }
+
+    /**
+     * whois 조회 결과입니다. 현재 닉네임이 없으면 player는 null이고 pastOwners에 예전 사용자가 들어갑니다.
+     */
+    private record WhoisResult(PlayerSnapshot player, List<NameHistoryEntry> history,
+                               List<NameHistoryEntry> pastOwners) {
+    }
+
+    private void exportTo(CommandSender sender, String fileName) {
+        Path file = resolveTransferFile(sender, fileName);
+        if (file == null) {
+            return;
+        }
+        sender.sendMessage(messageService.commandMessage("내보내기 시작: " + transferFolder.relativize(file)));
+
+        PlayerDataTransfer transfer = new PlayerDataTransfer(TRANSFER_BATCH_SIZE, null);
+        long start = System.nanoTime();
+        databaseManager.onMainThread(databaseManager.callReadAsync(() -> databaseManager.executeReadOnly(connection -> {
+            try (TransferFormat.RowWriter writer = TransferFormat.openWriter(file)) {
+                return transfer.export(connection, databaseManager.getDatabaseType(), writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }))).whenComplete((rows, error) -> reportTransfer(sender, "내보내기", rows, error, start));
+    }
+
+    private void importFrom(CommandSender sender, String fileName) {
+        Path file = resolveTransferFile(sender, fileName);
+        if (file == null) {
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            sender.sendMessage(messageService.errorMessage("파일이 없습니다: " + transferFolder.relativize(file)));
+            return;
+        }
+        sender.sendMessage(messageService.commandMessage("가져오기 시작: " + transferFolder.relativize(file)));
+
+        // 가져온 잔액이 이 서버 저널의 이전 기록과 합쳐지지 않도록 행을 지금까지의 기록을 반영한 것으로 표시합니다
+        PlayerDataTransfer transfer = new PlayerDataTransfer(TRANSFER_BATCH_SIZE, null, transactionJournal);
+        TransferFormat.RowReader reader;
+        try {
+            reader = TransferFormat.openReader(file);
+        } catch (IOException | IllegalArgumentException e) {
+            sender.sendMessage(messageService.errorMessage("가져오기 실패: " + e.getMessage()));
+            return;
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Long> imported = databaseManager.getDatabaseType() == DatabaseType.MYSQL
+                ? importOnOwnConnection(transfer, reader)
+                : importInBatches(transfer, reader);
+        databaseManager.onMainThread(imported.whenComplete((rows, error) -> {
+            closeQuietly(reader);
+            // JDBC로 직접 썼으므로 (일부 배치만 커밋된 경우에도) 2차 캐시에 남은 이전 값을 버립니다
+            databaseManager.evictAllPlayers();
+        })).whenComplete((rows, error) -> reportTransfer(sender, "가져오기", rows, error, start));
+    }
+
+    /**
+     * MySQL: 쓰기 스레드를 거치지 않고 풀에서 받은 커넥션 하나로 전체를 가져옵니다 (배치마다 커밋).
+     * 행 잠금만 잡으므로 그동안 쓰기 스레드의 저장과 접속 로딩은 다른 커넥션으로 계속 진행됩니다.
+     */
+    private CompletableFuture<Long> importOnOwnConnection(PlayerDataTransfer transfer, TransferFormat.RowReader reader) {
+        return databaseManager.callAsync(() -> databaseManager.executeWithConnection(connection -> {
+            try {
+                return transfer.importRows(connection, DatabaseType.MYSQL, reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    /**
+     * SQLite: 배치 하나를 쓰기 스레드 작업 하나로 보내고, 끝나면 다음 배치를 보냅니다.
+     * 쓰기는 한 번에 하나뿐이라 쓰기 스레드를 거쳐야 하지만, 배치 사이에 대기 중인 저장(접속, 퇴장, 자동 저장)이
+     * 먼저 실행되므로 큰 파일을 가져오는 동안에도 다른 쓰기가 가져오기 전체를 기다리지 않습니다.
+     */
+    private CompletableFuture<Long> importInBatches(PlayerDataTransfer transfer, TransferFormat.RowReader reader) {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        importNextBatch(transfer, reader, 0L, result);
+        return result;
+    }
+
+    private void importNextBatch(PlayerDataTransfer transfer, TransferFormat.RowReader reader, long rows,
+                                 CompletableFuture<Long> result) {
+        databaseManager.executeWithConnectionOnWriter(connection -> {
+            try {
+                return transfer.importBatch(connection, DatabaseType.SQLITE, reader, rows);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((written, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else if (written == 0) {
+                result.complete(rows);
+            } else {
+                importNextBatch(transfer, reader, rows + written, result);
+            }
+        });
+    }
+
+    private static void closeQuietly(TransferFormat.RowReader reader) {
+        try {
+            reader.close();
+        } catch (IOException ignored) {
+            // 읽기 전용 파일이므로 닫기 실패는 결과에 영향이 없습니다
+        }
+    }
+
+    /**
+     * 파일 이름을 transfer/ 폴더 안의 경로로 바꿉니다. 폴더 밖을 가리키거나 형식을 알 수 없으면 null입니다.
+     */
+    private Path resolveTransferFile(CommandSender sender, String fileName) {
+        Path file = transferFolder.resolve(fileName).normalize();
+        if (!file.startsWith(transferFolder) || file.equals(transferFolder)) {
+            sender.sendMessage(messageService.errorMessage("transfer 폴더 밖의 경로는 사용할 수 없습니다."));
+            return null;
+        }
+        try {
+            TransferFormat.fromFileName(file.getFileName().toString());
+            Files.createDirectories(file.getParent());
+        } catch (IllegalArgumentException | IOException e) {
+            sender.sendMessage(messageService.errorMessage(e.getMessage()));
+            return null;
+        }
+        return file;
+    }
+
+    private void reportTransfer(CommandSender sender, String action, Long rows, Throwable error, long startNanos) {
+        if (error != null) {
+            Throwable cause = error;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            sender.sendMessage(messageService.errorMessage(action + " 실패: " + cause.getMessage()));
+            return;
+        }
+        sender.sendMessage(messageService.successMessage(String.format("%s 완료: %,d행 (%s)",
+                action, rows, millis(System.nanoTime() - startNanos))));
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (args.length == 1) {
+            String prefix = args[0].toLowerCase();
+            return SUBCOMMANDS.stream().filter(name -> name.startsWith(prefix)).toList();
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("whois")) {
+            // 메모리 색인의 이진 탐색만 하므로 수십만 명이어도 메인 스레드에서 바로 답합니다
+            return nameIndex.complete(args[1], MAX_NAME_COMPLETIONS);
+        }
+        return List.of();
+    }
+}
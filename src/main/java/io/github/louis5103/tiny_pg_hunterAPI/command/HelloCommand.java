@@ -76,13 +76,13 @@ public class HelloCommand implements CommandExecutor {
         // - HelloCommand는 명령어 처리만 담당
         // - MessageService는 메시지 생성만 담당
         
-        String helloMessage = messageService.getCommandMessage("안녕하세요! 플러그인이 정상적으로 작동하고 있습니다!");
-        sender.sendMessage(helloMessage);
+        // 고정 메시지는 시작 시 만들어 둔 Component를 그대로 보냅니다
+        sender.sendMessage(messageService.getMessage("hello"));
         
         // 추가 기능들을 여기서 구현할 수 있습니다:
         // if (args.length > 0) {
         //     // /hello 뒤에 추가 인수가 있는 경우의 처리
-        //     String customMessage = messageService.getCommandMessage("안녕하세요, " + args[0] + "님!");
+        //     Component customMessage = messageService.commandMessage("안녕하세요, " + args[0] + "님!");
         //     sender.sendMessage(customMessage);
         // }
         
@@ -0,0 +1,109 @@
+package io.github.louis5103.tiny_pg_hunterAPI.config;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 작업마다 가상 스레드를 만들되, 동시에 실행되는 작업 수를 제한하는 실행기입니다.
+ *
+ * - 제출하는 쪽은 절대 막히지 않습니다 (대기는 가상 스레드 안에서 이루어짐)
+ * - 동시 실행 수를 커넥션 풀 크기에 맞추면 풀 대기(connectionTimeout) 대신 허가 대기로 줄을 섭니다
+ * - JDBC 드라이버의 synchronized 구간에서 캐리어 스레드가 고정(pinning)되더라도
+ *   고정되는 캐리어 수가 한도를 넘지 않습니다
+ */
+public class BoundedVirtualExecutor extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    // 제출되었지만 아직 끝나지 않은 작업 수 (대기 + 실행 중)
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    public BoundedVirtualExecutor(String namePrefix, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("동시 실행 한도는 1 이상이어야 합니다: " + maxConcurrency);
+        }
+
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.delegate = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(namePrefix + "-", 1).factory());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        outstanding.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // shutdownNow로 인터럽트되면 실행하지 않고 버립니다
+                    outstanding.decrementAndGet();
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                    outstanding.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            outstanding.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * 동시 실행 한도를 반환합니다.
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * 허가를 기다리고 있는 작업 수의 추정치를 반환합니다.
+     */
+    public int getQueuedCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * 제출되었지만 끝나지 않은 작업 수 (대기 + 실행 중)를 반환합니다.
+     */
+    public int getOutstandingCount() {
+        return outstanding.get();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
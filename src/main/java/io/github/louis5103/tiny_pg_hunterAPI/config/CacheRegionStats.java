@@ -0,0 +1,21 @@
+package io.github.louis5103.tiny_pg_hunterAPI.config;
+
+/**
+ * 2차 캐시 영역 하나의 통계입니다.
+ *
+ * @param region 영역 이름
+ * @param hits   캐시 적중 횟수
+ * @param misses 캐시 실패(DB 조회) 횟수
+ * @param puts   캐시에 넣은 횟수
+ * @param size   현재 메모리에 있는 항목 수 (알 수 없으면 -1)
+ */
+public record CacheRegionStats(String region, long hits, long misses, long puts, long size) {
+
+    /**
+     * 적중률 (0.0 ~ 1.0). 조회가 없었으면 0입니다.
+     */
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -1,44 +1,313 @@
 package io.github.louis5103.tiny_pg_hunterAPI.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.CacheRetrieveMode;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.DatabaseMetrics;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.OperationTimer;
 import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.UuidStorage;
 
 import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 public class DatabaseManager {
     private EntityManagerFactory entityManagerFactory;
-    private final JavaPlugin plugin;
+    private final FileConfiguration config;
+    private final File dataFolder;
+    private final Logger logger;
+
+    // Hibernate(쓰기)가 사용하는 커넥션 풀과, 영속성 컨텍스트 없이 조회만 하는 읽기 전용 풀
+    private HikariDataSource dataSource;
+    private HikariDataSource readDataSource;
+    // 조회 풀이 MySQL 읽기 복제본에 연결되어 있으면 true
+    private volatile boolean readReplica;
+
+    // 메인 스레드에서 JDBC를 직접 호출하지 않도록 조회 실행기와 단일 쓰기 스레드를 분리합니다
+    // 조회 실행기는 커넥션 풀 크기만큼만 동시에 실행되는 가상 스레드 실행기입니다
+    // - databaseExecutor: 쓰기 풀을 쓰는 엔티티 조회 (접속 시 로딩 등 OLTP)
+    // - readExecutor: 조회 풀을 쓰는 목록/순위/검색 (느려도 databaseExecutor의 허가를 차지하지 않음)
+    private final BoundedVirtualExecutor databaseExecutor;
+    private final BoundedVirtualExecutor readExecutor;
+    private final ThreadPoolExecutor writeExecutor;
+    private final PoolSizing poolSizing;
+
+    // 쓰기 묶음(group commit): 대기 중인 쓰기를 최대 writerGroupSize개까지 한 트랜잭션으로 커밋합니다
+    // SQLite는 커밋마다 fsync가 일어나므로 묶을수록 처리량이 늘어납니다 (1이면 묶지 않음)
+    private final int writerGroupSize;
+    private final ConcurrentLinkedQueue<PendingWrite<?>> pendingWrites = new ConcurrentLinkedQueue<>();
+    // 쓰기 스레드가 묶음 트랜잭션을 여는 동안 설정되며, 그 안의 executeInTransaction은 이 트랜잭션에 합류합니다
+    private final ThreadLocal<EntityManager> groupTransaction = new ThreadLocal<>();
+
+    // 여러 서버가 같은 DB를 쓰는 모드: 플레이어 행은 2차 캐시를 거치지 않고 DB에서 읽습니다
+    // (다른 서버의 저장은 이 서버의 2차 캐시를 무효화하지 못하므로)
+    private final boolean multiNode;
+
+    // 비동기 결과를 서버 메인 스레드로 돌려보내는 실행기
+    private final Executor mainThreadExecutor;
+
+    // flush/clear 단위로도 사용하는 JDBC 배치 크기
+    private int batchSize = 250;
+
+    private DatabaseType databaseType;
+
+    // 2차 캐시 (비활성화되어 있으면 null)
+    private SecondLevelCache secondLevelCache;
+
+    // 지연 분포, 커넥션 풀 상태, 느린 작업 표본
+    private final DatabaseMetrics metrics;
+    private final OperationTimer transactionTimer;
+    private final OperationTimer commitTimer;
+    private final OperationTimer readOnlyTimer;
+
+    // 초기화(SessionFactory 생성, 마이그레이션)가 끝나면 완료되는 Future
+    // 완료 전에 제출된 비동기 작업은 완료를 기다렸다가 실행됩니다
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+    private volatile Thread bootstrapThread;
+    // 마이그레이션 뒤, ready 완료 전에 실행할 JDBC 작업 (플레이어 데이터를 읽기 전에 끝나야 하는 복구 등)
+    private final List<SqlFunction<?>> startupTasks = new CopyOnWriteArrayList<>();
+
+    // 종료가 시작되면 false (새 비동기 작업을 받지 않음)
+    private volatile boolean accepting = true;
 
     public DatabaseManager(JavaPlugin plugin) {
-        this.plugin = plugin;
-        initializeDatabase();
+        this(plugin.getConfig(), plugin.getDataFolder(), plugin.getLogger(), task -> {
+            if (Bukkit.isPrimaryThread()) {
+                task.run();
+            } else {
+                Bukkit.getScheduler().runTask(plugin, task);
+            }
+        });
+    }
+
+    /**
+     * 서버 없이 사용할 수 있는 생성자입니다 (벤치마크, 외부 도구용).
+     *
+     * @param config             database/hibernate 섹션을 가진 설정
+     * @param dataFolder         SQLite 파일 경로의 기준 폴더
+     * @param mainThreadExecutor onMainThread 결과를 전달할 실행기
+     */
+    public DatabaseManager(FileConfiguration config, File dataFolder, Logger logger, Executor mainThreadExecutor) {
+        if (config == null) {
+            throw new IllegalArgumentException("FileConfiguration은 null일 수 없습니다!");
+        }
+        if (logger == null) {
+            throw new IllegalArgumentException("Logger는 null일 수 없습니다!");
+        }
+
+        this.config = config;
+        this.dataFolder = dataFolder;
+        this.logger = logger;
+        this.mainThreadExecutor = mainThreadExecutor;
+        // 대기 중인 쓰기 수를 지표로 보기 위해 큐에 접근할 수 있는 실행기를 직접 만듭니다
+        this.writeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), namedThreadFactory("TinyPG-Writer"));
+
+        this.metrics = new DatabaseMetrics(config.getLong("metrics.slow-threshold-ms", 50L),
+                config.getInt("metrics.slow-log-size", 64));
+        this.transactionTimer = metrics.timer("transaction");
+        this.commitTimer = metrics.timer("transaction.commit");
+        this.readOnlyTimer = metrics.timer("jdbc.read");
+        metrics.gauge("write_queue_pending", () -> writeExecutor.getQueue().size());
+        this.multiNode = config.getBoolean("database.multi-node", false);
+        DatabaseType configuredType = DatabaseType.fromConfig(config.getString("database.type", "sqlite"));
+        this.writerGroupSize = configuredType == DatabaseType.SQLITE
+                ? Math.max(1, config.getInt("database.sqlite.writer-group-size", 64))
+                : 1;
+        this.poolSizing = PoolSizing.fromConfig(config, configuredType);
+
+        // 0이면 쓰기 커넥션 풀 크기에 맞춥니다 (허가보다 커넥션이 적으면 풀 대기가 다시 생김)
+        int maxConcurrency = config.getInt("database.executor.max-concurrency", 0);
+        if (maxConcurrency <= 0) {
+            maxConcurrency = poolSizing.writeSize();
+        }
+        this.databaseExecutor = new BoundedVirtualExecutor("TinyPG-DB", maxConcurrency);
+        this.readExecutor = new BoundedVirtualExecutor("TinyPG-Query", poolSizing.readSize());
+        metrics.gauge("async_executor_queued", databaseExecutor::getQueuedCount);
+        metrics.gauge("read_executor_queued", readExecutor::getQueuedCount);
+    }
+
+    /**
+     * 현재 스레드에서 초기화를 끝까지 수행합니다.
+     *
+     * @throws IllegalStateException 초기화에 실패한 경우 (자원은 이미 정리됨)
+     */
+    public DatabaseManager initialize() {
+        try {
+            initializeDatabase();
+            ready.complete(null);
+        } catch (RuntimeException e) {
+            ready.completeExceptionally(e);
+            throw e;
+        }
+        return this;
+    }
+
+    /**
+     * 초기화 마지막 단계(마이그레이션 뒤, 준비 완료 전)에 실행할 JDBC 작업을 등록합니다. 초기화 시작 전에 호출해야 합니다.
+     * 작업마다 한 트랜잭션으로 실행되며, 실패하면 초기화가 실패합니다.
+     */
+    public void addStartupTask(SqlFunction<?> task) {
+        if (ready.isDone() || bootstrapThread != null) {
+            throw new IllegalStateException("초기화가 시작된 뒤에는 시작 작업을 등록할 수 없습니다");
+        }
+        startupTasks.add(task);
+    }
+
+    /**
+     * 별도 스레드에서 초기화를 시작하고 바로 돌아옵니다.
+     * 서버는 그동안 명령어/리스너 등록과 월드 로딩을 계속 진행할 수 있습니다.
+     *
+     * @return 초기화가 끝나면 완료되는 Future (실패하면 예외로 완료)
+     */
+    public CompletableFuture<Void> initializeAsync() {
+        Thread thread = new Thread(() -> {
+            try {
+                initialize();
+            } catch (RuntimeException ignored) {
+                // 결과는 ready Future로 전달됩니다
+            }
+        }, "TinyPG-Bootstrap");
+        thread.setDaemon(true);
+        bootstrapThread = thread;
+        thread.start();
+        return whenReady();
+    }
+
+    /**
+     * 초기화가 끝나면 완료되는 Future입니다 (호출한 쪽이 완료시킬 수 없는 복사본).
+     */
+    public CompletableFuture<Void> whenReady() {
+        return ready.copy();
+    }
+
+    /**
+     * 초기화가 성공적으로 끝났는지 확인합니다.
+     */
+    public boolean isReady() {
+        return ready.isDone() && !ready.isCompletedExceptionally();
+    }
+
+    /**
+     * 초기화가 끝날 때까지 최대 timeoutMillis만큼 기다립니다. 메인 스레드에서 호출하면 안 됩니다.
+     *
+     * @return 준비되었으면 true, 시간 초과나 초기화 실패면 false
+     */
+    public boolean awaitReady(long timeoutMillis) {
+        if (isReady()) {
+            return true;
+        }
+        try {
+            ready.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
     }
 
     private void initializeDatabase() {
+        long startedAt = System.nanoTime();
+        CompletableFuture<HikariDataSource> pendingReadPool = null;
         try {
-            FileConfiguration config = plugin.getConfig();
             String dbType = config.getString("database.type", "sqlite");
+            databaseType = DatabaseType.fromConfig(dbType);
+            if (multiNode && databaseType == DatabaseType.SQLITE) {
+                logger.warning("database.multi-node는 여러 서버가 같은 MySQL을 쓸 때만 의미가 있습니다 (SQLite 파일은 공유하지 마세요)");
+            }
+            
+            // uuid 컬럼 저장 방식은 Hibernate 타입이 참조하므로 부트스트랩 전에 지정합니다
+            UuidStorage uuidStorage = UuidStorage.fromConfig(config.getString("database.uuid-storage", "text"));
+            UuidStorage.activate(uuidStorage, databaseType);
             
             Properties properties = new Properties();
             
-            if ("mysql".equals(dbType)) {
+            if (databaseType == DatabaseType.MYSQL) {
                 setupMySQLProperties(config, properties);
             } else {
                 setupSQLiteProperties(config, properties);
             }
             
+            // JDBC 배치 기본값 (config.yml의 hibernate 섹션에서 덮어쓸 수 있음)
+            setupBatchProperties(properties);
+            
+            // 느린 SQL은 Hibernate가 실제 SQL 문과 함께 로그로 남깁니다 (작업 단위 표본은 DatabaseMetrics)
+            properties.setProperty("hibernate.log_slow_query",
+                    String.valueOf(config.getLong("metrics.slow-threshold-ms", 50L)));
+            
+            // 2차 캐시/쿼리 캐시 (hibernate 섹션에서 덮어쓸 수 있음)
+            secondLevelCache = SecondLevelCache.configure(config, properties);
+            
+            // 방언을 직접 지정하므로 부팅 중 JDBC 메타데이터 조회(방언/드라이버 기능 감지)를 생략할 수 있습니다
+            if (!config.getBoolean("database.bootstrap.jdbc-metadata-access", false)) {
+                properties.setProperty("hibernate.boot.allow_jdbc_metadata_access", "false");
+            }
+            
             // config.yml의 hibernate 섹션 전체 로드 (개발 편의성)
             loadHibernateProperties(config, properties);
+            batchSize = Math.max(1, Integer.parseInt(properties.getProperty("hibernate.jdbc.batch_size")));
+            
+            // 커넥션 풀을 직접 만들어 Hibernate에 넘기고, 같은 설정으로 읽기 전용 풀도 만듭니다
+            Properties hikariProperties = extractHikariProperties(properties);
+            HikariConfig writeConfig = new HikariConfig(hikariProperties);
+            writeConfig.setMetricsTrackerFactory(metrics.poolTrackerFactory());
+            writeConfig.setMaximumPoolSize(poolSizing.writeSize());
+            if (writeConfig.getMinimumIdle() > writeConfig.getMaximumPoolSize()) {
+                writeConfig.setMinimumIdle(writeConfig.getMaximumPoolSize());
+            }
+            dataSource = new HikariDataSource(writeConfig);
+            // 읽기 전용 풀의 첫 연결은 메타모델 생성과 동시에 진행합니다
+            pendingReadPool = CompletableFuture.supplyAsync(
+                    () -> createReadDataSource(config, hikariProperties), readExecutor);
+            logger.info(String.format("커넥션 풀 크기: 쓰기 %d%s, 조회 %d%s (코어 %d개)",
+                    poolSizing.writeSize(), poolSizing.autoWrite() ? " (자동)" : "",
+                    poolSizing.readSize(), poolSizing.autoRead() ? " (자동)" : "",
+                    Runtime.getRuntime().availableProcessors()));
+            properties.put("hibernate.connection.datasource", dataSource);
+            
+            // 스키마는 SchemaMigrator가 관리합니다.
+            // validate는 마이그레이션이 끝난 뒤에 직접 수행해야 하므로 부트스트랩에서는 끕니다
+            boolean validateSchema = "validate".equalsIgnoreCase(properties.getProperty("hibernate.hbm2ddl.auto"));
+            if (validateSchema) {
+                properties.setProperty("hibernate.hbm2ddl.auto", "none");
+            }
             
             StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
                 .applySettings(properties)
@@ -52,12 +321,60 @@ public class DatabaseManager {
                 .build();
                 
             entityManagerFactory = sessionFactory.unwrap(EntityManagerFactory.class);
+            readDataSource = pendingReadPool.join();
             
-            plugin.getLogger().info("데이터베이스 연결 성공: " + dbType.toUpperCase());
+            migrateSchema(sessionFactory, uuidStorage);
+            if (validateSchema) {
+                // 매핑과 실제 스키마가 다르면 여기서 예외가 발생해 플러그인이 시작되지 않습니다
+                sessionFactory.getSchemaManager().validateMappedObjects();
+                logger.info("스키마 검증 완료");
+            }
+            runStartupTasks();
+            
+            logger.info(String.format("데이터베이스 연결 성공: %s (%dms)", dbType.toUpperCase(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)));
             
         } catch (Exception e) {
-            plugin.getLogger().severe("데이터베이스 초기화 실패: " + e.getMessage());
-            e.printStackTrace();
+            logger.severe("데이터베이스 초기화 실패: " + e.getMessage());
+            if (pendingReadPool != null && readDataSource == null) {
+                // 동시에 만들던 읽기 풀이 나중에 완성되더라도 닫히도록 합니다
+                pendingReadPool.thenAccept(HikariDataSource::close);
+            }
+            // 잘못된 스키마로 동작하지 않도록 즉시 실패시킵니다 (onEnable에서 플러그인을 비활성화)
+            shutdown();
+            throw new IllegalStateException("데이터베이스 초기화 실패", e);
+        }
+    }
+    
+    private void migrateSchema(SessionFactory sessionFactory, UuidStorage uuidStorage) {
+        SchemaMigrator migrator = new SchemaMigrator(databaseType, logger);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.doWork(connection -> {
+                int applied = migrator.migrate(connection);
+                if (applied > 0) {
+                    logger.info(String.format("스키마 마이그레이션 %d개 적용 완료 (현재 V%d)",
+                            applied, migrator.latestVersion()));
+                }
+                migrator.applyUuidStorage(connection, uuidStorage, batchSize);
+            });
+        }
+    }
+    
+    private void runStartupTasks() throws SQLException {
+        for (SqlFunction<?> task : startupTasks) {
+            try (Connection connection = dataSource.getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    task.apply(connection);
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
         }
     }
     
@@ -68,7 +385,12 @@ public class DatabaseManager {
         String username = config.getString("database.mysql.username", "root");
         String password = config.getString("database.mysql.password", "password");
         
-        String url = String.format("jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=Asia/Seoul&allowPublicKeyRetrieval=true", 
+        String url = String.format("jdbc:mysql://%s:%d/%s?useSSL=false&serverTimezone=Asia/Seoul&allowPublicKeyRetrieval=true"
+                                  // 배치된 INSERT/UPDATE를 다중 행 구문 하나로 재작성해서 왕복 횟수를 줄입니다
+                                  + "&rewriteBatchedStatements=true"
+                                  // 서버 측 PreparedStatement를 커넥션별로 캐시해서 반복 쿼리의 파싱 비용을 없앱니다
+                                  + "&useServerPrepStmts=true&cachePrepStmts=true"
+                                  + "&prepStmtCacheSize=250&prepStmtCacheSqlLimit=2048", 
                                   host, port, database);
         
         properties.setProperty("hibernate.connection.url", url);
@@ -79,17 +401,40 @@ public class DatabaseManager {
     }
     
     private void setupSQLiteProperties(FileConfiguration config, Properties properties) {
-        File dbDir = new File(plugin.getDataFolder(), "database");
+        File dbDir = new File(dataFolder, "database");
         if (!dbDir.exists()) {
             dbDir.mkdirs();
         }
         
         String file = config.getString("database.sqlite.file", "database/player_data.db");
-        String fullPath = plugin.getDataFolder().getAbsolutePath() + "/" + file;
+        String fullPath = dataFolder.getAbsolutePath() + "/" + file;
         
         properties.setProperty("hibernate.connection.url", "jdbc:sqlite:" + fullPath);
         properties.setProperty("hibernate.connection.driver_class", "org.sqlite.JDBC");
-        properties.setProperty("hibernate.dialect", "org.hibernate.dialect.SQLiteDialect");
+        // Hibernate 6에서 SQLite 방언은 community-dialects 모듈로 옮겨졌습니다
+        properties.setProperty("hibernate.dialect", "org.hibernate.community.dialect.SQLiteDialect");
+        
+        // 연결마다 적용되는 PRAGMA (sqlite-jdbc 연결 속성, hibernate.hikari.dataSource.*로 덮어쓸 수 있음)
+        // WAL: 읽기가 쓰기를 막지 않고, 커밋은 로그 끝에 덧붙이기만 하므로 롤백 저널보다 fsync가 적습니다
+        // synchronous=NORMAL: WAL에서는 체크포인트 때만 fsync (전원 장애 시 마지막 커밋 일부만 잃을 수 있고 파일은 손상되지 않음)
+        String pragma = "hibernate.hikari.dataSource.";
+        properties.setProperty(pragma + "journal_mode", config.getString("database.sqlite.journal-mode", "WAL"));
+        properties.setProperty(pragma + "synchronous", config.getString("database.sqlite.synchronous", "NORMAL"));
+        // 음수는 KiB 단위 (연결마다 할당)
+        properties.setProperty(pragma + "cache_size",
+                String.valueOf(-Math.max(0L, config.getLong("database.sqlite.cache-size-kb", 16384L))));
+        properties.setProperty(pragma + "mmap_size",
+                String.valueOf(Math.max(0L, config.getLong("database.sqlite.mmap-size-mb", 256L)) * 1024L * 1024L));
+        properties.setProperty(pragma + "busy_timeout",
+                String.valueOf(config.getInt("database.sqlite.busy-timeout-ms", 5000)));
+        properties.setProperty(pragma + "temp_store", "MEMORY");
+    }
+    
+    private void setupBatchProperties(Properties properties) {
+        properties.setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+        properties.setProperty("hibernate.order_inserts", "true");
+        properties.setProperty("hibernate.order_updates", "true");
+        properties.setProperty("hibernate.jdbc.batch_versioned_data", "true");
     }
     
     private void loadHibernateProperties(FileConfiguration config, Properties properties) {
@@ -97,36 +442,681 @@ public class DatabaseManager {
         if (config.isConfigurationSection("hibernate")) {
             for (String key : config.getConfigurationSection("hibernate").getKeys(true)) {
                 Object value = config.get("hibernate." + key);
-                if (value != null) {
+                if (value != null && !config.isConfigurationSection("hibernate." + key)) {
                     properties.setProperty("hibernate." + key, value.toString());
                 }
             }
         }
     }
 
+    /**
+     * hibernate.connection.* / hibernate.hikari.* 설정을 HikariConfig 속성으로 옮깁니다.
+     * 옮긴 키는 Hibernate 설정에서 제거합니다 (Hibernate는 완성된 DataSource를 받습니다).
+     */
+    private Properties extractHikariProperties(Properties properties) {
+        Properties hikari = new Properties();
+        hikari.setProperty("poolName", "TinyPG-Write");
+        hikari.setProperty("jdbcUrl", (String) properties.remove("hibernate.connection.url"));
+        hikari.setProperty("driverClassName", (String) properties.remove("hibernate.connection.driver_class"));
+        Object username = properties.remove("hibernate.connection.username");
+        Object password = properties.remove("hibernate.connection.password");
+        if (username != null) {
+            hikari.setProperty("username", username.toString());
+        }
+        if (password != null) {
+            hikari.setProperty("password", password.toString());
+        }
+        properties.remove("hibernate.connection.provider_class");
+        
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("hibernate.hikari.")) {
+                hikari.setProperty(key.substring("hibernate.hikari.".length()), properties.getProperty(key));
+                properties.remove(key);
+            }
+        }
+        return hikari;
+    }
+    
+    /**
+     * 조회 전용 풀을 만듭니다. 커넥션 생성 시 한 번만 읽기 전용으로 지정하므로
+     * 빌려올 때마다 setReadOnly 왕복이 발생하지 않습니다.
+     * MySQL에서 database.mysql.read-replica.url을 지정하면 주 서버 대신 복제본에 연결합니다.
+     */
+    private HikariDataSource createReadDataSource(FileConfiguration config, Properties writeProperties) {
+        HikariConfig readConfig = new HikariConfig(writeProperties);
+        readConfig.setPoolName("TinyPG-Read");
+        readConfig.setMetricsTrackerFactory(metrics.poolTrackerFactory());
+        readConfig.setMaximumPoolSize(poolSizing.readSize());
+        applyReadReplica(config, readConfig);
+        if (readConfig.getMinimumIdle() > readConfig.getMaximumPoolSize()) {
+            readConfig.setMinimumIdle(readConfig.getMaximumPoolSize());
+        }
+        if (databaseType == DatabaseType.SQLITE) {
+            // sqlite-jdbc는 연결 후 읽기 전용 전환을 허용하지 않으므로 열 때 지정합니다 (SQLITE_OPEN_READONLY)
+            readConfig.addDataSourceProperty("open_mode", "1");
+            // 저널 모드는 파일에 기록되는 설정이라 읽기 전용 연결에서는 바꿀 수 없습니다 (쓰기 풀이 이미 지정함)
+            readConfig.getDataSourceProperties().remove("journal_mode");
+        } else {
+            readConfig.setReadOnly(true);
+        }
+        return new HikariDataSource(readConfig);
+    }
+
+    private void applyReadReplica(FileConfiguration config, HikariConfig readConfig) {
+        String url = config.getString("database.mysql.read-replica.url", "");
+        if (url == null || url.isBlank()) {
+            return;
+        }
+        if (databaseType != DatabaseType.MYSQL) {
+            logger.warning("database.mysql.read-replica는 MySQL에서만 사용합니다 (무시함)");
+            return;
+        }
+        readConfig.setJdbcUrl(url.trim());
+        // 계정을 비워 두면 주 서버 계정을 그대로 사용합니다
+        String username = config.getString("database.mysql.read-replica.username", "");
+        if (username != null && !username.isBlank()) {
+            readConfig.setUsername(username);
+            readConfig.setPassword(config.getString("database.mysql.read-replica.password", ""));
+        }
+        readReplica = true;
+        logger.info("조회 풀이 읽기 복제본을 사용합니다");
+    }
+
+    /**
+     * 조회 풀이 읽기 복제본에 연결되어 있는지 확인합니다.
+     * 복제본은 주 서버보다 늦을 수 있으므로 저장 직후의 값이 필요한 조회는 PlayerDataRepository를 사용해야 합니다.
+     */
+    public boolean isReadReplica() {
+        return readReplica;
+    }
+
+    /**
+     * 쓰기 풀과 조회 풀의 크기입니다.
+     */
+    public PoolSizing getPoolSizing() {
+        return poolSizing;
+    }
+
+    /**
+     * 영속성 컨텍스트와 트랜잭션 없이 읽기 전용 커넥션으로 조회합니다.
+     * EntityManager 생성, 트랜잭션 시작/커밋, 더티 체킹이 없어서 단순 조회에 가장 가볍습니다.
+     */
+    public <T> T executeReadOnly(SqlFunction<T> operation) {
+        return executeReadOnly(readOnlyTimer, operation);
+    }
+
+    /**
+     * executeReadOnly와 같지만 걸린 시간을 지정한 타이머에 기록합니다.
+     */
+    public <T> T executeReadOnly(OperationTimer timer, SqlFunction<T> operation) {
+        requireReady();
+        long start = System.nanoTime();
+        try (Connection connection = readDataSource.getConnection()) {
+            T result = operation.apply(connection);
+            timer.record(System.nanoTime() - start);
+            return result;
+        } catch (SQLException e) {
+            timer.recordError(System.nanoTime() - start);
+            logger.warning("읽기 전용 조회 중 오류: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 영속성 컨텍스트 없이 쓰기 풀의 커넥션으로 JDBC 작업을 실행합니다 (대량 가져오기 등).
+     * 자동 커밋을 끈 상태로 넘기며, 작업이 끝나면 커밋하고 실패하면 롤백합니다.
+     * 작업 안에서 직접 커밋해도 됩니다 (배치 단위 커밋). 2차 캐시를 거치지 않으므로 필요하면 evictAllPlayers를 호출해야 합니다.
+     */
+    public <T> T executeWithConnection(SqlFunction<T> operation) {
+        requireReady();
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T result = operation.apply(connection);
+                connection.commit();
+                transactionTimer.record(System.nanoTime() - start);
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            transactionTimer.recordError(System.nanoTime() - start);
+            logger.warning("JDBC 쓰기 작업 중 오류: " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * executeWithConnection을 쓰기 스레드에서 단독으로 실행합니다 (다른 쓰기와 묶지 않음).
+     * 쓰기 스레드는 하나뿐이므로 SQLite에서도 다른 쓰기 트랜잭션과 잠금을 다투지 않습니다.
+     */
+    public <T> CompletableFuture<T> executeWithConnectionOnWriter(SqlFunction<T> operation) {
+        return afterReady(() -> executeWithConnection(operation), writeExecutor);
+    }
+
+    /**
+     * 커넥션을 받아 결과를 돌려주는 JDBC 작업입니다.
+     */
+    @FunctionalInterface
+    public interface SqlFunction<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
     public <T> T executeInTransaction(Function<EntityManager, T> operation) {
+        return executeInTransaction(transactionTimer, operation);
+    }
+
+    /**
+     * executeInTransaction과 같지만 전체 시간을 지정한 타이머에, 커밋 시간은 transaction.commit에 기록합니다.
+     */
+    public <T> T executeInTransaction(OperationTimer timer, Function<EntityManager, T> operation) {
+        requireReady();
+        long start = System.nanoTime();
+        EntityManager shared = groupTransaction.get();
+        if (shared != null) {
+            // 쓰기 묶음 안에서는 커밋하지 않고 묶음 트랜잭션에 합류합니다 (커밋은 runWriteGroup이 한 번에)
+            try {
+                T result = operation.apply(shared);
+                timer.record(System.nanoTime() - start);
+                return result;
+            } catch (RuntimeException e) {
+                timer.recordError(System.nanoTime() - start);
+                throw e;
+            }
+        }
         EntityManager em = entityManagerFactory.createEntityManager();
         EntityTransaction transaction = em.getTransaction();
 
         try {
             transaction.begin();
             T result = operation.apply(em);
+            long commitStart = System.nanoTime();
             transaction.commit();
+            long end = System.nanoTime();
+            commitTimer.record(end - commitStart);
+            timer.record(end - start);
             return result;
         } catch (Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
             }
-            plugin.getLogger().warning("데이터베이스 작업 중 오류: " + e.getMessage());
+            timer.recordError(System.nanoTime() - start);
+            logger.warning("데이터베이스 작업 중 오류: " + e.getMessage());
             throw new RuntimeException(e);
         } finally {
             em.close();
         }
     }
 
-    public void shutdown() {
+    /**
+     * 데이터베이스 전용 스레드에서 트랜잭션을 실행하고 결과를 Future로 돌려줍니다.
+     * 호출한 스레드(특히 서버 메인 스레드)는 JDBC 왕복을 기다리지 않습니다.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Function<EntityManager, T> operation) {
+        return afterReady(() -> executeInTransaction(operation), databaseExecutor);
+    }
+
+    /**
+     * 트랜잭션을 직접 관리하는 작업(예: 레포지토리 메서드)을 조회 실행기에서 실행합니다.
+     * 쓰기 풀을 사용하는 엔티티 조회용입니다. executeReadOnly만 쓰는 작업은 callReadAsync를 사용하세요.
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<T> task) {
+        return afterReady(task, databaseExecutor);
+    }
+
+    /**
+     * executeReadOnly(조회 풀)만 사용하는 작업을 조회 전용 실행기에서 실행합니다.
+     * 동시 실행 수가 조회 풀 크기로 제한되고 callAsync와 허가를 나누지 않으므로,
+     * 느린 목록 조회가 밀려 있어도 접속 시 로딩(callAsync/supplyAsync)은 기다리지 않습니다.
+     */
+    public <T> CompletableFuture<T> callReadAsync(Supplier<T> task) {
+        return afterReady(task, readExecutor);
+    }
+
+    /**
+     * 쓰기 작업을 단일 백그라운드 쓰기 스레드에 넘깁니다.
+     * 쓰기는 제출 순서대로 하나씩 실행되므로 같은 플레이어의 갱신 순서가 뒤바뀌지 않습니다.
+     */
+    public CompletableFuture<Void> submitWrite(Consumer<EntityManager> operation) {
+        return runOnWriter(() -> executeInTransaction(em -> {
+            operation.accept(em);
+            return null;
+        }));
+    }
+
+    /**
+     * 트랜잭션을 직접 관리하는 작업(예: 레포지토리 일괄 저장)을 쓰기 스레드에서 실행합니다.
+     */
+    public CompletableFuture<Void> runOnWriter(Runnable task) {
+        return supplyOnWriter(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * 결과를 돌려주는 쓰기 작업을 쓰기 스레드에서 실행합니다.
+     * SQLite에서는 대기 중인 다른 쓰기와 한 트랜잭션으로 묶여 커밋될 수 있습니다 (결과는 커밋 후 전달).
+     */
+    public <T> CompletableFuture<T> supplyOnWriter(Supplier<T> task) {
+        if (writerGroupSize <= 1) {
+            return afterReady(task, writeExecutor);
+        }
+        if (!accepting) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("데이터베이스가 종료 중입니다"));
+        }
+
+        // 대기열에는 바로 넣어 제출 순서를 지키고, 실행은 초기화가 끝난 뒤에 예약합니다
+        PendingWrite<T> write = new PendingWrite<>(task, new CompletableFuture<>());
+        pendingWrites.add(write);
+        ready.whenComplete((ignored, error) -> {
+            if (error != null) {
+                if (pendingWrites.remove(write)) {
+                    write.future().completeExceptionally(error);
+                }
+                return;
+            }
+            try {
+                writeExecutor.execute(this::runWriteGroup);
+            } catch (RejectedExecutionException e) {
+                if (pendingWrites.remove(write)) {
+                    write.future().completeExceptionally(e);
+                }
+            }
+        });
+        return write.future();
+    }
+
+    /**
+     * 쓰기 작업을 실행합니다. SQLite는 쓰기 스레드(묶음 커밋)로 보내 잠금 경합(SQLITE_BUSY)을 없애고,
+     * MySQL은 행 잠금만 잡는 짧은 UPDATE이므로 조회 실행기에서 동시에 실행합니다.
+     */
+    public <T> CompletableFuture<T> callWriteAsync(Supplier<T> task) {
+        return databaseType == DatabaseType.SQLITE ? supplyOnWriter(task) : callAsync(task);
+    }
+
+    /**
+     * 대기 중인 쓰기를 최대 writerGroupSize개 꺼내 한 트랜잭션으로 실행합니다 (쓰기 스레드 전용).
+     * 쓰기마다 이 작업이 하나씩 예약되므로, 앞선 묶음이 이미 가져갔으면 아무것도 하지 않습니다.
+     */
+    private void runWriteGroup() {
+        List<PendingWrite<?>> group = new ArrayList<>();
+        PendingWrite<?> next;
+        while (group.size() < writerGroupSize && (next = pendingWrites.poll()) != null) {
+            group.add(next);
+        }
+        if (group.isEmpty()) {
+            return;
+        }
+        if (group.size() == 1) {
+            group.get(0).runAlone();
+            return;
+        }
+
+        long start = System.nanoTime();
+        EntityManager em = entityManagerFactory.createEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        List<Object> results = new ArrayList<>(group.size());
+        boolean committed = false;
+        try {
+            transaction.begin();
+            groupTransaction.set(em);
+            for (PendingWrite<?> write : group) {
+                results.add(write.task().get());
+                // 작업마다 반영하고 비워서 영속성 컨텍스트가 묶음 크기만큼 커지지 않게 합니다
+                em.flush();
+                em.clear();
+            }
+            long commitStart = System.nanoTime();
+            transaction.commit();
+            long end = System.nanoTime();
+            commitTimer.record(end - commitStart);
+            transactionTimer.record(end - start);
+            committed = true;
+        } catch (Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            transactionTimer.recordError(System.nanoTime() - start);
+        } finally {
+            groupTransaction.remove();
+            em.close();
+        }
+
+        if (committed) {
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).complete(results.get(i));
+            }
+            return;
+        }
+        // 묶음 중 하나라도 실패하면 전체를 되돌리고 하나씩 다시 실행해서 실패한 작업만 실패로 돌려줍니다
+        group.forEach(PendingWrite::runAlone);
+    }
+
+    /**
+     * 쓰기 묶음 대기열에 남은 작업을 모두 실패시키고 개수를 반환합니다.
+     */
+    private int failPendingWrites(Throwable cause) {
+        int count = 0;
+        PendingWrite<?> write;
+        while ((write = pendingWrites.poll()) != null) {
+            write.future().completeExceptionally(cause);
+            count++;
+        }
+        return count;
+    }
+
+    private record PendingWrite<T>(Supplier<T> task, CompletableFuture<T> future) {
+
+        @SuppressWarnings("unchecked")
+        void complete(Object result) {
+            future.complete((T) result);
+        }
+
+        void runAlone() {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> afterReady(Supplier<T> task, Executor executor) {
+        if (!accepting) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("데이터베이스가 종료 중입니다"));
+        }
+        if (isReady()) {
+            return CompletableFuture.supplyAsync(task, executor);
+        }
+        // 초기화 중에 제출된 작업은 완료 후 실행되고, 초기화가 실패하면 같은 예외로 실패합니다
+        return ready.thenApplyAsync(ignored -> task.get(), executor);
+    }
+
+    private void requireReady() {
+        if (!isReady()) {
+            throw new IllegalStateException("데이터베이스가 아직 준비되지 않았습니다");
+        }
+    }
+
+    /**
+     * Future가 완료되면 같은 결과를 서버 메인 스레드에서 완료하는 Future를 반환합니다.
+     * 이어지는 thenAccept 등에서 Bukkit API를 안전하게 사용할 수 있습니다.
+     * 이미 완료된 Future를 메인 스레드에서 넘기면 다음 틱을 기다리지 않고 바로 이어집니다.
+     */
+    public <T> CompletableFuture<T> onMainThread(CompletableFuture<T> future) {
+        return future.whenCompleteAsync((result, error) -> {
+        }, mainThreadExecutor);
+    }
+
+    /**
+     * 서버 메인 스레드에서 작업을 실행하는 실행기입니다 (thenAcceptAsync 등에 사용).
+     */
+    public Executor getMainThreadExecutor() {
+        return mainThreadExecutor;
+    }
+
+    /**
+     * 데이터베이스 비동기 작업에 사용하는 실행기입니다.
+     */
+    public Executor getAsyncExecutor() {
+        return databaseExecutor;
+    }
+
+    /**
+     * 플레이어 한 명을 2차 캐시에서 제거합니다.
+     * Hibernate를 거치지 않고(네이티브 JDBC 등) player_data를 변경한 뒤 호출해야 합니다.
+     * 레포지토리의 merge/persist와 JPQL 일괄 UPDATE는 Hibernate가 알아서 갱신/무효화합니다.
+     */
+    public void evictPlayer(String uuid) {
+        if (secondLevelCache != null && isReady()) {
+            entityManagerFactory.getCache().evict(PlayerData.class, uuid);
+            evictQueryResults();
+        }
+    }
+
+    /**
+     * 모든 플레이어와 쿼리 결과를 2차 캐시에서 제거합니다 (대량 가져오기 등 이후).
+     */
+    public void evictAllPlayers() {
+        if (secondLevelCache != null && isReady()) {
+            entityManagerFactory.getCache().evict(PlayerData.class);
+            evictQueryResults();
+        }
+    }
+
+    private void evictQueryResults() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictQueryRegion(SecondLevelCache.TOP_MONEY_REGION);
+        sessionFactory.getCache().evictDefaultQueryRegion();
+    }
+
+    /**
+     * 2차 캐시 영역별 적중/실패 통계를 반환합니다. 캐시가 꺼져 있으면 빈 목록입니다.
+     */
+    public List<CacheRegionStats> getCacheStatistics() {
+        List<CacheRegionStats> result = new ArrayList<>();
+        if (secondLevelCache == null || !isReady()) {
+            return result;
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        addRegionStats(result, SecondLevelCache.PLAYER_REGION,
+                statistics.getDomainDataRegionStatistics(SecondLevelCache.PLAYER_REGION));
+        // 쿼리 영역은 처음 사용되기 전까지 통계가 없습니다
+        addRegionStats(result, SecondLevelCache.TOP_MONEY_REGION,
+                statistics.getQueryRegionStatistics(SecondLevelCache.TOP_MONEY_REGION));
+        return result;
+    }
+
+    private static void addRegionStats(List<CacheRegionStats> result, String region,
+                                       CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            result.add(new CacheRegionStats(region, 0, 0, 0, -1));
+            return;
+        }
+        long size = statistics.getElementCountInMemory();
+        result.add(new CacheRegionStats(region, statistics.getHitCount(), statistics.getMissCount(),
+                statistics.getPutCount(), size == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? -1 : size));
+    }
+
+    /**
+     * 데이터베이스 지표(지연 분포, 풀 상태, 느린 작업)를 반환합니다.
+     */
+    public DatabaseMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 사용 중인 데이터베이스 종류를 반환합니다.
+     */
+    public DatabaseType getDatabaseType() {
+        return databaseType;
+    }
+
+    /**
+     * 여러 서버가 같은 데이터베이스를 공유하는 모드인지 반환합니다 (database.multi-node).
+     */
+    public boolean isMultiNode() {
+        return multiNode;
+    }
+
+    /**
+     * 플레이어 행을 최신 상태로 읽기 위한 조회 힌트입니다.
+     * 다중 서버 모드에서는 2차 캐시를 건너뛰고 (결과는 캐시에 다시 넣음), 단일 서버에서는 힌트가 없습니다.
+     */
+    public Map<String, Object> freshReadHints() {
+        return multiNode
+                ? Map.of(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS)
+                : Map.of();
+    }
+
+    /**
+     * 현재 스레드가 쓰기 묶음 트랜잭션 안에 있는지 반환합니다.
+     * 묶음 안에서는 실패한 트랜잭션을 다시 시도할 수 없으므로 (묶음 전체가 롤백 후 하나씩 재실행됨) 재시도 판단에 사용합니다.
+     */
+    public boolean isInWriteGroup() {
+        return groupTransaction.get() != null;
+    }
+
+    /**
+     * 설정된 JDBC 배치 크기를 반환합니다.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * 새 비동기 작업을 더 이상 받지 않습니다. 이후 제출되는 작업은 RejectedExecutionException으로 실패합니다.
+     * 이미 대기열에 있는 작업은 drain에서 처리됩니다.
+     */
+    public void stopAccepting() {
+        accepting = false;
+    }
+
+    /**
+     * 대기 중인 작업을 마감 시각까지 처리합니다. stopAccepting 이후에 호출합니다.
+     *
+     * @param finalWrite    쓰기 대기열 맨 뒤에 넣을 마지막 작업 (예: 남은 플레이어 일괄 저장), 없으면 null
+     * @param deadlineNanos System.nanoTime() 기준 마감 시각
+     * @return 처리하지 못하고 버린 작업 정보
+     */
+    public DrainResult drain(Runnable finalWrite, long deadlineNanos) {
+        // 초기화 도중이면 만들고 있는 자원을 놓치지 않도록 끝날 때까지 기다립니다
+        Thread bootstrap = bootstrapThread;
+        if (bootstrap != null && bootstrap != Thread.currentThread() && !ready.isDone()) {
+            awaitReady(remainingMillis(deadlineNanos));
+        }
+
+        CompletableFuture<Void> finalFuture = CompletableFuture.completedFuture(null);
+        if (finalWrite != null) {
+            try {
+                // 게이트를 거치지 않고 쓰기 스레드에 직접 넣습니다 (앞선 쓰기가 모두 끝난 뒤 실행)
+                finalFuture = CompletableFuture.runAsync(finalWrite, writeExecutor);
+            } catch (RejectedExecutionException e) {
+                finalFuture = CompletableFuture.failedFuture(e);
+            }
+        }
+
+        // 쓰기를 먼저 끝낸 뒤 조회를 정리합니다
+        writeExecutor.shutdown();
+        int droppedWrites = 0;
+        if (!awaitUntil(writeExecutor, deadlineNanos)) {
+            int droppedTasks = writeExecutor.shutdownNow().size();
+            // 묶음 커밋을 쓰면 대기열의 작업은 pendingWrites에 있으므로 그쪽 개수를 셉니다
+            int droppedGrouped = failPendingWrites(new RejectedExecutionException("종료 마감 시간 초과"));
+            droppedWrites = Math.max(droppedTasks, droppedGrouped) + writeExecutor.getActiveCount();
+        }
+
+        databaseExecutor.shutdown();
+        readExecutor.shutdown();
+        int droppedReads = 0;
+        if (!awaitUntil(databaseExecutor, deadlineNanos)) {
+            droppedReads += databaseExecutor.getOutstandingCount();
+            databaseExecutor.shutdownNow();
+        }
+        if (!awaitUntil(readExecutor, deadlineNanos)) {
+            droppedReads += readExecutor.getOutstandingCount();
+            readExecutor.shutdownNow();
+        }
+
+        Throwable finalWriteError = null;
+        if (!finalFuture.isDone()) {
+            finalWriteError = new IllegalStateException("마감 시간 안에 끝나지 않았습니다");
+        } else if (finalFuture.isCompletedExceptionally()) {
+            finalWriteError = finalFuture.handle((ignored, e) -> e).join();
+        }
+        return new DrainResult(finalWriteError == null, finalWriteError, droppedWrites, droppedReads);
+    }
+
+    /**
+     * EntityManagerFactory, 캐시, 커넥션 풀을 닫습니다. drain 이후에 호출합니다.
+     * 막힌 트랜잭션 때문에 오래 걸려도 timeoutMillis 이상 기다리지 않습니다
+     * (Hikari는 종료 시 사용 중인 커넥션을 강제로 끊으므로 막힌 스레드도 곧 풀려납니다).
+     *
+     * @return 제한 시간 안에 모두 닫혔으면 true
+     */
+    public boolean closeResources(long timeoutMillis) {
+        Thread closer = new Thread(this::closeResourcesNow, "TinyPG-Close");
+        closer.setDaemon(true);
+        closer.start();
+        try {
+            closer.join(Math.max(1L, timeoutMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (closer.isAlive()) {
+            logger.warning(String.format("데이터베이스 자원 정리가 %dms 안에 끝나지 않아 기다리지 않고 종료합니다", timeoutMillis));
+            return false;
+        }
+        return true;
+    }
+
+    private void closeResourcesNow() {
         if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
             entityManagerFactory.close();
         }
+        if (secondLevelCache != null) {
+            secondLevelCache.close();
+        }
+        if (readDataSource != null) {
+            readDataSource.close();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    /**
+     * 대기 중인 작업을 최대 10초씩 기다린 뒤 모든 자원을 닫습니다.
+     * 플러그인 종료는 ShutdownCoordinator를 사용하고, 이 메서드는 초기화 실패나 단독 사용 시 정리용입니다.
+     */
+    public void shutdown() {
+        stopAccepting();
+        DrainResult result = drain(null, System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+        if (result.droppedWrites() > 0 || result.droppedReads() > 0) {
+            logger.warning(String.format("종료 대기 시간 초과 - 취소된 쓰기 %d개, 조회 %d개",
+                    result.droppedWrites(), result.droppedReads()));
+        }
+        closeResources(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private static boolean awaitUntil(ExecutorService executor, long deadlineNanos) {
+        try {
+            return executor.awaitTermination(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long remainingMillis(long deadlineNanos) {
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    /**
+     * drain 결과입니다.
+     *
+     * @param finalWriteCompleted 마지막 작업이 성공했는지 (없었으면 true)
+     * @param finalWriteError     마지막 작업의 실패 원인 (성공했으면 null)
+     * @param droppedWrites       실행하지 못하고 버린 쓰기 작업 수 (실행 중이던 작업 포함)
+     * @param droppedReads        끝나지 않은 조회 작업 수
+     */
+    public record DrainResult(boolean finalWriteCompleted, Throwable finalWriteError,
+                              int droppedWrites, int droppedReads) {
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
@@ -0,0 +1,16 @@
+package io.github.louis5103.tiny_pg_hunterAPI.config;
+
+/**
+ * 지원하는 데이터베이스 종류입니다. config.yml의 database.type 값과 대응합니다.
+ */
+public enum DatabaseType {
+    MYSQL,
+    SQLITE;
+
+    /**
+     * 설정 문자열을 변환합니다. 알 수 없는 값이면 기본값인 SQLite를 사용합니다.
+     */
+    public static DatabaseType fromConfig(String value) {
+        return "mysql".equalsIgnoreCase(value) ? MYSQL : SQLITE;
+    }
+}
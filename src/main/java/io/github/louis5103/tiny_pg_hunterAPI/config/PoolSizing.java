@@ -0,0 +1,61 @@
+package io.github.louis5103.tiny_pg_hunterAPI.config;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * 쓰기(OLTP) 풀과 조회 풀의 크기입니다. 설정하지 않았으면(0) 코어 수와 DB 종류로 정합니다.
+ *
+ * 두 풀은 서로 다른 일을 합니다.
+ * - 쓰기 풀: 단일 쓰기 스레드 + 접속 시 플레이어 로딩 같은 짧은 엔티티 조회
+ * - 조회 풀: 순위, 목록, 닉네임 검색처럼 오래 걸릴 수 있는 스냅샷 조회
+ * 풀과 실행기가 분리되어 있어서 느린 목록 조회가 몰려도 접속 로딩과 저장이 커넥션을 기다리지 않습니다.
+ *
+ * 자동 크기:
+ * - MySQL 쓰기: 코어 × 2 + 1 (HikariCP 권장식, 4~20). 커넥션이 많다고 빨라지지 않으므로 상한을 둡니다
+ * - MySQL 조회: 코어 수 (2~16)
+ * - SQLite 쓰기: 코어 / 2 + 1 (2~4). 파일 잠금 때문에 쓰기는 한 번에 하나뿐이라 나머지는 엔티티 조회용입니다
+ * - SQLite 조회: 코어 수 (2~8). WAL에서는 읽기가 쓰기를 막지 않으므로 코어만큼 병렬로 읽을 수 있습니다
+ *
+ * @param writeSize 쓰기 풀 크기 (database.executor.max-concurrency의 기본값이기도 함)
+ * @param readSize  조회 풀 크기 (조회 전용 실행기의 동시 실행 한도)
+ * @param autoWrite 쓰기 풀 크기를 자동으로 정했는지
+ * @param autoRead  조회 풀 크기를 자동으로 정했는지
+ */
+public record PoolSizing(int writeSize, int readSize, boolean autoWrite, boolean autoRead) {
+
+    /**
+     * 설정을 읽어 크기를 정합니다.
+     * 쓰기 풀은 hibernate.hikari.maximumPoolSize, 조회 풀은 database.read-pool.maximum-size이며 0이거나 없으면 자동입니다.
+     */
+    public static PoolSizing fromConfig(FileConfiguration config, DatabaseType databaseType) {
+        if (config == null) {
+            throw new IllegalArgumentException("FileConfiguration은 null일 수 없습니다!");
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        int write = config.getInt("hibernate.hikari.maximumPoolSize", 0);
+        int read = config.getInt("database.read-pool.maximum-size", 0);
+        return new PoolSizing(
+                write > 0 ? write : defaultWriteSize(databaseType, cores),
+                read > 0 ? read : defaultReadSize(databaseType, cores),
+                write <= 0, read <= 0);
+    }
+
+    static int defaultWriteSize(DatabaseType databaseType, int cores) {
+        if (databaseType == DatabaseType.MYSQL) {
+            return clamp(cores * 2 + 1, 4, 20);
+        }
+        return clamp(cores / 2 + 1, 2, 4);
+    }
+
+    static int defaultReadSize(DatabaseType databaseType, int cores) {
+        if (databaseType == DatabaseType.MYSQL) {
+            return clamp(cores, 2, 16);
+        }
+        return clamp(cores, 2, 8);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
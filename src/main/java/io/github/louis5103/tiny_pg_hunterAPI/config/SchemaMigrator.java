@@ -0,0 +1,541 @@
+package io.github.louis5103.tiny_pg_hunterAPI.config;
+
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.Money;
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.UuidStorage;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * 플러그인 내장 스키마 마이그레이션입니다.
+ *
+ * hbm2ddl.auto=update처럼 매번 전체 스키마를 조회하지 않고,
+ * schema_version 테이블에 기록된 버전 이후의 마이그레이션만 순서대로 적용합니다.
+ * 이미 최신이면 schema_version 조회 한 번으로 끝나므로 테이블이 커져도 부팅 시간이 일정합니다.
+ *
+ * 새 마이그레이션은 registerMigrations()의 끝에 버전을 올려서 추가합니다. 이미 배포된 항목은 수정하지 않습니다.
+ */
+public class SchemaMigrator {
+
+    private static final String VERSION_TABLE = "schema_version";
+
+    private final DatabaseType databaseType;
+    private final Logger logger;
+    private final List<Migration> migrations = new ArrayList<>();
+
+    public SchemaMigrator(DatabaseType databaseType, Logger logger) {
+        this.databaseType = databaseType;
+        this.logger = logger;
+        registerMigrations();
+    }
+
+    private void registerMigrations() {
+        migrations.add(new Migration(1, "player_data 테이블 생성", this::createPlayerDataTable));
+        migrations.add(new Migration(2, "조회용 인덱스 생성 (money, last_login, player_name)", this::createPlayerDataIndexes));
+        migrations.add(new Migration(3, "페이지 조회용 인덱스 (play_time, 정렬 키 + uuid)", this::createPagingIndexes));
+        migrations.add(new Migration(4, "player_name_history 테이블 생성", this::createNameHistoryTable));
+        migrations.add(new Migration(5, "player_data.version 컬럼 추가 (낙관적 잠금)", this::addVersionColumn));
+        migrations.add(new Migration(6, "money(DOUBLE)를 최소 단위 balance(BIGINT)로 변환", this::convertMoneyToBalance));
+        migrations.add(new Migration(7, "money_transactions 테이블과 player_data 저널 위치 컬럼 추가", this::createTransactionJournalTables));
+    }
+
+    /**
+     * 적용되지 않은 마이그레이션을 버전 순서대로 적용합니다.
+     * 실패하면 예외를 던지므로 플러그인이 잘못된 스키마로 시작하지 않습니다.
+     *
+     * @return 적용한 마이그레이션 수
+     */
+    public int migrate(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            ensureVersionTable(connection);
+            int current = currentVersion(connection);
+
+            int applied = 0;
+            for (Migration migration : migrations) {
+                if (migration.version() <= current) {
+                    continue;
+                }
+
+                logger.info(String.format("스키마 마이그레이션 V%d 적용: %s", migration.version(), migration.description()));
+                try {
+                    migration.step().apply(connection);
+                    recordVersion(connection, migration);
+                    connection.commit();
+                    applied++;
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw new SQLException(String.format("스키마 마이그레이션 V%d 실패: %s",
+                            migration.version(), e.getMessage()), e);
+                }
+            }
+            return applied;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * player_data.uuid 컬럼을 설정된 저장 방식(UuidStorage)에 맞춥니다.
+     * 버전 마이그레이션이 모두 끝난 뒤 호출하며, 이미 맞춰져 있으면 메타데이터 조회 한 번으로 끝납니다.
+     *
+     * 문자열 → 16바이트 변환만 지원합니다. 바이너리로 변환된 테이블을 text 설정으로 열려고 하면 실패합니다.
+     */
+    public void applyUuidStorage(Connection connection, UuidStorage storage, int chunkSize) throws SQLException {
+        boolean textColumn = isTextColumn(connection, "player_data", "uuid");
+        if (storage == UuidStorage.TEXT) {
+            if (!textColumn) {
+                throw new SQLException("player_data.uuid가 바이너리로 저장되어 있습니다. "
+                        + "database.uuid-storage를 \"binary\"로 설정하세요.");
+            }
+            return;
+        }
+        if (!textColumn) {
+            return;
+        }
+
+        logger.info("player_data.uuid를 16바이트 저장 방식으로 변환합니다...");
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            if (databaseType == DatabaseType.MYSQL) {
+                convertUuidToBinaryMySql(connection, Math.max(1, chunkSize));
+            } else {
+                convertUuidToBinarySqlite(connection);
+            }
+            logger.info("player_data.uuid 변환 완료");
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("player_data.uuid 변환 실패 (다음 시작 시 이어서 진행합니다): " + e.getMessage(), e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * MySQL 온라인 변환입니다. 테이블 전체를 잠그지 않도록 단계를 나눕니다.
+     * 1. uuid_bin 컬럼 추가 (INPLACE)
+     * 2. 기본키 범위 단위로 나눠서 채우기 (청크마다 커밋)
+     * 3. 기본키를 uuid_bin으로 교체 (INPLACE, LOCK=NONE - 재구성 중에도 DML 허용)
+     * 중간에 중단되어도 다음 시작 시 이어서 진행할 수 있습니다.
+     */
+    private void convertUuidToBinaryMySql(Connection connection, int chunkSize) throws SQLException {
+        if (!columnExists(connection, "player_data", "uuid_bin")) {
+            execute(connection, "ALTER TABLE player_data ADD COLUMN uuid_bin BINARY(16) NULL, ALGORITHM=INPLACE, LOCK=NONE");
+            connection.commit();
+        }
+
+        String lastKey = "";
+        long converted = 0;
+        try (PreparedStatement nextBoundary = connection.prepareStatement(
+                     "SELECT uuid FROM player_data WHERE uuid > ? ORDER BY uuid LIMIT 1 OFFSET ?");
+             PreparedStatement fill = connection.prepareStatement(
+                     "UPDATE player_data SET uuid_bin = UUID_TO_BIN(uuid) WHERE uuid > ? AND uuid <= ?")) {
+            while (true) {
+                nextBoundary.setString(1, lastKey);
+                nextBoundary.setInt(2, chunkSize - 1);
+                String boundary;
+                try (ResultSet rs = nextBoundary.executeQuery()) {
+                    boundary = rs.next() ? rs.getString(1) : null;
+                }
+                if (boundary == null) {
+                    break;
+                }
+
+                fill.setString(1, lastKey);
+                fill.setString(2, boundary);
+                converted += fill.executeUpdate();
+                connection.commit();
+                lastKey = boundary;
+            }
+        }
+
+        // 마지막 청크와 변환 중 새로 들어온 행을 처리합니다
+        execute(connection, "UPDATE player_data SET uuid_bin = UUID_TO_BIN(uuid) WHERE uuid_bin IS NULL");
+        connection.commit();
+
+        execute(connection, "ALTER TABLE player_data DROP PRIMARY KEY, DROP COLUMN uuid, "
+                + "CHANGE COLUMN uuid_bin uuid BINARY(16) NOT NULL, ADD PRIMARY KEY (uuid), "
+                + "ALGORITHM=INPLACE, LOCK=NONE");
+        connection.commit();
+        logger.info(String.format("MySQL uuid 변환: %d행 처리", converted));
+    }
+
+    /**
+     * SQLite는 컬럼 타입을 바꿀 수 없으므로 새 테이블로 복사한 뒤 교체합니다 (단일 트랜잭션).
+     * 현재 컬럼 정의와 인덱스를 그대로 읽어서 재구성하므로 이후 마이그레이션으로 추가된 컬럼도 유지됩니다.
+     */
+    private void convertUuidToBinarySqlite(Connection connection) throws SQLException {
+        List<String> columnDefinitions = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        List<String> selectExpressions = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA table_info(player_data)")) {
+            while (rs.next()) {
+                String name = rs.getString("name");
+                boolean isUuid = "uuid".equalsIgnoreCase(name);
+                StringBuilder definition = new StringBuilder(name).append(' ')
+                        .append(isUuid ? "BLOB" : rs.getString("type"));
+                if (rs.getInt("notnull") == 1) {
+                    definition.append(" NOT NULL");
+                }
+                if (rs.getString("dflt_value") != null) {
+                    definition.append(" DEFAULT ").append(rs.getString("dflt_value"));
+                }
+                if (rs.getInt("pk") > 0) {
+                    definition.append(" PRIMARY KEY");
+                }
+                columnDefinitions.add(definition.toString());
+                columns.add(name);
+                selectExpressions.add(isUuid ? "unhex(replace(uuid, '-', ''))" : name);
+            }
+        }
+
+        List<String> indexDefinitions = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT sql FROM sqlite_master "
+                     + "WHERE type = 'index' AND tbl_name = 'player_data' AND sql IS NOT NULL")) {
+            while (rs.next()) {
+                indexDefinitions.add(rs.getString(1));
+            }
+        }
+
+        execute(connection, "DROP TABLE IF EXISTS player_data_new");
+        execute(connection, "CREATE TABLE player_data_new (" + String.join(", ", columnDefinitions) + ")");
+        execute(connection, "INSERT INTO player_data_new (" + String.join(", ", columns) + ") "
+                + "SELECT " + String.join(", ", selectExpressions) + " FROM player_data");
+        execute(connection, "DROP TABLE player_data");
+        execute(connection, "ALTER TABLE player_data_new RENAME TO player_data");
+        for (String indexDefinition : indexDefinitions) {
+            execute(connection, indexDefinition);
+        }
+        connection.commit();
+    }
+
+    /**
+     * 가장 최신 마이그레이션 버전입니다.
+     */
+    public int latestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version();
+    }
+
+    // === V1 ===
+
+    private void createPlayerDataTable(Connection connection) throws SQLException {
+        // hbm2ddl로 이미 만들어진 테이블도 그대로 인정합니다 (IF NOT EXISTS)
+        if (databaseType == DatabaseType.MYSQL) {
+            execute(connection, """
+                    CREATE TABLE IF NOT EXISTS player_data (
+                        uuid VARCHAR(36) NOT NULL,
+                        player_name VARCHAR(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL,
+                        money DOUBLE NOT NULL,
+                        last_login DATETIME(6),
+                        play_time_minutes BIGINT NOT NULL,
+                        PRIMARY KEY (uuid)
+                    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci""");
+        } else {
+            execute(connection, """
+                    CREATE TABLE IF NOT EXISTS player_data (
+                        uuid VARCHAR(36) NOT NULL PRIMARY KEY,
+                        player_name VARCHAR(64) NOT NULL,
+                        money DOUBLE NOT NULL,
+                        last_login TIMESTAMP,
+                        play_time_minutes BIGINT NOT NULL
+                    )""");
+        }
+    }
+
+    // === V2 ===
+
+    private void createPlayerDataIndexes(Connection connection) throws SQLException {
+        // 기존 데이터에 대소문자만 다른 중복 닉네임이 있으면 유니크 인덱스를 만들 수 없으므로 먼저 정리합니다
+        releaseDuplicateNames(connection);
+
+        if (databaseType == DatabaseType.MYSQL) {
+            // hbm2ddl로 만들어진 테이블은 DB 기본 콜레이션을 따르므로 대소문자 무시 콜레이션으로 맞춥니다
+            execute(connection, "ALTER TABLE player_data MODIFY player_name "
+                    + "VARCHAR(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL");
+            createIndexIfMissing(connection, "idx_player_data_money",
+                    "CREATE INDEX idx_player_data_money ON player_data (money DESC)");
+            createIndexIfMissing(connection, "idx_player_data_last_login",
+                    "CREATE INDEX idx_player_data_last_login ON player_data (last_login)");
+            createIndexIfMissing(connection, "uk_player_data_name",
+                    "CREATE UNIQUE INDEX uk_player_data_name ON player_data (player_name)");
+        } else {
+            execute(connection, "CREATE INDEX IF NOT EXISTS idx_player_data_money ON player_data (money DESC)");
+            execute(connection, "CREATE INDEX IF NOT EXISTS idx_player_data_last_login ON player_data (last_login)");
+            execute(connection, "CREATE UNIQUE INDEX IF NOT EXISTS uk_player_data_name "
+                    + "ON player_data (player_name COLLATE NOCASE)");
+        }
+    }
+
+    // === V3 ===
+
+    /**
+     * 커서 페이지 조회(ORDER BY 정렬 컬럼, uuid)가 정렬 없이 인덱스를 이어 읽도록 합니다.
+     * InnoDB 보조 인덱스는 뒤에 기본키(uuid)가 붙어 있으므로 MySQL은 play_time 인덱스만 추가하고,
+     * SQLite는 rowid가 붙으므로 uuid를 명시한 인덱스로 교체합니다.
+     */
+    private void createPagingIndexes(Connection connection) throws SQLException {
+        if (databaseType == DatabaseType.MYSQL) {
+            createIndexIfMissing(connection, "idx_player_data_play_time",
+                    "CREATE INDEX idx_player_data_play_time ON player_data (play_time_minutes DESC)");
+        } else {
+            execute(connection, "CREATE INDEX IF NOT EXISTS idx_player_data_play_time "
+                    + "ON player_data (play_time_minutes DESC, uuid)");
+            execute(connection, "DROP INDEX IF EXISTS idx_player_data_money");
+            execute(connection, "CREATE INDEX idx_player_data_money ON player_data (money DESC, uuid)");
+            execute(connection, "DROP INDEX IF EXISTS idx_player_data_last_login");
+            execute(connection, "CREATE INDEX idx_player_data_last_login ON player_data (last_login, uuid)");
+        }
+    }
+
+    // === V4 ===
+
+    /**
+     * 플레이어가 사용한 닉네임 기록입니다. (uuid, 닉네임)마다 한 행이고, 다시 쓰면 changed_at만 갱신합니다.
+     * 닉네임 변경 시에만 기록되는 작은 보조 테이블이므로 uuid는 저장 방식과 관계없이 36자 문자열로 둡니다.
+     */
+    private void createNameHistoryTable(Connection connection) throws SQLException {
+        if (databaseType == DatabaseType.MYSQL) {
+            execute(connection, """
+                    CREATE TABLE IF NOT EXISTS player_name_history (
+                        uuid VARCHAR(36) NOT NULL,
+                        player_name VARCHAR(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci NOT NULL,
+                        changed_at DATETIME(6) NOT NULL,
+                        PRIMARY KEY (uuid, player_name),
+                        INDEX idx_player_name_history_name (player_name)
+                    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci""");
+        } else {
+            execute(connection, """
+                    CREATE TABLE IF NOT EXISTS player_name_history (
+                        uuid VARCHAR(36) NOT NULL,
+                        player_name VARCHAR(64) NOT NULL COLLATE NOCASE,
+                        changed_at TIMESTAMP NOT NULL,
+                        PRIMARY KEY (uuid, player_name)
+                    )""");
+            execute(connection, "CREATE INDEX IF NOT EXISTS idx_player_name_history_name "
+                    + "ON player_name_history (player_name)");
+        }
+    }
+
+    // === V5 ===
+
+    /**
+     * PlayerData의 @Version 컬럼입니다. 기존 행은 0에서 시작합니다.
+     * MySQL 8은 기본값이 있는 컬럼 추가를 메타데이터만 바꾸는 INSTANT로 처리하므로 테이블 크기와 관계없이 바로 끝납니다.
+     */
+    private void addVersionColumn(Connection connection) throws SQLException {
+        if (columnExists(connection, "player_data", "version")) {
+            return;
+        }
+        execute(connection, "ALTER TABLE player_data ADD COLUMN version BIGINT NOT NULL DEFAULT 0");
+    }
+
+    // === V6 ===
+
+    /**
+     * 소지금을 최소 단위(Money.SCALE)의 정수로 옮깁니다. 부동소수점 오차는 소수 둘째 자리에서 반올림해 없앱니다.
+     * MySQL DDL은 트랜잭션에 묶이지 않으므로 단계마다 상태를 확인해서, 중간에 중단되어도 다시 실행하면 이어서 끝납니다
+     * (money가 남아 있는 동안은 채우기를 다시 해도 같은 값).
+     */
+    private void convertMoneyToBalance(Connection connection) throws SQLException {
+        if (!columnExists(connection, "player_data", "balance")) {
+            execute(connection, "ALTER TABLE player_data ADD COLUMN balance BIGINT NOT NULL DEFAULT 0");
+        }
+        if (columnExists(connection, "player_data", "money")) {
+            execute(connection, "UPDATE player_data SET balance = ROUND(money * " + Money.SCALE + ")");
+            if (databaseType == DatabaseType.MYSQL) {
+                if (indexExists(connection, "player_data", "idx_player_data_money")) {
+                    execute(connection, "ALTER TABLE player_data DROP INDEX idx_player_data_money");
+                }
+            } else {
+                // SQLite는 인덱스에 포함된 컬럼을 지울 수 없습니다
+                execute(connection, "DROP INDEX IF EXISTS idx_player_data_money");
+            }
+            execute(connection, "ALTER TABLE player_data DROP COLUMN money");
+        }
+        if (databaseType == DatabaseType.MYSQL) {
+            createIndexIfMissing(connection, "idx_player_data_balance",
+                    "CREATE INDEX idx_player_data_balance ON player_data (balance DESC)");
+        } else {
+            execute(connection, "CREATE INDEX IF NOT EXISTS idx_player_data_balance ON player_data (balance DESC, uuid)");
+        }
+    }
+
+    // === V7 ===
+
+    /**
+     * 거래 저널(TransactionJournal)의 감사 기록 테이블과, 플레이어 행이 저널의 어디까지 반영했는지 나타내는 컬럼입니다.
+     * (journal_id, journal_seq)가 기본키라서 같은 기록을 여러 번 넣어도 한 행만 남습니다 (재생을 다시 해도 안전).
+     * uuid는 name_history와 같은 이유로 저장 방식과 관계없이 36자 문자열입니다.
+     */
+    private void createTransactionJournalTables(Connection connection) throws SQLException {
+        if (databaseType == DatabaseType.MYSQL) {
+            execute(connection, """
+                    CREATE TABLE IF NOT EXISTS money_transactions (
+                        journal_id BIGINT NOT NULL,
+                        journal_seq BIGINT NOT NULL,
+                        uuid VARCHAR(36) NOT NULL,
+                        amount BIGINT NOT NULL,
+                        balance_after BIGINT NOT NULL,
+                        reason VARCHAR(64) NOT NULL,
+                        created_at DATETIME(3) NOT NULL,
+                        PRIMARY KEY (journal_id, journal_seq),
+                        INDEX idx_money_transactions_player (uuid, created_at)
+                    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci""");
+        } else {
+            execute(connection, """
+                    CREATE TABLE IF NOT EXISTS money_transactions (
+                        journal_id BIGINT NOT NULL,
+                        journal_seq BIGINT NOT NULL,
+                        uuid VARCHAR(36) NOT NULL,
+                        amount BIGINT NOT NULL,
+                        balance_after BIGINT NOT NULL,
+                        reason VARCHAR(64) NOT NULL,
+                        created_at TIMESTAMP NOT NULL,
+                        PRIMARY KEY (journal_id, journal_seq)
+                    )""");
+            execute(connection, "CREATE INDEX IF NOT EXISTS idx_money_transactions_player "
+                    + "ON money_transactions (uuid, created_at)");
+        }
+        if (!columnExists(connection, "player_data", "journal_id")) {
+            execute(connection, "ALTER TABLE player_data ADD COLUMN journal_id BIGINT NULL");
+        }
+        if (!columnExists(connection, "player_data", "journal_seq")) {
+            execute(connection, "ALTER TABLE player_data ADD COLUMN journal_seq BIGINT NOT NULL DEFAULT 0");
+        }
+    }
+
+    /**
+     * 같은 닉네임(대소문자 무시)을 가진 행이 여러 개면 가장 최근에 접속한 행만 이름을 유지하고,
+     * 나머지는 실제 닉네임에 쓸 수 없는 문자로 시작하는 자리표시 이름으로 바꿉니다.
+     * 자리표시 이름은 다음 접속 시 실제 닉네임으로 다시 채워집니다.
+     */
+    private void releaseDuplicateNames(Connection connection) throws SQLException {
+        List<String> stale = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT uuid, player_name FROM player_data ORDER BY last_login DESC")) {
+            while (rs.next()) {
+                if (!seen.add(rs.getString(2).toLowerCase(Locale.ROOT))) {
+                    stale.add(rs.getString(1));
+                }
+            }
+        }
+
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE player_data SET player_name = ? WHERE uuid = ?")) {
+            for (String uuid : stale) {
+                update.setString(1, placeholderName(uuid));
+                update.setString(2, uuid);
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+        logger.warning(String.format("중복 닉네임 %d개를 자리표시 이름으로 변경했습니다 (다음 접속 시 복구됨)", stale.size()));
+    }
+
+    /**
+     * 닉네임을 다른 플레이어에게 넘겨준 행에 붙이는 자리표시 이름입니다.
+     * '~'는 마인크래프트 닉네임에 쓸 수 없으므로 실제 닉네임과 겹치지 않습니다.
+     */
+    public static String placeholderName(String uuid) {
+        return "~" + uuid.replace("-", "").substring(0, 15);
+    }
+
+    // === 내부 도우미 ===
+
+    private void ensureVersionTable(Connection connection) throws SQLException {
+        execute(connection, "CREATE TABLE IF NOT EXISTS " + VERSION_TABLE + " ("
+                + "version INT NOT NULL PRIMARY KEY, "
+                + "description VARCHAR(255) NOT NULL, "
+                + "applied_at TIMESTAMP NOT NULL)");
+        connection.commit();
+    }
+
+    private int currentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MAX(version) FROM " + VERSION_TABLE)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void recordVersion(Connection connection, Migration migration) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + VERSION_TABLE + " (version, description, applied_at) VALUES (?, ?, ?)")) {
+            statement.setInt(1, migration.version());
+            statement.setString(2, migration.description());
+            statement.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            statement.executeUpdate();
+        }
+    }
+
+    private boolean isTextColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+            if (!rs.next()) {
+                throw new SQLException(table + "." + column + " 컬럼을 찾을 수 없습니다");
+            }
+            String typeName = rs.getString("TYPE_NAME").toUpperCase(Locale.ROOT);
+            return typeName.contains("CHAR") || typeName.contains("TEXT");
+        }
+    }
+
+    private boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+            return rs.next();
+        }
+    }
+
+    private void createIndexIfMissing(Connection connection, String indexName, String ddl) throws SQLException {
+        if (!indexExists(connection, "player_data", indexName)) {
+            execute(connection, ddl);
+        }
+    }
+
+    private boolean indexExists(Connection connection, String table, String indexName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (indexName.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * 마이그레이션 한 단계에서 실행할 작업입니다.
+     */
+    @FunctionalInterface
+    interface MigrationStep {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    record Migration(int version, String description, MigrationStep step) {
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.louis5103.tiny_pg_hunterAPI.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate 2차 캐시와 쿼리 캐시를 Caffeine(JCache) 로컬 캐시로 구성합니다.
+ *
+ * - 영역(region)마다 최대 개수와 TTL을 config.yml의 cache.second-level 섹션에서 지정합니다
+ * - CacheManager를 직접 만들어 Hibernate에 넘기므로 클래스 이름 기반 프로바이더 탐색이 필요 없습니다
+ *   (shadowJar relocate 후에도 그대로 동작)
+ * - 캐시는 서버 로컬이므로 여러 서버가 같은 MySQL을 쓰면 다른 서버의 변경은 TTL이 지나야 보입니다
+ */
+public class SecondLevelCache {
+
+    /** PlayerData 엔티티 영역 */
+    public static final String PLAYER_REGION = "player-data";
+    /** 돈 순위 쿼리 결과 영역 */
+    public static final String TOP_MONEY_REGION = "player-data-top-money";
+    // Hibernate 기본 영역 이름 (쿼리 캐시 무효화용 테이블 갱신 시각)
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+    private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+
+    private final CacheManager cacheManager;
+
+    private SecondLevelCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * 설정에 따라 캐시를 만들고 Hibernate 속성을 채웁니다.
+     *
+     * @return 비활성화되어 있으면 null
+     */
+    public static SecondLevelCache configure(FileConfiguration config, Properties properties) {
+        if (!config.getBoolean("cache.second-level.enabled", true)) {
+            properties.setProperty("hibernate.cache.use_second_level_cache", "false");
+            properties.setProperty("hibernate.cache.use_query_cache", "false");
+            return null;
+        }
+
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(
+                provider.getDefaultURI(), SecondLevelCache.class.getClassLoader());
+
+        createRegion(cacheManager, PLAYER_REGION,
+                config.getLong("cache.second-level.entity-max-size", 10000L),
+                config.getLong("cache.second-level.entity-ttl-seconds", 600L));
+        createRegion(cacheManager, TOP_MONEY_REGION,
+                config.getLong("cache.second-level.query-max-size", 64L),
+                config.getLong("cache.second-level.query-ttl-seconds", 60L));
+        createRegion(cacheManager, DEFAULT_QUERY_REGION,
+                config.getLong("cache.second-level.query-max-size", 64L),
+                config.getLong("cache.second-level.query-ttl-seconds", 60L));
+        // 갱신 시각 영역은 만료되면 오래된 쿼리 결과를 최신으로 오인할 수 있으므로 TTL을 두지 않습니다
+        createRegion(cacheManager, TIMESTAMPS_REGION, 0L, 0L);
+
+        properties.setProperty("hibernate.cache.use_second_level_cache", "true");
+        properties.setProperty("hibernate.cache.use_query_cache", "true");
+        properties.setProperty("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.cache_manager", cacheManager);
+        properties.setProperty("hibernate.javax.cache.missing_cache_strategy", "create-warn");
+        // 영역별 적중/실패 통계 (cache hit/miss 조회용)
+        properties.setProperty("hibernate.generate_statistics", "true");
+        return new SecondLevelCache(cacheManager);
+    }
+
+    /**
+     * @param maxSize    최대 항목 수 (0 이하면 제한 없음)
+     * @param ttlSeconds 쓰기 후 만료 시간 (0 이하면 만료 없음)
+     */
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration);
+        }
+    }
+
+    public void close() {
+        if (!cacheManager.isClosed()) {
+            cacheManager.close();
+        }
+    }
+}
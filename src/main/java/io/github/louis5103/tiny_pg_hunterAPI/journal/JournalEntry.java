@@ -0,0 +1,17 @@
+package io.github.louis5103.tiny_pg_hunterAPI.journal;
+
+import java.util.UUID;
+
+/**
+ * 거래 저널의 기록 하나입니다 (잔액 변경 한 번).
+ *
+ * @param sequence        저널 안에서 유일하고 증가하는 번호 (1부터)
+ * @param timestampMillis 기록 시각
+ * @param player          잔액이 바뀐 플레이어
+ * @param amount          변경량 (최소 단위, 출금은 음수)
+ * @param balanceAfter    변경 직후 잔액 (감사용, 복구에는 amount만 사용)
+ * @param reason          변경 사유 (예: "deposit", "transfer:상대 UUID", 최대 64자)
+ */
+public record JournalEntry(long sequence, long timestampMillis, UUID player, long amount, long balanceAfter,
+                           String reason) {
+}
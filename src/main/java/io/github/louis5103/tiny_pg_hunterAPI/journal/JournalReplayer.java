@@ -0,0 +1,297 @@
+package io.github.louis5103.tiny_pg_hunterAPI.journal;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseType;
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.UuidStorage;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * 거래 저널을 DB에 옮기는 쪽입니다.
+ *
+ * - 주기적으로 파일에 쓰인 기록을 묶어서 money_transactions에 넣습니다 (쓰기 스레드에서 한 트랜잭션, JDBC 배치).
+ *   (journal_id, journal_seq)가 기본키라서 같은 기록을 다시 넣어도 무시되므로, 실패하면 다음 주기에 그대로 다시 시도합니다
+ * - 시작할 때(준비 완료 전) 남아 있던 기록을 넣고, 플레이어 행이 아직 반영하지 못한 변경을 잔액에 더합니다 (recover)
+ * - DB 반영이 끝났고 기록된 모든 플레이어의 행이 그 기록 이후로 저장된 세그먼트를 지웁니다
+ *
+ * 플레이어 행의 (journal_id, journal_seq)는 "이 저널의 몇 번까지 잔액에 들어 있는지"입니다.
+ * 다른 서버의 저널 식별자가 적힌 행은 그 서버가 마지막으로 저장한 것이므로, 이 서버의 기록을 더하면
+ * 두 번 더해질 수 있어서 복구하지 않고 로그만 남깁니다.
+ */
+public class JournalReplayer {
+
+    // 세그먼트 삭제 확인 주기 (플레이어 행 조회가 필요하므로 기록 반영보다 드물게)
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    // 플레이어 행 조회 시 IN 절 하나에 넣을 최대 UUID 수
+    private static final int LOOKUP_CHUNK = 500;
+
+    private final TransactionJournal journal;
+    private final DatabaseManager databaseManager;
+    private final Logger logger;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    // 반영에 실패해서 다음 주기에 다시 넣을 묶음 (running을 잡은 스레드만 사용)
+    private final List<TransactionJournal.WrittenBatch> retry = new ArrayList<>();
+    private long lastPruneNanos = System.nanoTime();
+    private BukkitTask task;
+
+    public JournalReplayer(TransactionJournal journal, DatabaseManager databaseManager, Logger logger, int batchSize) {
+        if (journal == null) {
+            throw new IllegalArgumentException("TransactionJournal은 null일 수 없습니다!");
+        }
+        if (databaseManager == null) {
+            throw new IllegalArgumentException("DatabaseManager는 null일 수 없습니다!");
+        }
+
+        this.journal = journal;
+        this.databaseManager = databaseManager;
+        this.logger = logger;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * 주기적인 반영을 시작합니다 (DB 준비 완료 후).
+     */
+    public void start(Plugin plugin, long intervalTicks) {
+        long interval = Math.max(1L, intervalTicks);
+        task = plugin.getServer().getScheduler()
+                .runTaskTimerAsynchronously(plugin, this::replayOnce, interval, interval);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * 쌓인 기록을 한 번 반영하고, 때가 되면 지워도 되는 세그먼트를 정리합니다. 비동기 스레드에서 호출해야 합니다.
+     * 반영하지 못한 기록은 세그먼트 파일에 남아 있으므로 다음 주기나 다음 시작 때 다시 반영됩니다.
+     */
+    public void replayOnce() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<TransactionJournal.WrittenBatch> batches = new ArrayList<>(retry);
+            retry.clear();
+            batches.addAll(journal.pollWritten(batchSize));
+            if (!batches.isEmpty()) {
+                List<JournalEntry> entries = new ArrayList<>();
+                batches.forEach(batch -> entries.addAll(batch.entries()));
+                try {
+                    databaseManager.executeWithConnectionOnWriter(connection -> {
+                        insertTransactions(connection, entries);
+                        return null;
+                    }).join();
+                    batches.forEach(journal::markReplayed);
+                } catch (RuntimeException e) {
+                    retry.addAll(batches);
+                    logger.warning(String.format("거래 기록 %d개를 DB에 반영하지 못했습니다 (다음 주기에 다시 시도): %s",
+                            entries.size(), e.getMessage()));
+                    return;
+                }
+            }
+            if (System.nanoTime() - lastPruneNanos >= PRUNE_INTERVAL_NANOS) {
+                lastPruneNanos = System.nanoTime();
+                pruneSegments();
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 시작 시 남아 있던 기록을 DB에 반영합니다. DatabaseManager의 시작 작업으로 등록해서,
+     * 플레이어 데이터를 읽기 전에 한 트랜잭션으로 실행해야 합니다.
+     *
+     * 1. 모든 기록을 money_transactions에 넣습니다 (이미 있으면 무시)
+     * 2. 플레이어마다 행의 journal_seq보다 뒤의 기록을 더해서 잔액과 저널 위치를 올립니다
+     *    (행을 읽은 뒤 다른 곳에서 바뀌지 않았을 때만, version도 올려서 다른 서버의 낙관적 잠금이 알아채도록)
+     */
+    public void recover(Connection connection, List<JournalEntry> entries) throws SQLException {
+        if (entries.isEmpty()) {
+            journal.markRecovered();
+            return;
+        }
+        insertTransactions(connection, entries);
+
+        Map<UUID, List<JournalEntry>> byPlayer = new LinkedHashMap<>();
+        for (JournalEntry entry : entries) {
+            byPlayer.computeIfAbsent(entry.player(), k -> new ArrayList<>()).add(entry);
+        }
+        Map<UUID, Position> rows = loadPositions(connection, new ArrayList<>(byPlayer.keySet()));
+
+        long journalId = journal.journalId();
+        UuidStorage storage = UuidStorage.active();
+        List<UUID> updated = new ArrayList<>();
+        int foreign = 0;
+        int missing = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE player_data SET balance = balance + ?, journal_id = ?, journal_seq = ?, version = version + 1 "
+                        + "WHERE uuid = ? AND journal_seq = ? AND (journal_id IS NULL OR journal_id = ?)")) {
+            for (Map.Entry<UUID, List<JournalEntry>> player : byPlayer.entrySet()) {
+                Position row = rows.get(player.getKey());
+                if (row == null) {
+                    missing++;
+                    continue;
+                }
+                if (row.journalId() != null && row.journalId() != journalId) {
+                    foreign++;
+                    logger.warning(String.format("플레이어 %s의 행은 다른 저널(%d)이 마지막으로 저장해서 이 서버의 기록을 복구하지 않습니다",
+                            player.getKey(), row.journalId()));
+                    continue;
+                }
+                long from = row.journalId() == null ? 0L : row.sequence();
+                long delta = 0L;
+                long last = from;
+                for (JournalEntry entry : player.getValue()) {
+                    if (entry.sequence() > from) {
+                        delta = Math.addExact(delta, entry.amount());
+                        last = Math.max(last, entry.sequence());
+                    }
+                }
+                if (last == from) {
+                    continue; // 이미 저장된 변경
+                }
+                statement.setLong(1, delta);
+                statement.setLong(2, journalId);
+                statement.setLong(3, last);
+                statement.setObject(4, storage.toJdbc(player.getKey().toString()));
+                statement.setLong(5, row.sequence());
+                statement.setLong(6, journalId);
+                statement.addBatch();
+                updated.add(player.getKey());
+            }
+            if (!updated.isEmpty()) {
+                int[] counts = statement.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        logger.warning(String.format("플레이어 %s의 잔액 복구를 적용하지 못했습니다 (행이 그 사이 바뀜)",
+                                updated.get(i)));
+                    }
+                }
+            }
+        }
+
+        if (missing > 0) {
+            logger.warning(String.format("거래 저널 복구: 행이 없는 플레이어 %d명의 기록은 감사 기록에만 남깁니다", missing));
+        }
+        logger.info(String.format("거래 저널 복구: 기록 %d개를 반영하고, 플레이어 %d명의 잔액에 저장되지 않았던 변경을 더했습니다%s",
+                entries.size(), updated.size(), foreign > 0 ? String.format(" (다른 저널 %d명 제외)", foreign) : ""));
+        journal.markRecovered();
+    }
+
+    private void insertTransactions(Connection connection, List<JournalEntry> entries) throws SQLException {
+        String sql = databaseManager.getDatabaseType() == DatabaseType.MYSQL
+                ? "INSERT INTO money_transactions (journal_id, journal_seq, uuid, amount, balance_after, reason, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE journal_seq = journal_seq"
+                : "INSERT INTO money_transactions (journal_id, journal_seq, uuid, amount, balance_after, reason, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT (journal_id, journal_seq) DO NOTHING";
+        long journalId = journal.journalId();
+        int batchLimit = databaseManager.getBatchSize();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int batched = 0;
+            for (JournalEntry entry : entries) {
+                statement.setLong(1, journalId);
+                statement.setLong(2, entry.sequence());
+                statement.setString(3, entry.player().toString());
+                statement.setLong(4, entry.amount());
+                statement.setLong(5, entry.balanceAfter());
+                statement.setString(6, entry.reason());
+                statement.setTimestamp(7, new Timestamp(entry.timestampMillis()));
+                statement.addBatch();
+                if (++batched == batchLimit) {
+                    statement.executeBatch();
+                    batched = 0;
+                }
+            }
+            if (batched > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * DB 반영이 끝난 세그먼트를 오래된 것부터 확인해서, 기록된 모든 플레이어의 행이 그 세그먼트의 마지막 기록 이후로
+     * 저장되었으면 지웁니다. 덮이지 않은 세그먼트를 만나면 멈춥니다 (다음 주기에 다시 확인).
+     */
+    private void pruneSegments() {
+        try {
+            for (TransactionJournal.Segment segment : journal.replayedSegments()) {
+                Map<UUID, Long> required = Map.copyOf(segment.lastSequenceByPlayer);
+                Map<UUID, Position> rows = databaseManager.executeReadOnly(
+                        connection -> loadPositions(connection, new ArrayList<>(required.keySet())));
+                if (!isCovered(required, rows)) {
+                    return;
+                }
+                journal.delete(segment);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warning("거래 저널 세그먼트 정리 실패: " + e.getMessage());
+        }
+    }
+
+    private boolean isCovered(Map<UUID, Long> required, Map<UUID, Position> rows) {
+        long journalId = journal.journalId();
+        for (Map.Entry<UUID, Long> player : required.entrySet()) {
+            Position row = rows.get(player.getKey());
+            // 행이 없거나 다른 서버가 마지막으로 저장한 행은 복구 대상이 아니므로 기다릴 필요가 없습니다
+            if (row == null || row.journalId() != null && row.journalId() != journalId) {
+                continue;
+            }
+            if (row.journalId() == null || row.sequence() < player.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<UUID, Position> loadPositions(Connection connection, List<UUID> players) throws SQLException {
+        Map<UUID, Position> result = new HashMap<>();
+        UuidStorage storage = UuidStorage.active();
+        for (int from = 0; from < players.size(); from += LOOKUP_CHUNK) {
+            List<UUID> chunk = players.subList(from, Math.min(players.size(), from + LOOKUP_CHUNK));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT uuid, journal_id, journal_seq FROM player_data WHERE uuid IN (" + placeholders + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    statement.setObject(i + 1, storage.toJdbc(chunk.get(i).toString()));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        long journalId = rs.getLong(2);
+                        Long id = rs.wasNull() ? null : journalId;
+                        result.put(UUID.fromString(storage.fromJdbc(rs.getObject(1))), new Position(id, rs.getLong(3)));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 플레이어 행에 기록된 저널 위치입니다.
+     */
+    private record Position(Long journalId, long sequence) {
+    }
+}
@@ -0,0 +1,654 @@
+package io.github.louis5103.tiny_pg_hunterAPI.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 잔액 변경을 DB보다 먼저 남기는 추가 전용(append-only) 거래 저널 파일입니다.
+ *
+ * 구조:
+ * - append는 기록 번호를 매기고 잠금 없는 큐에 넣기만 합니다 (파일 I/O 없음, 어느 스레드에서든 호출 가능)
+ * - 전용 스레드 하나가 큐에 쌓인 기록을 한 번의 write와 한 번의 fsync(FileChannel.force)로 씁니다 (group commit).
+ *   fsync하는 동안 들어온 기록은 다음 묶음이 되므로, 거래가 몰릴수록 fsync 한 번이 더 많은 기록을 덮습니다
+ * - 파일에 쓴 기록은 JournalReplayer가 money_transactions 테이블에 묶음으로 옮깁니다
+ * - 파일은 segment-(첫 번호).log 세그먼트로 나뉘고, 정해진 크기를 넘으면 다음 세그먼트로 넘어갑니다.
+ *   DB 반영과 플레이어 행 저장이 모두 끝난 세그먼트는 JournalReplayer가 지웁니다
+ *
+ * 기록 형식: [길이 int][CRC32C int][번호, 시각, UUID 상/하위, 변경량, 변경 후 잔액 (long 6개)][사유 길이 short][사유 UTF-8]
+ * 비정상 종료로 마지막 기록이 잘렸으면 (길이나 CRC가 맞지 않음) 다음 시작 때 그 지점부터 잘라냅니다.
+ *
+ * 메모리 맵(MappedByteBuffer) 대신 FileChannel에 씁니다. 매핑된 페이지도 force를 해야 디스크에 닿는 것은 같고,
+ * 매핑은 파일 크기를 미리 잡아 두어야 하며 해제 시점을 GC에 맡기므로 세그먼트를 자르거나 지우기 어렵기 때문입니다.
+ */
+public class TransactionJournal implements AutoCloseable {
+
+    // 사유 최대 길이 (money_transactions.reason 컬럼 크기)
+    public static final int MAX_REASON_LENGTH = 64;
+
+    private static final int MAGIC = 0x54504A31; // "TPJ1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int SEGMENT_HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int FIXED_PAYLOAD_BYTES = Long.BYTES * 6 + Short.BYTES;
+    private static final int MAX_PAYLOAD_BYTES = FIXED_PAYLOAD_BYTES + MAX_REASON_LENGTH * 3;
+    private static final String ID_FILE = "journal.id";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    // 기록이 없을 때 쓰기 스레드가 쉬는 최대 시간 (append가 깨우므로 지연과는 무관)
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000L;
+
+    private final Path directory;
+    private final Logger logger;
+    private final long segmentBytes;
+    private final int maxBatch;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentLinkedQueue<JournalEntry> pending = new ConcurrentLinkedQueue<>();
+    // 파일에 쓰고 fsync까지 끝나서 DB 반영을 기다리는 묶음
+    private final ConcurrentLinkedQueue<WrittenBatch> written = new ConcurrentLinkedQueue<>();
+    private final AtomicLong replayBacklog = new AtomicLong();
+    private final ConcurrentSkipListMap<Long, CompletableFuture<Void>> durableWaiters = new ConcurrentSkipListMap<>();
+    private final CopyOnWriteArrayList<Segment> segments = new CopyOnWriteArrayList<>();
+    private final List<Segment> recoveredSegments = new ArrayList<>();
+
+    private long journalId;
+    private Thread flusher;
+    private volatile boolean open;
+    private volatile boolean closing;
+    private volatile boolean idle;
+    private volatile IOException failure;
+    // 이 번호 이하의 기록은 모두 디스크에 있음
+    private volatile long durableSequence;
+
+    // 아래는 쓰기 스레드만 사용합니다
+    private Segment active;
+    private FileChannel activeChannel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final CRC32C crc = new CRC32C();
+    private final PriorityQueue<Long> outOfOrder = new PriorityQueue<>();
+    private long durableUpTo;
+
+    /**
+     * @param directory    세그먼트와 저널 식별자 파일을 둘 폴더
+     * @param segmentBytes 세그먼트 하나의 최대 크기 (넘으면 다음 세그먼트로)
+     * @param maxBatch     fsync 한 번에 묶을 최대 기록 수
+     */
+    public TransactionJournal(Path directory, Logger logger, long segmentBytes, int maxBatch) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Path는 null일 수 없습니다!");
+        }
+        if (logger == null) {
+            throw new IllegalArgumentException("Logger는 null일 수 없습니다!");
+        }
+
+        this.directory = directory;
+        this.logger = logger;
+        this.segmentBytes = Math.max(64 * 1024L, segmentBytes);
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    /**
+     * 남아 있는 세그먼트를 읽고 쓰기 스레드를 시작합니다.
+     *
+     * @return 남아 있던 기록 (번호 순, JournalReplayer.recover에 넘겨서 DB에 반영)
+     * @throws IOException 폴더를 만들 수 없거나, 마지막이 아닌 세그먼트가 손상된 경우
+     */
+    public synchronized List<JournalEntry> open() throws IOException {
+        if (flusher != null) {
+            throw new IllegalStateException("거래 저널이 이미 열려 있습니다");
+        }
+        Files.createDirectories(directory);
+        journalId = readOrCreateId();
+
+        List<Path> files = listSegments();
+        List<JournalEntry> recovered = new ArrayList<>();
+        long lastSequence = 0L;
+        long lastSegmentName = 0L;
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            long firstSequence = parseFirstSequence(file);
+            lastSequence = Math.max(lastSequence, firstSequence - 1);
+            lastSegmentName = Math.max(lastSegmentName, firstSequence);
+
+            Segment segment = new Segment(file, firstSequence);
+            int before = recovered.size();
+            readSegment(segment, recovered, i == files.size() - 1);
+            int count = recovered.size() - before;
+            if (count == 0) {
+                // 기록이 없는 세그먼트는 번호 외에 남길 것이 없습니다 (번호는 lastSequence에 반영됨)
+                Files.deleteIfExists(file);
+                continue;
+            }
+            segment.sealed = true;
+            segment.unreplayed.set(count);
+            segments.add(segment);
+            recoveredSegments.add(segment);
+        }
+        for (JournalEntry entry : recovered) {
+            lastSequence = Math.max(lastSequence, entry.sequence());
+        }
+        recovered.sort(Comparator.comparingLong(JournalEntry::sequence));
+
+        sequence.set(lastSequence);
+        durableUpTo = lastSequence;
+        durableSequence = lastSequence;
+        // 남겨 둔 세그먼트의 이름이 그 안의 기록 번호보다 클 수 있으므로 (rotate 참고) 이름끼리도 비교합니다
+        startSegment(Math.max(lastSequence, lastSegmentName) + 1);
+
+        open = true;
+        flusher = new Thread(this::runFlusher, "TinyPG-Journal");
+        flusher.setDaemon(true);
+        flusher.start();
+
+        if (!recovered.isEmpty()) {
+            logger.info(String.format("거래 저널: 세그먼트 %d개에서 기록 %d개를 읽었습니다 (마지막 번호 %d)",
+                    recoveredSegments.size(), recovered.size(), lastSequence));
+        }
+        return recovered;
+    }
+
+    /**
+     * 이 저널의 식별자입니다. 저널 폴더가 처음 만들어질 때 정해지며, 플레이어 행의 journal_id와 비교합니다.
+     */
+    public long journalId() {
+        return journalId;
+    }
+
+    /**
+     * 잔액 변경을 기록합니다. 디스크에 닿기를 기다리지 않고 바로 돌아옵니다 (기다리려면 whenDurable).
+     *
+     * @return 기록 번호
+     * @throws IllegalStateException 저널이 닫혔거나 파일 쓰기에 실패한 뒤인 경우
+     */
+    public long append(UUID player, long amount, long balanceAfter, String reason) {
+        if (reason == null || reason.isEmpty() || reason.length() > MAX_REASON_LENGTH) {
+            throw new IllegalArgumentException("사유는 1~" + MAX_REASON_LENGTH + "자여야 합니다: " + reason);
+        }
+        if (!open) {
+            throw new IllegalStateException(failure != null
+                    ? "거래 저널 쓰기에 실패해서 더 이상 기록할 수 없습니다: " + failure.getMessage()
+                    : "거래 저널이 열려 있지 않습니다");
+        }
+        long next = sequence.incrementAndGet();
+        pending.offer(new JournalEntry(next, System.currentTimeMillis(), player, amount, balanceAfter, reason));
+        if (idle) {
+            LockSupport.unpark(flusher);
+        }
+        return next;
+    }
+
+    /**
+     * 기록이 디스크에 닿으면(fsync) 완료되는 Future입니다. 파일 쓰기에 실패하면 예외로 완료됩니다.
+     */
+    public CompletableFuture<Void> whenDurable(long sequenceNumber) {
+        if (sequenceNumber <= durableSequence) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> waiter = durableWaiters.computeIfAbsent(sequenceNumber, k -> new CompletableFuture<>());
+        // 쓰기 스레드가 그 사이 완료 처리를 지나갔을 수 있으므로 다시 확인합니다
+        IOException error = failure;
+        if (error != null) {
+            waiter.completeExceptionally(error);
+        } else if (sequenceNumber <= durableSequence) {
+            durableWaiters.remove(sequenceNumber, waiter);
+            waiter.complete(null);
+        }
+        return waiter.copy();
+    }
+
+    /**
+     * 마지막으로 매긴 기록 번호입니다.
+     */
+    public long lastSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * 디스크에 닿은 연속 기록 번호입니다.
+     */
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * 파일에는 썼지만 아직 DB에 반영하지 않은 기록 수입니다.
+     */
+    public long replayBacklog() {
+        return replayBacklog.get();
+    }
+
+    /**
+     * 남아 있는 세그먼트 수입니다 (쓰는 중인 세그먼트 포함).
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * 큐에 남은 기록을 쓰고 파일을 닫습니다. 이후 append는 실패합니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (flusher == null) {
+            return;
+        }
+        open = false;
+        closing = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            logger.warning(String.format("거래 저널 쓰기가 %dms 안에 끝나지 않았습니다 (남은 기록 %d개)",
+                    CLOSE_TIMEOUT_MILLIS, pending.size()));
+            return;
+        }
+        // 열림 상태를 확인한 직후에 닫혀서 쓰기 스레드가 끝난 뒤 큐에 들어온 기록
+        if (failure == null && !pending.isEmpty()) {
+            List<JournalEntry> late = new ArrayList<>();
+            JournalEntry entry;
+            while ((entry = pending.poll()) != null) {
+                late.add(entry);
+            }
+            try {
+                flush(late);
+            } catch (IOException e) {
+                logger.severe("거래 저널 마지막 기록 쓰기 실패: " + e.getMessage());
+            }
+        }
+        closeActiveChannel();
+        flusher = null;
+    }
+
+    // === JournalReplayer용 ===
+
+    /**
+     * DB 반영을 기다리는 묶음을 최대 maxEntries개 기록까지 꺼냅니다 (최소 한 묶음).
+     */
+    List<WrittenBatch> pollWritten(int maxEntries) {
+        List<WrittenBatch> result = new ArrayList<>();
+        int entries = 0;
+        WrittenBatch batch;
+        while (entries < maxEntries && (batch = written.poll()) != null) {
+            result.add(batch);
+            entries += batch.entries().size();
+        }
+        return result;
+    }
+
+    /**
+     * 묶음이 DB에 반영되었음을 기록합니다.
+     */
+    void markReplayed(WrittenBatch batch) {
+        batch.segment().unreplayed.addAndGet(-batch.entries().size());
+        replayBacklog.addAndGet(-batch.entries().size());
+    }
+
+    /**
+     * 시작 시 읽은 기록이 모두 DB에 반영되었음을 기록합니다 (JournalReplayer.recover가 끝난 뒤).
+     */
+    void markRecovered() {
+        for (Segment segment : recoveredSegments) {
+            segment.unreplayed.set(0);
+        }
+        recoveredSegments.clear();
+    }
+
+    /**
+     * 다 쓰고 DB 반영까지 끝난 세그먼트를 오래된 순서로 돌려줍니다. 지워도 되는지는 플레이어 행을 확인해야 합니다.
+     */
+    List<Segment> replayedSegments() {
+        List<Segment> result = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.sealed && segment.unreplayed.get() == 0) {
+                result.add(segment);
+            }
+        }
+        return result;
+    }
+
+    void delete(Segment segment) throws IOException {
+        segments.remove(segment);
+        Files.deleteIfExists(segment.path);
+    }
+
+    // === 쓰기 스레드 ===
+
+    private void runFlusher() {
+        List<JournalEntry> batch = new ArrayList<>(Math.min(maxBatch, 4096));
+        while (true) {
+            JournalEntry entry = pending.poll();
+            if (entry == null) {
+                if (closing) {
+                    return;
+                }
+                // idle을 먼저 세운 뒤 큐를 다시 확인해야 append가 깨우는 신호를 놓치지 않습니다
+                idle = true;
+                if (pending.isEmpty() && !closing) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            batch.add(entry);
+            while (batch.size() < maxBatch && (entry = pending.poll()) != null) {
+                batch.add(entry);
+            }
+            try {
+                flush(batch);
+            } catch (IOException | RuntimeException e) {
+                fail(e instanceof IOException io ? io : new IOException(e), batch.size());
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * 묶음을 현재 세그먼트에 쓰고 fsync한 뒤, DB 반영 대기열에 넘기고 기다리는 쪽을 깨웁니다.
+     */
+    private void flush(List<JournalEntry> batch) throws IOException {
+        batch.sort(Comparator.comparingLong(JournalEntry::sequence));
+        buffer.clear();
+        long bytes = 0L;
+        for (JournalEntry entry : batch) {
+            byte[] reason = entry.reason().getBytes(StandardCharsets.UTF_8);
+            int length = FIXED_PAYLOAD_BYTES + reason.length;
+            if (buffer.remaining() < RECORD_HEADER_BYTES + length) {
+                bytes += drainBuffer();
+            }
+            int start = buffer.position();
+            buffer.putInt(length).putInt(0);
+            int payloadStart = buffer.position();
+            buffer.putLong(entry.sequence())
+                    .putLong(entry.timestampMillis())
+                    .putLong(entry.player().getMostSignificantBits())
+                    .putLong(entry.player().getLeastSignificantBits())
+                    .putLong(entry.amount())
+                    .putLong(entry.balanceAfter())
+                    .putShort((short) reason.length)
+                    .put(reason);
+            crc.reset();
+            crc.update(buffer.slice(payloadStart, length));
+            buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+            active.record(entry);
+        }
+        bytes += drainBuffer();
+        activeChannel.force(false);
+        active.size += bytes;
+
+        active.unreplayed.addAndGet(batch.size());
+        replayBacklog.addAndGet(batch.size());
+        written.add(new WrittenBatch(active, List.copyOf(batch)));
+        advanceDurable(batch);
+
+        if (active.size >= segmentBytes) {
+            rotate();
+        }
+    }
+
+    private long drainBuffer() throws IOException {
+        buffer.flip();
+        long bytes = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            activeChannel.write(buffer);
+        }
+        buffer.clear();
+        return bytes;
+    }
+
+    /**
+     * 번호는 append에서 매기고 큐에는 그 뒤에 들어가므로 묶음의 번호가 앞 묶음보다 작을 수 있습니다.
+     * 빠진 번호 없이 이어진 지점까지만 디스크에 닿은 것으로 공개합니다.
+     */
+    private void advanceDurable(List<JournalEntry> sortedBatch) {
+        for (JournalEntry entry : sortedBatch) {
+            if (entry.sequence() == durableUpTo + 1) {
+                durableUpTo++;
+                while (!outOfOrder.isEmpty() && outOfOrder.peek() == durableUpTo + 1) {
+                    durableUpTo = outOfOrder.poll();
+                }
+            } else {
+                outOfOrder.add(entry.sequence());
+            }
+        }
+        durableSequence = durableUpTo;
+        Map<Long, CompletableFuture<Void>> done = durableWaiters.headMap(durableUpTo, true);
+        if (!done.isEmpty()) {
+            done.values().forEach(waiter -> waiter.complete(null));
+            done.clear();
+        }
+    }
+
+    private void rotate() throws IOException {
+        active.sealed = true;
+        closeActiveChannel();
+        // 이미 번호를 받고 아직 큐에 있는 기록보다 큰 번호로 이름을 지어야 다음 시작 때 번호가 겹치지 않습니다
+        // (큐에 남은 기록만으로 다시 넘칠 수도 있으므로 앞 세그먼트 이름보다도 커야 함, 번호가 비는 것은 괜찮음)
+        startSegment(Math.max(sequence.get(), active.firstSequence) + 1);
+    }
+
+    private void fail(IOException error, int lost) {
+        failure = error;
+        open = false;
+        logger.severe(String.format("거래 저널 쓰기 실패 - 이후 잔액 변경은 거부됩니다 (기록하지 못한 변경 %d개): %s",
+                lost + pending.size(), error.getMessage()));
+        durableWaiters.values().forEach(waiter -> waiter.completeExceptionally(error));
+        durableWaiters.clear();
+    }
+
+    private void startSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(journalId)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        Segment segment = new Segment(path, firstSequence);
+        segment.size = SEGMENT_HEADER_BYTES;
+        active = segment;
+        activeChannel = channel;
+        segments.add(segment);
+    }
+
+    private void closeActiveChannel() {
+        if (activeChannel == null) {
+            return;
+        }
+        try {
+            activeChannel.close();
+        } catch (IOException e) {
+            logger.warning("거래 저널 세그먼트 닫기 실패: " + e.getMessage());
+        }
+        activeChannel = null;
+    }
+
+    // === 시작 시 읽기 ===
+
+    private long readOrCreateId() throws IOException {
+        Path file = directory.resolve(ID_FILE);
+        if (Files.exists(file)) {
+            try {
+                return Long.parseLong(Files.readString(file).trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("거래 저널 식별자 파일이 손상되었습니다: " + file, e);
+            }
+        }
+        // 0은 쓰지 않습니다 (플레이어 행의 "저널 없음"과 구분)
+        long id;
+        do {
+            id = new SecureRandom().nextLong() & Long.MAX_VALUE;
+        } while (id == 0L);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(Long.toString(id).getBytes(StandardCharsets.US_ASCII)));
+            channel.force(true);
+        }
+        logger.info(String.format("새 거래 저널을 만들었습니다 (식별자 %d)", id));
+        return id;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            // 이름의 번호가 0으로 채운 고정 자릿수라 이름순이 번호순입니다
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long parseFirstSequence(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException("거래 저널 세그먼트 이름이 잘못되었습니다: " + name, e);
+        }
+    }
+
+    /**
+     * 세그먼트의 기록을 읽습니다. 마지막 세그먼트의 잘린 끝은 잘라내고, 다른 세그먼트가 손상되었으면 실패합니다.
+     */
+    private void readSegment(Segment segment, List<JournalEntry> out, boolean last) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("거래 저널 세그먼트가 너무 큽니다: " + segment.path);
+            }
+            ByteBuffer data = ByteBuffer.allocate((int) size);
+            while (data.hasRemaining() && channel.read(data) >= 0) {
+                // 끝까지 읽기
+            }
+            data.flip();
+
+            if (data.remaining() < SEGMENT_HEADER_BYTES) {
+                if (!last) {
+                    throw new IOException("거래 저널 세그먼트 머리글이 손상되었습니다: " + segment.path);
+                }
+                // 만들자마자 멈춘 세그먼트: 기록이 없으므로 비워 두면 open이 지웁니다
+                return;
+            }
+            int magic = data.getInt();
+            int version = data.getInt();
+            long id = data.getLong();
+            if (magic != MAGIC || version != FORMAT_VERSION) {
+                throw new IOException("거래 저널 세그먼트 형식이 아닙니다: " + segment.path);
+            }
+            if (id != journalId) {
+                throw new IOException(String.format("%s는 다른 저널(%d)의 세그먼트입니다 (현재 %d)",
+                        segment.path, id, journalId));
+            }
+
+            long validEnd = data.position();
+            while (data.remaining() >= RECORD_HEADER_BYTES) {
+                int length = data.getInt();
+                int expectedCrc = data.getInt();
+                if (length < FIXED_PAYLOAD_BYTES || length > MAX_PAYLOAD_BYTES || length > data.remaining()) {
+                    break;
+                }
+                crc.reset();
+                crc.update(data.slice(data.position(), length));
+                if ((int) crc.getValue() != expectedCrc) {
+                    break;
+                }
+                long sequenceNumber = data.getLong();
+                long timestamp = data.getLong();
+                UUID player = new UUID(data.getLong(), data.getLong());
+                long amount = data.getLong();
+                long balanceAfter = data.getLong();
+                int reasonLength = data.getShort();
+                if (reasonLength != length - FIXED_PAYLOAD_BYTES) {
+                    break;
+                }
+                byte[] reason = new byte[reasonLength];
+                data.get(reason);
+
+                JournalEntry entry = new JournalEntry(sequenceNumber, timestamp, player, amount, balanceAfter,
+                        new String(reason, StandardCharsets.UTF_8));
+                segment.record(entry);
+                out.add(entry);
+                validEnd = data.position();
+            }
+
+            if (validEnd < size) {
+                if (!last) {
+                    throw new IOException(String.format("거래 저널 세그먼트 %s가 %d바이트 위치에서 손상되었습니다",
+                            segment.path, validEnd));
+                }
+                logger.warning(String.format("거래 저널 %s의 마지막 %d바이트가 완전히 기록되지 않아 잘라냅니다 (비정상 종료)",
+                        segment.path.getFileName(), size - validEnd));
+                channel.truncate(validEnd);
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * 세그먼트 파일 하나의 상태입니다.
+     */
+    static final class Segment {
+        final Path path;
+        final long firstSequence;
+        // 파일에는 있지만 아직 DB에 반영하지 않은 기록 수
+        final AtomicLong unreplayed = new AtomicLong();
+        // 플레이어마다 이 세그먼트에서 가장 큰 기록 번호 (지워도 되는지 확인할 때 사용)
+        final Map<UUID, Long> lastSequenceByPlayer = new ConcurrentHashMap<>();
+        // 더 이상 쓰지 않는 세그먼트
+        volatile boolean sealed;
+        // 쓰기 스레드만 사용
+        long size;
+
+        Segment(Path path, long firstSequence) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+        }
+
+        void record(JournalEntry entry) {
+            lastSequenceByPlayer.merge(entry.player(), entry.sequence(), Math::max);
+        }
+    }
+
+    /**
+     * fsync까지 끝난 한 묶음입니다.
+     */
+    record WrittenBatch(Segment segment, List<JournalEntry> entries) {
+    }
+}
@@ -1,12 +1,22 @@
 package io.github.louis5103.tiny_pg_hunterAPI.listener;
 
 import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
-import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerDataRepository;
+import io.github.louis5103.tiny_pg_hunterAPI.service.BroadcastService;
 import io.github.louis5103.tiny_pg_hunterAPI.service.MessageService;
+import io.github.louis5103.tiny_pg_hunterAPI.service.NameIndex;
+import io.github.louis5103.tiny_pg_hunterAPI.service.PlayerDataLoader;
+import io.github.louis5103.tiny_pg_hunterAPI.service.PlayerSessionCache;
+import io.github.louis5103.tiny_pg_hunterAPI.service.PlaytimeTracker;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.UUID;
 
 /**
  * 플레이어 접속 이벤트를 처리하는 리스너 클래스입니다.
@@ -31,15 +41,20 @@ import org.bukkit.event.player.PlayerJoinEvent;
 public class PlayerJoinListener implements Listener {
     
     /**
-     * 플레이어 데이터 관리를 위한 레포지토리입니다.
+     * 플레이어 데이터를 접속 전에 미리 불러오고, 접속 시 갱신을 백그라운드로 넘기는 로더입니다.
      * 
-     * 레포지토리 패턴의 역할:
-     * - 데이터 접근 로직을 캡슐화합니다
-     * - 비즈니스 로직과 데이터 접근 로직을 분리합니다
-     * - 데이터베이스 종류가 바뀌어도 비즈니스 로직은 영향받지 않습니다
-     * - 테스트할 때 Mock 레포지토리로 쉽게 대체할 수 있습니다
+     * 메인 스레드에서 JDBC를 호출하지 않기 위한 구조:
+     * - AsyncPlayerPreLoginEvent(비동기)에서 데이터를 불러와 스테이징해 둡니다
+     * - PlayerJoinEvent(메인 스레드)에서는 스테이징된 데이터만 꺼내 씁니다
+     * - 닉네임과 마지막 로그인 시간 갱신은 쓰기 스레드가 저장합니다
+     */
+    private final PlayerDataLoader playerDataLoader;
+    
+    /**
+     * 접속 중인 플레이어의 데이터를 보관하는 쓰기 지연 캐시입니다.
+     * 접속 시 등록하고, 퇴장 시 변경 사항을 저장한 뒤 제거합니다.
      */
-    private final PlayerDataRepository playerRepository;
+    private final PlayerSessionCache sessionCache;
     
     /**
      * 메시지 생성을 담당하는 서비스입니다.
@@ -51,29 +66,118 @@ public class PlayerJoinListener implements Listener {
      */
     private final MessageService messageService;
     
+    /**
+     * 접속/퇴장 메시지를 한 번만 만들어 모든 플레이어에게 보내는 방송 서비스입니다.
+     * 접속이 몰리면 메시지를 묶어서 보냅니다.
+     */
+    private final BroadcastService broadcastService;
+    
+    /**
+     * 접속 시각을 기록하고 플레이 시간을 메모리에서 누적하는 추적기입니다.
+     */
+    private final PlaytimeTracker playtimeTracker;
+    
+    /**
+     * 닉네임 → UUID 색인입니다. 접속 시 바뀐 닉네임을 바로 반영합니다.
+     */
+    private final NameIndex nameIndex;
+    
     /**
      * PlayerJoinListener의 생성자입니다.
      * 
      * 생성자 기반 의존성 주입의 활용:
      * - 이 리스너가 제대로 작동하기 위해 필요한 모든 의존성을 명시적으로 받습니다
-     * - playerRepository: 플레이어 데이터를 저장하고 조회하기 위해 필요
+     * - playerDataLoader: 플레이어 데이터를 비동기로 불러오고 저장하기 위해 필요
+     * - sessionCache: 접속 중인 플레이어 데이터를 메모리에 보관하기 위해 필요
      * - messageService: 접속 메시지를 생성하기 위해 필요
+     * - broadcastService: 접속/퇴장 메시지를 방송하기 위해 필요
+     * - playtimeTracker: 접속 시간을 플레이 시간으로 누적하기 위해 필요
+     * - nameIndex: 닉네임 색인을 접속과 동기화하기 위해 필요
      * - 생성 시점에 의존성이 모두 준비되므로 안전성이 보장됩니다
      * 
-     * @param playerRepository 플레이어 데이터 접근을 담당하는 레포지토리
+     * @param playerDataLoader 플레이어 데이터 사전 로딩을 담당하는 로더
+     * @param sessionCache 접속 중인 플레이어 데이터 캐시
      * @param messageService 메시지 생성을 담당하는 서비스
+     * @param broadcastService 접속/퇴장 메시지 방송 서비스
+     * @param playtimeTracker 플레이 시간 추적기
+     * @param nameIndex 닉네임 → UUID 색인
      */
-    public PlayerJoinListener(PlayerDataRepository playerRepository, MessageService messageService) {
+    public PlayerJoinListener(PlayerDataLoader playerDataLoader, PlayerSessionCache sessionCache,
+                              MessageService messageService, BroadcastService broadcastService,
+                              PlaytimeTracker playtimeTracker, NameIndex nameIndex) {
         // 방어적 프로그래밍: null 체크를 통해 잘못된 상태의 객체 생성을 방지
-        if (playerRepository == null) {
-            throw new IllegalArgumentException("PlayerDataRepository는 null일 수 없습니다!");
+        if (playerDataLoader == null) {
+            throw new IllegalArgumentException("PlayerDataLoader는 null일 수 없습니다!");
+        }
+        if (sessionCache == null) {
+            throw new IllegalArgumentException("PlayerSessionCache는 null일 수 없습니다!");
         }
         if (messageService == null) {
             throw new IllegalArgumentException("MessageService는 null일 수 없습니다!");
         }
+        if (broadcastService == null) {
+            throw new IllegalArgumentException("BroadcastService는 null일 수 없습니다!");
+        }
+        if (playtimeTracker == null) {
+            throw new IllegalArgumentException("PlaytimeTracker는 null일 수 없습니다!");
+        }
+        if (nameIndex == null) {
+            throw new IllegalArgumentException("NameIndex는 null일 수 없습니다!");
+        }
         
-        this.playerRepository = playerRepository;
+        this.playerDataLoader = playerDataLoader;
+        this.sessionCache = sessionCache;
         this.messageService = messageService;
+        this.broadcastService = broadcastService;
+        this.playtimeTracker = playtimeTracker;
+        this.nameIndex = nameIndex;
+    }
+
+    /**
+     * 데이터베이스 초기화가 끝나지 않았으면 접속을 거부합니다.
+     * 
+     * 초기화는 서버 시작과 동시에 백그라운드에서 진행되므로 대부분 이미 끝나 있습니다.
+     * 끝나지 않았으면 잠시 기다려 보고, 그래도 안 되면 데이터 없이 입장하지 않도록 거부합니다.
+     * 다른 플러그인이 결과를 보고 판단할 수 있도록 가장 먼저(LOWEST) 실행합니다.
+     * 
+     * @param event 비동기 접속 전 이벤트 객체
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onAsyncPreLoginGate(AsyncPlayerPreLoginEvent event) {
+        if (!playerDataLoader.awaitDatabase()) {
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER,
+                    messageService.getMessage("starting-up"));
+        }
+    }
+
+    /**
+     * 플레이어가 서버에 접속하기 전, 비동기 로그인 스레드에서 호출되는 이벤트 핸들러입니다.
+     * 
+     * 이 단계는 메인 스레드가 아니므로 데이터베이스 조회를 기다려도 서버 틱이 멈추지 않습니다.
+     * MONITOR 우선순위를 사용해서 다른 플러그인이 접속을 허용한 최종 결과만 보고 데이터를 불러옵니다.
+     * 
+     * @param event 비동기 접속 전 이벤트 객체
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        
+        // 로딩에 실패해도 접속은 막지 않습니다 (접속 이벤트에서 대체 경로로 처리)
+        playerDataLoader.preload(event.getUniqueId(), event.getName());
+    }
+    
+    /**
+     * 접속 전 단계를 통과했지만 로그인이 최종 거부된 경우 스테이징 데이터를 정리합니다.
+     * 
+     * @param event 플레이어 로그인 이벤트 객체
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            playerDataLoader.discard(event.getPlayer().getUniqueId());
+        }
     }
 
     /**
@@ -84,9 +188,9 @@ public class PlayerJoinListener implements Listener {
      * - 메서드 파라미터의 타입을 보고 어떤 이벤트를 처리할지 자동으로 판단합니다
      * - PlayerJoinEvent 타입이므로 플레이어 접속 이벤트를 처리합니다
      * 
-     * 이벤트 처리 시 수행하는 작업들:
-     * 1. 플레이어 데이터 조회 또는 생성
-     * 2. 마지막 로그인 시간 업데이트
+     * 이벤트 처리 시 수행하는 작업들 (메인 스레드, JDBC 호출 없음):
+     * 1. 스테이징된 플레이어 데이터 꺼내기
+     * 2. 마지막 로그인 시간 업데이트 후 백그라운드 저장 요청
      * 3. 접속 메시지 설정
      * 4. 필요시 추가 초기화 작업
      * 
@@ -96,18 +200,32 @@ public class PlayerJoinListener implements Listener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         // 이벤트에서 접속한 플레이어 객체를 가져옵니다
         Player player = event.getPlayer();
-        String playerUUID = player.getUniqueId().toString();
+        UUID playerUUID = player.getUniqueId();
         String playerName = player.getName();
         
+        // 데이터 로딩 결과와 관계없이 접속 시각부터 플레이 시간을 셉니다
+        playtimeTracker.startSession(playerUUID);
+        
         try {
             // === 1단계: 플레이어 데이터 처리 ===
-            // 데이터베이스에서 플레이어 정보를 조회합니다
-            PlayerData playerData = playerRepository.findByUuid(playerUUID);
+            // 접속 전 단계에서 불러온 데이터를 꺼냅니다 (데이터베이스 조회 없음)
+            PlayerDataLoader.StagedPlayer staged = playerDataLoader.consume(playerUUID);
+            PlayerData playerData = null;
             
-            if (playerData == null) {
-                // 첫 접속 플레이어: 새로운 데이터 생성
-                playerData = new PlayerData(playerUUID, playerName);
-                playerRepository.save(playerData);
+            if (staged == null) {
+                // 사전 로딩 실패: 조회와 갱신을 모두 백그라운드에서 처리한 뒤 메인 스레드에서 캐시에 등록합니다
+                // 그 사이 퇴장했다면 invalidate가 이미 지나갔으므로 등록하지 않습니다 (다시 넣으면 제거되지 않음)
+                nameIndex.update(playerUUID, null, playerName);
+                playerDataLoader.touchInBackground(playerUUID, playerName).thenAccept(loaded -> {
+                    if (loaded != null && player.isOnline()) {
+                        sessionCache.put(playerUUID, loaded);
+                    }
+                });
+            } else if (staged.isNew()) {
+                // 첫 접속 플레이어: 새로운 데이터를 백그라운드에서 저장
+                playerData = staged.playerData();
+                playerDataLoader.saveInBackground(playerData, true);
+                nameIndex.update(playerUUID, null, playerName);
                 
                 // 로그에 첫 접속 기록
                 player.getServer().getLogger().info(
@@ -115,9 +233,12 @@ public class PlayerJoinListener implements Listener {
                 );
             } else {
                 // 기존 플레이어: 마지막 로그인 시간 업데이트
+                playerData = staged.playerData();
+                boolean nameChanged = !playerName.equals(playerData.getPlayerName());
+                nameIndex.update(playerUUID, playerData.getPlayerName(), playerName);
                 playerData.setPlayerName(playerName); // 닉네임이 변경되었을 수도 있으므로 업데이트
                 playerData.updateLastLogin();
-                playerRepository.save(playerData);
+                playerDataLoader.saveInBackground(playerData, nameChanged);
                 
                 // 로그에 재접속 기록
                 player.getServer().getLogger().info(
@@ -126,61 +247,61 @@ public class PlayerJoinListener implements Listener {
                 );
             }
             
-            // === 2단계: 접속 메시지 설정 ===
-            // MessageService를 사용해서 일관된 형태의 접속 메시지를 생성합니다
-            String joinMessage = messageService.getJoinMessage(player);
+            // 접속 중에는 캐시된 데이터로 작업하고, 저장은 캐시의 주기 저장에 맡깁니다
+            if (playerData != null) {
+                sessionCache.put(playerUUID, playerData);
+            }
             
-            // 기본 접속 메시지를 우리가 만든 메시지로 교체합니다
-            // setJoinMessage(null)로 설정하면 접속 메시지가 표시되지 않습니다
-            event.setJoinMessage(joinMessage);
+            // === 2단계: 접속 메시지 방송 ===
+            // 기본 접속 메시지를 끄고 방송 서비스가 한 번만 만든 메시지를 보냅니다 (몰리면 묶어서)
+            broadcastService.announceJoin(event);
             
             // === 3단계: 추가 환영 작업 (선택사항) ===
             // 여기서 추가적인 환영 작업들을 수행할 수 있습니다:
             
             // 첫 접속 플레이어에게 환영 메시지 전송
-            if (playerData.getPlayTimeMinutes() == 0) {
-                player.sendMessage(messageService.getSuccessMessage("처음 오신 것을 환영합니다!"));
-                player.sendMessage(messageService.getCommandMessage("/hello 명령어로 플러그인을 테스트해보세요!"));
+            if (playerData != null && playerData.getPlayTimeMinutes() == 0) {
+                player.sendMessage(messageService.getMessage("first-join"));
+                player.sendMessage(messageService.getMessage("first-join-hint"));
             }
             
             // 특정 조건에 따른 추가 메시지 (예: VIP 플레이어, 관리자 등)
             if (player.hasPermission("tinypg.vip")) {
-                player.sendMessage(messageService.getSuccessMessage("VIP 플레이어로 접속하셨습니다!"));
+                player.sendMessage(messageService.getMessage("vip-join"));
             }
             
         } catch (Exception e) {
-            // 데이터베이스 오류 등이 발생해도 플레이어 접속은 막지 않습니다
+            // 오류가 발생해도 플레이어 접속은 막지 않습니다
             // 대신 로그에 오류를 기록하고 기본 메시지를 표시합니다
             player.getServer().getLogger().warning(
                 String.format("플레이어 접속 처리 중 오류 발생 (%s): %s", playerName, e.getMessage())
             );
             
             // 오류가 발생해도 기본적인 환영 메시지는 표시합니다
-            String fallbackMessage = messageService.getJoinMessage(player);
-            event.setJoinMessage(fallbackMessage);
+            broadcastService.announceJoin(event);
             
             // 선택사항: 관리자에게 오류 알림
             if (player.hasPermission("tinypg.admin")) {
-                player.sendMessage(messageService.getErrorMessage("데이터베이스 연결에 문제가 발생했습니다."));
+                player.sendMessage(messageService.getMessage("database-error"));
             }
         }
     }
     
     /**
-     * 향후 확장을 위한 예시: 플레이어 퇴장 이벤트 처리
+     * 플레이어가 서버에서 나갈 때 호출되는 이벤트 핸들러입니다.
+     * 
+     * 세션 캐시에서 플레이어를 제거하고, 마지막 저장 이후 변경된 내용이 있으면
+     * 백그라운드 쓰기 스레드에서 저장합니다. 메인 스레드는 저장을 기다리지 않습니다.
      * 
-     * 추가 이벤트 핸들러 구현 예시입니다.
-     * 실제로 사용하려면 주석을 해제하고 PlayerQuitEvent를 import해야 합니다.
+     * @param event 플레이어 퇴장 이벤트 객체
      */
-    /*
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
-        String quitMessage = messageService.getQuitMessage(player);
-        event.setQuitMessage(quitMessage);
+        // 남은 플레이 시간을 먼저 반영해야 퇴장 저장에 함께 포함됩니다
+        playtimeTracker.endSession(player.getUniqueId());
+        sessionCache.invalidate(player.getUniqueId());
         
-        // 플레이어의 세션 플레이 시간을 계산해서 데이터베이스에 저장
-        // (이를 위해서는 접속 시간을 어딘가에 저장해두어야 합니다)
+        broadcastService.announceQuit(event);
     }
-    */
 }
@@ -0,0 +1,154 @@
+package io.github.louis5103.tiny_pg_hunterAPI.metrics;
+
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 데이터베이스 계층의 지표를 모아두는 곳입니다.
+ *
+ * - 작업별 지연 분포/실패 횟수 (OperationTimer)
+ * - 커넥션 풀별 대기 시간/사용 시간/상태 (PoolMetrics, Hikari가 직접 기록)
+ * - 임계값을 넘은 느린 작업 표본 (SlowOperationLog)
+ * - 실행기 대기열 길이 등 외부 게이지
+ *
+ * 기록 경로는 모두 락과 할당이 없습니다. 문자열 출력(Prometheus 텍스트 등)은 조회할 때만 만듭니다.
+ */
+public class DatabaseMetrics {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final SlowOperationLog slowLog;
+    private final Map<String, OperationTimer> timers = new ConcurrentHashMap<>();
+    private final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public DatabaseMetrics(long slowThresholdMillis, int slowLogSize) {
+        this.slowLog = new SlowOperationLog(TimeUnit.MILLISECONDS.toNanos(Math.max(0L, slowThresholdMillis)), slowLogSize);
+    }
+
+    /**
+     * 이름에 해당하는 타이머를 반환합니다 (없으면 만듦).
+     * 생성 시점에 한 번 호출해서 필드로 보관하세요.
+     */
+    public OperationTimer timer(String name) {
+        return timers.computeIfAbsent(name, key -> new OperationTimer(key, slowLog));
+    }
+
+    /**
+     * HikariConfig.setMetricsTrackerFactory에 넘길 팩토리입니다.
+     */
+    public MetricsTrackerFactory poolTrackerFactory() {
+        return (poolName, poolStats) -> {
+            PoolMetrics poolMetrics = new PoolMetrics(poolName, poolStats);
+            pools.put(poolName, poolMetrics);
+            return poolMetrics;
+        };
+    }
+
+    /**
+     * 조회할 때마다 값을 읽는 게이지를 등록합니다 (예: 쓰기 대기열 길이).
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    public List<OperationTimer> getTimers() {
+        List<OperationTimer> result = new ArrayList<>(timers.values());
+        result.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return result;
+    }
+
+    public List<PoolMetrics> getPools() {
+        List<PoolMetrics> result = new ArrayList<>(pools.values());
+        result.sort((a, b) -> a.getPoolName().compareTo(b.getPoolName()));
+        return result;
+    }
+
+    public Map<String, LongSupplier> getGauges() {
+        return Map.copyOf(gauges);
+    }
+
+    public SlowOperationLog getSlowLog() {
+        return slowLog;
+    }
+
+    /**
+     * 누적된 지연 분포와 카운터를 모두 0으로 되돌립니다 (게이지 제외).
+     */
+    public void reset() {
+        timers.values().forEach(OperationTimer::reset);
+        pools.values().forEach(PoolMetrics::reset);
+        slowLog.reset();
+    }
+
+    /**
+     * Prometheus 텍스트 형식으로 출력합니다.
+     */
+    public void writePrometheus(StringBuilder out) {
+        out.append("# TYPE tinypg_db_operation_seconds summary\n");
+        for (OperationTimer timer : getTimers()) {
+            writeSummary(out, "tinypg_db_operation_seconds", "operation", timer.getName(), timer.snapshot());
+        }
+        out.append("# TYPE tinypg_db_operation_errors_total counter\n");
+        for (OperationTimer timer : getTimers()) {
+            out.append("tinypg_db_operation_errors_total{operation=\"").append(timer.getName()).append("\"} ")
+                    .append(timer.getErrorCount()).append('\n');
+        }
+
+        out.append("# TYPE tinypg_pool_acquire_seconds summary\n");
+        for (PoolMetrics pool : getPools()) {
+            writeSummary(out, "tinypg_pool_acquire_seconds", "pool", pool.getPoolName(), pool.acquireSnapshot());
+        }
+        out.append("# TYPE tinypg_pool_usage_seconds summary\n");
+        for (PoolMetrics pool : getPools()) {
+            writeSummary(out, "tinypg_pool_usage_seconds", "pool", pool.getPoolName(), pool.usageSnapshot());
+        }
+        writePoolGauge(out, "tinypg_pool_active_connections", "gauge", PoolMetrics::getActiveConnections);
+        writePoolGauge(out, "tinypg_pool_idle_connections", "gauge", PoolMetrics::getIdleConnections);
+        writePoolGauge(out, "tinypg_pool_pending_threads", "gauge", PoolMetrics::getPendingThreads);
+        writePoolGauge(out, "tinypg_pool_max_connections", "gauge", PoolMetrics::getMaxConnections);
+        writePoolGauge(out, "tinypg_pool_timeouts_total", "counter", PoolMetrics::getTimeoutCount);
+
+        out.append("# TYPE tinypg_slow_operations_total counter\n")
+                .append("tinypg_slow_operations_total ").append(slowLog.getTotalCount()).append('\n');
+
+        gauges.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry ->
+                out.append("# TYPE tinypg_").append(entry.getKey()).append(" gauge\n")
+                        .append("tinypg_").append(entry.getKey()).append(' ')
+                        .append(entry.getValue().getAsLong()).append('\n'));
+    }
+
+    private void writePoolGauge(StringBuilder out, String metric, String type,
+                                ToLongFunction<PoolMetrics> value) {
+        out.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+        for (PoolMetrics pool : getPools()) {
+            out.append(metric).append("{pool=\"").append(pool.getPoolName()).append("\"} ")
+                    .append(value.applyAsLong(pool)).append('\n');
+        }
+    }
+
+    private static void writeSummary(StringBuilder out, String metric, String label, String name,
+                                     LatencyHistogram.Snapshot snapshot) {
+        for (double quantile : QUANTILES) {
+            out.append(metric).append('{').append(label).append("=\"").append(name)
+                    .append("\",quantile=\"").append(quantile).append("\"} ")
+                    .append(seconds(snapshot.valueAt(quantile))).append('\n');
+        }
+        out.append(metric).append("_sum{").append(label).append("=\"").append(name).append("\"} ")
+                .append(seconds(snapshot.sumNanos())).append('\n');
+        out.append(metric).append("_count{").append(label).append("=\"").append(name).append("\"} ")
+                .append(snapshot.count()).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1_000_000_000.0);
+    }
+}
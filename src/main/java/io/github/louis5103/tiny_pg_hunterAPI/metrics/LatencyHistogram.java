@@ -0,0 +1,105 @@
+package io.github.louis5103.tiny_pg_hunterAPI.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 락 없이 기록하는 로그-선형 지연 시간 히스토그램입니다 (HdrHistogram과 같은 방식의 버킷).
+ *
+ * - 2의 거듭제곱 구간마다 8개의 하위 버킷으로 나누므로 상대 오차는 최대 12.5%입니다
+ * - 나노초 기준 0 ~ Long.MAX_VALUE 전체를 고정 크기(496칸) 배열로 표현합니다
+ * - record는 원자적 증가 몇 번뿐이라 객체를 할당하지 않습니다
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * 측정값 하나를 기록합니다. 음수는 0으로 기록합니다.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * 현재 값을 복사합니다. 기록과 동시에 호출되면 합계와 버킷이 조금 어긋날 수 있습니다.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, totalCount.get(), totalNanos.get(), maxNanos.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0L);
+        }
+        totalCount.set(0L);
+        totalNanos.set(0L);
+        maxNanos.set(0L);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * 버킷에 들어가는 가장 큰 값입니다.
+     */
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * 특정 시점의 히스토그램 값 (읽기 전용).
+     */
+    public record Snapshot(long[] counts, long count, long sumNanos, long maxNanos) {
+
+        /**
+         * @param quantile 0.0 ~ 1.0 (예: 0.99)
+         * @return 해당 분위수가 속한 버킷의 상한 (나노초), 기록이 없으면 0
+         */
+        public long valueAt(double quantile) {
+            if (count == 0) {
+                return 0L;
+            }
+            long target = Math.max(1L, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return Math.min(upperBoundOf(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        public double meanNanos() {
+            return count == 0 ? 0.0 : (double) sumNanos / count;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.louis5103.tiny_pg_hunterAPI.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.louis5103.tiny_pg_hunterAPI.config.CacheRegionStats;
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Logger;
+
+/**
+ * DatabaseMetrics를 Prometheus 텍스트 형식으로 내보냅니다.
+ *
+ * - 파일: 주기적으로 덮어씀 (node_exporter textfile collector 등으로 수집)
+ * - HTTP: 127.0.0.1:port/metrics (외부에는 열지 않음)
+ */
+public class MetricsExporter {
+
+    private final DatabaseManager databaseManager;
+    private final Logger logger;
+
+    private BukkitTask dumpTask;
+    private HttpServer httpServer;
+
+    public MetricsExporter(DatabaseManager databaseManager, Logger logger) {
+        if (databaseManager == null) {
+            throw new IllegalArgumentException("DatabaseManager는 null일 수 없습니다!");
+        }
+
+        this.databaseManager = databaseManager;
+        this.logger = logger;
+    }
+
+    /**
+     * @param dumpFile        저장할 파일
+     * @param intervalSeconds 파일 저장 주기 (0 이하면 저장하지 않음)
+     * @param httpPort        로컬 HTTP 포트 (0 이하면 열지 않음)
+     */
+    public void start(Plugin plugin, Path dumpFile, long intervalSeconds, int httpPort) {
+        if (intervalSeconds > 0) {
+            long intervalTicks = intervalSeconds * 20L;
+            dumpTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin,
+                    () -> dump(dumpFile), intervalTicks, intervalTicks);
+        }
+        if (httpPort > 0) {
+            startHttp(httpPort);
+        }
+    }
+
+    public void stop() {
+        if (dumpTask != null) {
+            dumpTask.cancel();
+            dumpTask = null;
+        }
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+    }
+
+    /**
+     * 현재 지표 전체를 Prometheus 텍스트로 만듭니다.
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder(8192);
+        databaseManager.getMetrics().writePrometheus(out);
+
+        out.append("# TYPE tinypg_cache_hits_total counter\n");
+        for (CacheRegionStats stats : databaseManager.getCacheStatistics()) {
+            out.append("tinypg_cache_hits_total{region=\"").append(stats.region()).append("\"} ")
+                    .append(stats.hits()).append('\n');
+        }
+        out.append("# TYPE tinypg_cache_misses_total counter\n");
+        for (CacheRegionStats stats : databaseManager.getCacheStatistics()) {
+            out.append("tinypg_cache_misses_total{region=\"").append(stats.region()).append("\"} ")
+                    .append(stats.misses()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private void dump(Path dumpFile) {
+        try {
+            // 수집기가 쓰다 만 파일을 읽지 않도록 임시 파일에 쓴 뒤 바꿔치기합니다
+            Path temp = dumpFile.resolveSibling(dumpFile.getFileName() + ".tmp");
+            Files.createDirectories(dumpFile.toAbsolutePath().getParent());
+            Files.writeString(temp, render(), StandardCharsets.UTF_8);
+            Files.move(temp, dumpFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warning("지표 파일 저장 실패: " + e.getMessage());
+        }
+    }
+
+    private void startHttp(int port) {
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            httpServer.createContext("/metrics", exchange -> {
+                byte[] body = render().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            });
+            httpServer.start();
+            logger.info(String.format("지표 HTTP 엔드포인트 시작: http://127.0.0.1:%d/metrics", port));
+        } catch (IOException e) {
+            logger.warning("지표 HTTP 엔드포인트 시작 실패: " + e.getMessage());
+            httpServer = null;
+        }
+    }
+}
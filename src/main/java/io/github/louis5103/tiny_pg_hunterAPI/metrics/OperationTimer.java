@@ -0,0 +1,56 @@
+package io.github.louis5103.tiny_pg_hunterAPI.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 작업 하나(예: repository.findByUuid)의 지연 분포와 실패 횟수입니다.
+ *
+ * 호출하는 쪽이 생성 시점에 받아서 필드로 보관하므로, 기록할 때 이름 조회나 할당이 없습니다.
+ * <pre>
+ * long start = System.nanoTime();
+ * ... 
+ * timer.record(System.nanoTime() - start);
+ * </pre>
+ */
+public final class OperationTimer {
+
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+    private final SlowOperationLog slowLog;
+
+    OperationTimer(String name, SlowOperationLog slowLog) {
+        this.name = name;
+        this.slowLog = slowLog;
+    }
+
+    public void record(long nanos) {
+        histogram.record(nanos);
+        slowLog.offer(name, nanos);
+    }
+
+    /**
+     * 실패한 호출의 시간까지 기록합니다 (지연 분포에도 포함).
+     */
+    public void recordError(long nanos) {
+        errors.incrementAndGet();
+        record(nanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    public LatencyHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    void reset() {
+        histogram.reset();
+        errors.set(0L);
+    }
+}
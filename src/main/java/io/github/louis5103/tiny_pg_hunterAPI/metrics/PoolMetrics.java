@@ -0,0 +1,81 @@
+package io.github.louis5103.tiny_pg_hunterAPI.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HikariCP 풀 하나의 지표입니다. Hikari가 커넥션을 빌려줄 때마다 호출합니다.
+ *
+ * - acquire: 커넥션을 받기까지 기다린 시간 (풀 고갈 여부)
+ * - usage: 커넥션을 빌려서 돌려줄 때까지의 시간 (쿼리 + 커밋)
+ * - active/idle/pending: Hikari의 PoolStats (약 1초 단위로 갱신)
+ */
+public final class PoolMetrics implements IMetricsTracker {
+
+    private final String poolName;
+    private final PoolStats poolStats;
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    PoolMetrics(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquire.record(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.incrementAndGet();
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getActiveConnections() {
+        return poolStats.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        return poolStats.getIdleConnections();
+    }
+
+    public int getPendingThreads() {
+        return poolStats.getPendingThreads();
+    }
+
+    public int getMaxConnections() {
+        return poolStats.getMaxConnections();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.get();
+    }
+
+    public LatencyHistogram.Snapshot acquireSnapshot() {
+        return acquire.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot usageSnapshot() {
+        return usage.snapshot();
+    }
+
+    void reset() {
+        acquire.reset();
+        usage.reset();
+        timeouts.set(0L);
+    }
+}
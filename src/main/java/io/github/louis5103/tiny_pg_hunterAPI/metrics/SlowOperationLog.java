@@ -0,0 +1,80 @@
+package io.github.louis5103.tiny_pg_hunterAPI.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 임계값보다 오래 걸린 작업을 최근 N개까지 보관하는 링 버퍼입니다.
+ *
+ * 미리 할당한 배열에 덮어쓰므로 기록 시 객체를 만들지 않습니다.
+ * 동시에 같은 칸에 쓰면 한 항목의 필드가 섞일 수 있지만, 진단용 표본이므로 허용합니다.
+ */
+public final class SlowOperationLog {
+
+    private final long thresholdNanos;
+    private final String[] operations;
+    private final String[] threads;
+    private final long[] durations;
+    private final long[] timestamps;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public SlowOperationLog(long thresholdNanos, int capacity) {
+        int size = Math.max(1, capacity);
+        this.thresholdNanos = thresholdNanos;
+        this.operations = new String[size];
+        this.threads = new String[size];
+        this.durations = new long[size];
+        this.timestamps = new long[size];
+    }
+
+    /**
+     * 임계값을 넘었으면 기록합니다.
+     */
+    public void offer(String operation, long nanos) {
+        if (nanos < thresholdNanos) {
+            return;
+        }
+        int slot = (int) (cursor.getAndIncrement() % operations.length);
+        operations[slot] = operation;
+        threads[slot] = Thread.currentThread().getName();
+        durations[slot] = nanos;
+        timestamps[slot] = System.currentTimeMillis();
+    }
+
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    /**
+     * 지금까지 기록된 느린 작업 수 (덮어쓴 것 포함).
+     */
+    public long getTotalCount() {
+        return cursor.get();
+    }
+
+    /**
+     * 보관 중인 항목을 최신순으로 반환합니다.
+     */
+    public List<Entry> recent() {
+        long end = cursor.get();
+        long start = Math.max(0L, end - operations.length);
+        List<Entry> result = new ArrayList<>((int) (end - start));
+        for (long i = end - 1; i >= start; i--) {
+            int slot = (int) (i % operations.length);
+            if (operations[slot] != null) {
+                result.add(new Entry(operations[slot], threads[slot], durations[slot], timestamps[slot]));
+            }
+        }
+        return result;
+    }
+
+    public void reset() {
+        cursor.set(0L);
+        Arrays.fill(operations, null);
+    }
+
+    public record Entry(String operation, String thread, long durationNanos, long epochMillis) {
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.louis5103.tiny_pg_hunterAPI.model.dto;
+
+import java.time.Instant;
+
+/**
+ * 플레이어가 사용한 닉네임 기록 한 건입니다.
+ *
+ * @param uuid       플레이어 UUID 문자열
+ * @param playerName 사용한 닉네임
+ * @param changedAt  마지막으로 이 닉네임으로 바꾼 시각
+ */
+public record NameHistoryEntry(String uuid, String playerName, Instant changedAt) {
+}
@@ -0,0 +1,16 @@
+package io.github.louis5103.tiny_pg_hunterAPI.model.dto;
+
+import java.util.List;
+
+/**
+ * 목록 조회 한 페이지입니다.
+ *
+ * @param players    이 페이지의 플레이어 (정렬 순서)
+ * @param nextCursor 다음 페이지 커서 (PlayerQuery.after에 넘김, 마지막 페이지면 null)
+ */
+public record PlayerPage(List<PlayerSnapshot> players, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
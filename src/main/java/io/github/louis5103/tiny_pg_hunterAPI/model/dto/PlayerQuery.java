@@ -0,0 +1,149 @@
+package io.github.louis5103.tiny_pg_hunterAPI.model.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * 오프라인 플레이어 목록 조회 조건입니다 (정렬, 필터, 페이지 크기, 커서). 불변이며 with~ 메서드는 새 객체를 돌려줍니다.
+ *
+ * 페이지는 OFFSET이 아니라 커서(직전 페이지 마지막 행의 정렬 키 + uuid)로 이어가므로
+ * 몇 번째 페이지든 인덱스에서 커서 위치부터 limit개만 읽습니다. 커서는 PlayerPage.nextCursor()로 받습니다.
+ *
+ * <pre>
+ * PlayerPage page = snapshotRepository.findPage(PlayerQuery.by(PlayerQuery.Sort.MONEY_DESC).withLimit(10));
+ * PlayerPage next = snapshotRepository.findPage(query.after(page.nextCursor()));
+ *
+ * // 30일 이상 미접속 플레이어 (last_login 인덱스 범위 조회)
+ * PlayerQuery.by(PlayerQuery.Sort.LAST_LOGIN_ASC).withLastLoginBefore(Instant.now().minus(Duration.ofDays(30)));
+ * </pre>
+ *
+ * @param sort            정렬 기준
+ * @param minBalance      최소 소지금 (최소 단위, 포함, null이면 제한 없음)
+ * @param minPlayTime     최소 플레이 시간 (분, 포함, null이면 제한 없음)
+ * @param lastLoginAfter  이 시각 이후 접속 (포함, null이면 제한 없음)
+ * @param lastLoginBefore 이 시각 이전 접속 (미포함, null이면 제한 없음)
+ * @param namePrefix      닉네임 접두사 (대소문자 무시, null이면 제한 없음)
+ * @param limit           페이지 크기
+ * @param cursor          이 커서 다음부터 조회 (null이면 처음부터)
+ */
+public record PlayerQuery(Sort sort, Long minBalance, Long minPlayTime, Instant lastLoginAfter,
+                          Instant lastLoginBefore, String namePrefix, int limit, String cursor) {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 1000;
+
+    /**
+     * 정렬 기준입니다. 동점은 uuid 오름차순으로 정렬합니다 (닉네임은 유일하므로 동점이 없음).
+     * last_login 정렬은 접속 기록이 없는 행(null)을 제외합니다.
+     */
+    public enum Sort {
+        MONEY_DESC,
+        PLAY_TIME_DESC,
+        LAST_LOGIN_DESC,
+        LAST_LOGIN_ASC,
+        NAME_ASC
+    }
+
+    public PlayerQuery {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort는 null일 수 없습니다!");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException(String.format("limit은 1~%d 사이여야 합니다: %d", MAX_LIMIT, limit));
+        }
+        if (namePrefix != null && namePrefix.isEmpty()) {
+            namePrefix = null;
+        }
+    }
+
+    public static PlayerQuery by(Sort sort) {
+        return new PlayerQuery(sort, null, null, null, null, null, DEFAULT_LIMIT, null);
+    }
+
+    public PlayerQuery withMinBalance(Long minBalance) {
+        return new PlayerQuery(sort, minBalance, minPlayTime, lastLoginAfter, lastLoginBefore, namePrefix, limit, cursor);
+    }
+
+    public PlayerQuery withMinPlayTime(Long minPlayTime) {
+        return new PlayerQuery(sort, minBalance, minPlayTime, lastLoginAfter, lastLoginBefore, namePrefix, limit, cursor);
+    }
+
+    public PlayerQuery withLastLoginAfter(Instant lastLoginAfter) {
+        return new PlayerQuery(sort, minBalance, minPlayTime, lastLoginAfter, lastLoginBefore, namePrefix, limit, cursor);
+    }
+
+    public PlayerQuery withLastLoginBefore(Instant lastLoginBefore) {
+        return new PlayerQuery(sort, minBalance, minPlayTime, lastLoginAfter, lastLoginBefore, namePrefix, limit, cursor);
+    }
+
+    public PlayerQuery withNamePrefix(String namePrefix) {
+        return new PlayerQuery(sort, minBalance, minPlayTime, lastLoginAfter, lastLoginBefore, namePrefix, limit, cursor);
+    }
+
+    public PlayerQuery withLimit(int limit) {
+        return new PlayerQuery(sort, minBalance, minPlayTime, lastLoginAfter, lastLoginBefore, namePrefix, limit, cursor);
+    }
+
+    /**
+     * 커서 다음 페이지를 조회하는 조건입니다. 커서는 같은 정렬로 받은 것이어야 합니다.
+     *
+     * @param cursor PlayerPage.nextCursor() (null이면 처음부터)
+     */
+    public PlayerQuery after(String cursor) {
+        return new PlayerQuery(sort, minBalance, minPlayTime, lastLoginAfter, lastLoginBefore, namePrefix, limit, cursor);
+    }
+
+    // ===== 커서 =====
+
+    /**
+     * 커서를 풀어낸 값입니다. key는 정렬 컬럼 값, uuid는 동점 구분용입니다.
+     */
+    public record Cursor(Object key, String uuid) {
+    }
+
+    /**
+     * 행 다음부터 이어가는 커서 문자열을 만듭니다 (URL에 그대로 쓸 수 있는 Base64).
+     */
+    public String cursorAfter(PlayerSnapshot last) {
+        String key = switch (sort) {
+            case MONEY_DESC -> Long.toString(last.balance());
+            case PLAY_TIME_DESC -> Long.toString(last.playTimeMinutes());
+            case LAST_LOGIN_DESC, LAST_LOGIN_ASC -> last.lastLogin().toString();
+            case NAME_ASC -> last.playerName();
+        };
+        String raw = sort.name() + '\n' + last.uuid() + '\n' + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열을 풉니다. 커서가 없으면 null입니다.
+     *
+     * @throws IllegalArgumentException 형식이 잘못되었거나 다른 정렬의 커서
+     */
+    public Cursor decodeCursor() {
+        if (cursor == null) {
+            return null;
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+        if (parts.length != 3 || !parts[0].equals(sort.name())) {
+            throw new IllegalArgumentException("이 정렬(" + sort + ")의 커서가 아닙니다: " + cursor);
+        }
+        try {
+            Object key = switch (sort) {
+                case MONEY_DESC -> Long.parseLong(parts[2]);
+                case PLAY_TIME_DESC -> Long.parseLong(parts[2]);
+                case LAST_LOGIN_DESC, LAST_LOGIN_ASC -> Instant.parse(parts[2]);
+                case NAME_ASC -> parts[2];
+            };
+            return new Cursor(key, parts[1]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+}
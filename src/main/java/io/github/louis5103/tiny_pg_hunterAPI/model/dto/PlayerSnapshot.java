@@ -0,0 +1,18 @@
+package io.github.louis5103.tiny_pg_hunterAPI.model.dto;
+
+import java.time.Instant;
+
+/**
+ * 플레이어 데이터의 불변 조회 결과입니다.
+ *
+ * 관리되는(managed) PlayerData 엔티티와 달리 영속성 컨텍스트에 묶이지 않고,
+ * 더티 체킹이나 지연 로딩 없이 값만 담으므로 조회 전용 경로에서 가볍게 사용할 수 있습니다.
+ *
+ * @param uuid 플레이어 UUID 문자열
+ * @param playerName 마지막으로 알려진 닉네임
+ * @param balance 보유 금액 (최소 단위, Money 참고)
+ * @param lastLogin 마지막 로그인 시각 (없으면 null)
+ * @param playTimeMinutes 총 플레이 시간 (분)
+ */
+public record PlayerSnapshot(String uuid, String playerName, long balance, Instant lastLogin, long playTimeMinutes) {
+}
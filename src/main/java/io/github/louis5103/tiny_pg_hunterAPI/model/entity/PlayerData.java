@@ -1,11 +1,26 @@
 package io.github.louis5103.tiny_pg_hunterAPI.model.entity;
 
+import io.github.louis5103.tiny_pg_hunterAPI.config.SecondLevelCache;
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.CompactUuidType;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Type;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongUnaryOperator;
 
 /**
  * 플레이어 데이터를 저장하는 JPA 엔티티 클래스입니다.
@@ -13,20 +28,60 @@ import java.util.Date;
  * @Entity: 이 클래스가 데이터베이스 테이블과 매핑되는 엔티티임을 나타냅니다
  * @Table: 실제 데이터베이스에서 사용할 테이블 이름을 지정합니다
  * @Data: Lombok이 자동으로 getter, setter, toString, equals, hashCode를 생성합니다
+ * @Cache: 2차 캐시(player-data 영역)에 저장해서 같은 플레이어를 반복 조회할 때 DB를 거치지 않습니다
  */
 @Entity
-@Table(name = "player_data")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCache.PLAYER_REGION)
+@Table(name = "player_data", indexes = {
+    // 실제 인덱스는 SchemaMigrator가 생성합니다 (여기서는 매핑 문서화 용도)
+    // 돈 순위 조회(ORDER BY balance DESC)가 전체 테이블 정렬 없이 인덱스를 읽도록 합니다
+    @Index(name = "idx_player_data_balance", columnList = "balance DESC"),
+    // 장기 미접속 플레이어 조회용
+    @Index(name = "idx_player_data_last_login", columnList = "last_login"),
+    // 플레이 시간 순위 조회용 (커서 페이지 조회는 정렬 컬럼 뒤의 uuid까지 인덱스를 사용)
+    @Index(name = "idx_player_data_play_time", columnList = "play_time_minutes DESC"),
+    // 닉네임은 대소문자를 무시하고 유일합니다
+    @Index(name = "uk_player_data_name", columnList = "player_name", unique = true)
+})
 @Data  // Lombok: getter, setter, toString, equals, hashCode 자동 생성
 @NoArgsConstructor  // Lombok: 기본 생성자 자동 생성 (JPA 필수)
-@AllArgsConstructor // Lombok: 모든 필드를 받는 생성자 자동 생성
 public class PlayerData {
+
+    // 잔액 CAS용 핸들 (여러 스레드가 잠금 없이 같은 플레이어의 잔액을 바꿀 수 있도록)
+    private static final VarHandle BALANCE;
+    // 플레이 시간 CAS용 핸들 (메인 스레드의 addPlayTime과 저장 스레드의 applySaved가 겹쳐도 유실되지 않도록)
+    private static final VarHandle PLAY_TIME;
+    // 저널 위치 CAS와 저널 거래 진행 카운터용 핸들
+    private static final VarHandle JOURNAL;
+    private static final VarHandle LEDGER_BEGUN;
+    private static final VarHandle LEDGER_ENDED;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            BALANCE = lookup.findVarHandle(PlayerData.class, "balance", long.class);
+            PLAY_TIME = lookup.findVarHandle(PlayerData.class, "playTimeMinutes", Long.class);
+            JOURNAL = lookup.findVarHandle(PlayerData.class, "journal", JournalPosition.class);
+            LEDGER_BEGUN = lookup.findVarHandle(PlayerData.class, "ledgerBegun", long.class);
+            LEDGER_ENDED = lookup.findVarHandle(PlayerData.class, "ledgerEnded", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // 여러 플레이어의 저장 순서를 한 번에 잡을 때 사용하는 잠금 (enqueueSave)
+    private static final Object SAVE_ORDER = new Object();
     
     /**
      * 플레이어의 고유 식별자 (UUID)
      * @Id: 이 필드가 기본키임을 나타냅니다
      * 마인크래프트에서 각 플레이어는 고유한 UUID를 가집니다
+     * @Type: database.uuid-storage 설정에 따라 36자 문자열 또는 16바이트로 저장합니다
      */
     @Id
+    @Column(name = "uuid", length = 36)
+    @Type(CompactUuidType.class)
     private String uuid;
 
     /**
@@ -34,15 +89,19 @@ public class PlayerData {
      * @Column: 데이터베이스 컬럼과의 매핑을 설정합니다
      * name 속성으로 실제 컬럼명을 지정할 수 있습니다
      */
-    @Column(name = "player_name", nullable = false)
+    @Column(name = "player_name", nullable = false, length = 64)
     private String playerName;
 
     /**
-     * 플레이어가 보유한 게임 내 화폐
-     * Double 타입을 사용해서 소수점 단위의 돈도 관리할 수 있습니다
+     * 플레이어가 보유한 게임 내 화폐 (최소 단위, 1/100)
+     * 부동소수점 오차가 쌓이지 않도록 long으로 저장합니다. 표시와 입력은 Money.format / Money.parse를 사용합니다
+     * volatile: 접속 중에는 여러 스레드가 CAS로 바꾸므로 (applyJournaled)
+     * setter나 기록 없이 더하는 메서드는 만들지 않습니다. 접속 중인 플레이어의 잔액은 BalanceLedger로만 바꿔서
+     * 모든 변경이 알리기 전에 저널에 남도록 합니다
      */
-    @Column(name = "money", nullable = false)
-    private Double money = 0.0;
+    @Column(name = "balance", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private volatile long balance;
 
     /**
      * 플레이어의 마지막 로그인 시간
@@ -56,9 +115,94 @@ public class PlayerData {
     /**
      * 플레이어의 총 플레이 시간 (분 단위)
      * Long 타입을 사용해서 큰 숫자도 저장할 수 있습니다
+     * volatile: 저장 결과 반영(applySaved)이 쓰기 스레드에서 CAS로 더해지므로
      */
     @Column(name = "play_time_minutes", nullable = false)
-    private Long playTimeMinutes = 0L;
+    private volatile Long playTimeMinutes = 0L;
+
+    /**
+     * 낙관적 잠금 버전
+     * @Version: 저장할 때마다 1씩 올라가고, UPDATE는 읽었던 버전과 같을 때만 반영됩니다
+     * 다른 서버나 원자적 UPDATE가 먼저 바꿨으면 저장이 실패하고, 레포지토리가 최신 행 기준으로 변경분을 다시 얹습니다
+     * 새 플레이어는 null이어야 INSERT 대상으로 판단됩니다
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private volatile Long version;
+
+    /**
+     * 이 행의 잔액이 어느 거래 저널의 몇 번째 기록까지 반영했는지 (TransactionJournal 복구 기준)
+     * 접속 중에는 journal 필드가 최신 값이고, 이 두 컬럼은 copy()로 저장용 복사본을 만들 때 채워집니다
+     */
+    @Column(name = "journal_id")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Long journalId;
+
+    @Column(name = "journal_seq", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long journalSeq;
+
+    /**
+     * 현재 저널 위치 (데이터베이스에 저장되지 않음, 저널 거래마다 CAS로 바뀜)
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile JournalPosition journal = JournalPosition.NONE;
+
+    /**
+     * 진행 중인 저널 거래 수를 알기 위한 카운터 (시작 수, 끝난 수)
+     * copy()는 두 값이 같을 때만 잔액과 저널 위치를 읽어서, 잔액에는 반영됐지만 위치는 아직인 거래를 저장하지 않습니다
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile long ledgerBegun;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile long ledgerEnded;
+
+    /**
+     * 마지막으로 DB와 맞춘 시점의 값 (데이터베이스에 저장되지 않음)
+     * 저장 충돌 시 "그 이후 이 서버에서 더한 만큼"을 계산하는 기준입니다
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient volatile Baseline baseline = Baseline.NEW;
+
+    /**
+     * 진행 중인 저장 (데이터베이스에 저장되지 않음, 결과 반영까지 끝나면 완료)
+     * 다음 저장은 이 Future가 끝난 뒤에 복사본을 만들어서, 두 저장이 같은 버전과 기준점을 들고 가지 않게 합니다
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient CompletableFuture<Void> saving = CompletableFuture.completedFuture(null);
+
+    /**
+     * 마지막 저장 이후 변경되었는지 나타내는 플래그 (데이터베이스에 저장되지 않음)
+     * 세션 캐시가 변경된 플레이어만 골라서 저장할 때 사용합니다
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final transient AtomicBoolean dirty = new AtomicBoolean(false);
 
     /**
      * 플레이어 생성을 위한 편의 생성자
@@ -67,7 +211,7 @@ public class PlayerData {
     public PlayerData(String uuid, String playerName) {
         this.uuid = uuid;
         this.playerName = playerName;
-        this.money = 0.0;
+        this.balance = 0L;
         this.playTimeMinutes = 0L;
         this.lastLogin = new Date(); // 현재 시간으로 설정
     }
@@ -78,16 +222,93 @@ public class PlayerData {
      */
     public void updateLastLogin() {
         this.lastLogin = new Date();
+        markDirty();
+    }
+
+    /**
+     * 잔액을 바꾸고 그 거래를 저널에 기록합니다. 잔액 변경은 잠금 없는 CAS라 어느 스레드에서든 동시에 호출할 수 있습니다.
+     * 보통은 BalanceLedger를 거쳐 호출합니다 (오프라인 플레이어는 PlayerDataRepository.addMoney / withdrawMoney).
+     * 기록이 끝나면 저널 위치를 그 기록 번호로 올리고, 기록에 실패하면 잔액을 되돌린 뒤 예외를 그대로 던집니다.
+     * 되돌리는 사이 다른 거래가 그 돈을 써서 다 되돌리지 못하면 남은 금액을 담은 IllegalStateException을 던집니다.
+     *
+     * @param amount       더할 금액 (음수면 차감)
+     * @param requireFunds true면 잔액이 부족할 때 바꾸지 않고 false를 돌려줌
+     * @param journalId    기록할 저널의 식별자 (append가 null이면 쓰지 않음)
+     * @param append       변경 후 잔액을 받아 저널에 기록하고 기록 번호를 돌려주는 함수
+     *                     (null이면 기록하지 않음, 설정에서 저널을 끈 BalanceLedger 전용)
+     * @return 바꿨으면 true, 잔액이 부족하면 false
+     * @throws ArithmeticException 잔액이 long 범위를 넘는 경우 (잔액은 바뀌지 않음)
+     */
+    public boolean applyJournaled(long amount, boolean requireFunds, long journalId, LongUnaryOperator append) {
+        LEDGER_BEGUN.getAndAdd(this, 1L);
+        try {
+            long current;
+            long next;
+            do {
+                current = balance;
+                if (requireFunds && current < -amount) {
+                    return false;
+                }
+                next = Math.addExact(current, amount);
+            } while (!BALANCE.compareAndSet(this, current, next));
+            if (append == null) {
+                markDirty();
+                return true;
+            }
+
+            long sequence;
+            try {
+                sequence = append.applyAsLong(next);
+            } catch (RuntimeException e) {
+                long shortfall = rollBack(amount);
+                if (shortfall != 0L) {
+                    markDirty();
+                    throw new IllegalStateException(String.format(
+                            "저널 기록에 실패한 거래를 되돌리지 못한 금액이 %d 남았습니다 (%s, 그 사이 다른 거래가 사용함)",
+                            shortfall, uuid), e);
+                }
+                throw e;
+            }
+
+            JournalPosition position;
+            JournalPosition advanced;
+            do {
+                position = journal;
+                advanced = position.advance(journalId, sequence);
+            } while (advanced != position && !JOURNAL.compareAndSet(this, position, advanced));
+            markDirty();
+            return true;
+        } finally {
+            LEDGER_ENDED.getAndAdd(this, 1L);
+        }
     }
 
     /**
-     * 플레이어의 돈을 추가합니다
-     * @param amount 추가할 금액 (음수면 차감)
-     * @return 변경 후 총 금액
+     * 저널에 기록하지 못한 변경을 CAS로 되돌립니다. 잔액이 음수가 되지 않게 하는 것은 되돌릴 때도 같습니다.
+     * 되돌리기 전에 다른 저널 거래가 그 입금분을 이미 썼으면 잔액을 0(원래 음수였으면 그 값)까지만 내리고,
+     * 되돌리지 못한 금액을 돌려줍니다.
+     *
+     * @return 되돌리지 못한 금액 (모두 되돌렸으면 0)
      */
-    public Double addMoney(Double amount) {
-        this.money += amount;
-        return this.money;
+    private long rollBack(long amount) {
+        long current;
+        long next;
+        do {
+            current = balance;
+            if (amount > 0) {
+                next = Math.max(Math.min(current, 0L), current - amount);
+            } else {
+                next = current > Long.MAX_VALUE + amount ? Long.MAX_VALUE : current - amount;
+            }
+        } while (!BALANCE.compareAndSet(this, current, next));
+        return Math.abs(amount - (current - next));
+    }
+
+    /**
+     * 현재 저널 위치입니다 (저널 거래가 없었던 새 플레이어는 (null, 0)).
+     */
+    public JournalPosition getJournalPosition() {
+        return journal;
     }
 
     /**
@@ -96,7 +317,176 @@ public class PlayerData {
      * @return 변경 후 총 플레이 시간
      */
     public Long addPlayTime(Long minutes) {
-        this.playTimeMinutes += minutes;
-        return this.playTimeMinutes;
+        Long next = addPlayTimeExact(minutes);
+        markDirty();
+        return next;
+    }
+
+    private Long addPlayTimeExact(long minutes) {
+        Long current;
+        Long next;
+        do {
+            current = playTimeMinutes;
+            next = current + minutes;
+        } while (!PLAY_TIME.compareAndSet(this, current, next));
+        return next;
+    }
+
+    /**
+     * 저장이 필요한 상태로 표시합니다
+     */
+    public void markDirty() {
+        dirty.set(true);
+    }
+
+    /**
+     * 저장이 필요한지 확인합니다
+     */
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    /**
+     * 변경 플래그를 내리고, 내리기 전 상태를 반환합니다
+     * 플래그를 내린 뒤 스냅샷을 만들어야 그 사이의 변경이 다음 저장에서 누락되지 않습니다
+     */
+    public boolean clearDirty() {
+        return dirty.getAndSet(false);
+    }
+
+    /**
+     * DB에서 불러온 직후의 값을 기준점으로 기록합니다 (2차 캐시에서 조립된 경우 포함)
+     */
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void captureBaseline() {
+        this.journal = new JournalPosition(journalId, journalSeq);
+        this.baseline = new Baseline(version, balance, playTimeMinutes, journal);
+    }
+
+    /**
+     * 저장 충돌 시, 다른 곳에서 먼저 저장된 최신 행 위에 이 인스턴스의 변경분을 다시 얹습니다.
+     * 돈과 플레이 시간은 "기준점 이후 더한 만큼"을 최신 값에 더하고, 닉네임과 마지막 로그인은 이 인스턴스 값을 유지합니다.
+     * 버전과 기준점은 최신 행으로 맞춰지므로 여러 번 호출해도 변경분이 두 번 더해지지 않습니다.
+     * 저널 위치는 기준점 이후 이 인스턴스에서 저널 거래가 있었으면 유지하고, 없었으면 최신 행의 위치를 따릅니다.
+     */
+    public void rebaseOnto(PlayerData current) {
+        Baseline base = this.baseline;
+        JournalPosition currentJournal = current.journal;
+        this.balance = current.balance + (this.balance - base.balance());
+        this.playTimeMinutes = current.playTimeMinutes + (this.playTimeMinutes - base.playTimeMinutes());
+        this.version = current.version;
+        if (journal.equals(base.journal())) {
+            setJournal(currentJournal);
+        } else if (journal.journalId() != null && journal.journalId().equals(currentJournal.journalId())) {
+            setJournal(journal.advance(currentJournal.journalId(), currentJournal.sequence()));
+        }
+        this.baseline = new Baseline(current.version, current.balance, current.playTimeMinutes, currentJournal);
+    }
+
+    /**
+     * 저장이 끝난 뒤 접속 중인 원본에 결과를 반영합니다 (저장을 마친 스레드에서 호출).
+     * 충돌로 변경분이 다시 얹혔다면 그 차이를 더하고, 다음 저장이 충돌하지 않도록 버전과 기준점을 맞춥니다.
+     * 잔액과 플레이 시간 차이는 CAS로 더하므로 다른 스레드의 동시 변경과 섞여도 유실되지 않습니다.
+     * 같은 원본의 저장은 enqueueSave로 하나씩만 진행해야 합니다. 반영 전에 만든 두 번째 복사본은
+     * 첫 번째 저장분까지 기준점 이후의 변경으로 들고 가므로, 충돌 시 그만큼이 두 번 더해집니다.
+     *
+     * @param sent  저장을 요청할 때 넘긴 복사본
+     * @param saved 저장 후 DB에 반영된 값
+     */
+    public void applySaved(PlayerData sent, PlayerData saved) {
+        BALANCE.getAndAdd(this, saved.balance - sent.balance);
+        addPlayTimeExact(saved.playTimeMinutes - sent.playTimeMinutes);
+        this.version = saved.version;
+        // 보낸 뒤 저널 거래가 없었을 때만 저장된 위치로 맞춥니다 (있었다면 이쪽이 더 앞선 위치)
+        JOURNAL.compareAndSet(this, sent.journal, saved.journal);
+        this.baseline = new Baseline(saved.version, saved.balance, saved.playTimeMinutes, saved.journal);
+    }
+
+    /**
+     * 현재 상태를 복사한 분리(detached) 인스턴스를 만듭니다.
+     * 백그라운드 쓰기 스레드에 넘길 때 메인 스레드의 변경과 섞이지 않도록 사용합니다.
+     * 버전과 기준점도 함께 복사하므로 복사본으로 저장해도 충돌 검사가 동작합니다.
+     * 진행 중인 저널 거래가 있으면 끝날 때까지 잠깐 기다려서, 잔액과 저널 위치가 같은 시점의 값이 되도록 합니다.
+     */
+    public PlayerData copy() {
+        PlayerData copy = new PlayerData();
+        while (true) {
+            long ended = ledgerEnded;
+            long begun = ledgerBegun;
+            if (begun == ended) {
+                copy.balance = balance;
+                copy.setJournal(journal);
+                if (ledgerBegun == begun) {
+                    break;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        copy.uuid = uuid;
+        copy.playerName = playerName;
+        copy.lastLogin = lastLogin == null ? null : new Date(lastLogin.getTime());
+        copy.playTimeMinutes = playTimeMinutes;
+        copy.version = version;
+        copy.baseline = baseline;
+        return copy;
+    }
+
+    /**
+     * 넘긴 원본들의 저장 순서를 잡습니다. 앞선 저장이 모두 (applySaved까지) 끝나면 완료되는 Future를 돌려줍니다.
+     * 호출한 쪽은 그 뒤에 복사본을 만들어 저장하고 결과를 반영한 다음, 실패하더라도 반드시 done을 완료해야 합니다.
+     * 여러 원본을 한 번에 잡으므로 일괄 저장끼리 서로를 기다리는 순환이 생기지 않습니다.
+     *
+     * @param done 이번 저장이 끝나면 완료할 Future (다음 저장이 이것을 기다림)
+     */
+    public static CompletableFuture<Void> enqueueSave(Collection<PlayerData> players, CompletableFuture<Void> done) {
+        CompletableFuture<?>[] previous = new CompletableFuture<?>[players.size()];
+        int i = 0;
+        synchronized (SAVE_ORDER) {
+            for (PlayerData playerData : players) {
+                previous[i++] = playerData.saving;
+                playerData.saving = done;
+            }
+        }
+        return CompletableFuture.allOf(previous);
+    }
+
+    /**
+     * 넘긴 원본들의 진행 중인 저장이 모두 끝나면 완료되는 Future입니다 (종료 전 마지막 저장용).
+     */
+    public static CompletableFuture<Void> pendingSaves(Collection<PlayerData> players) {
+        synchronized (SAVE_ORDER) {
+            return CompletableFuture.allOf(players.stream()
+                    .map(playerData -> playerData.saving)
+                    .toArray(CompletableFuture<?>[]::new));
+        }
+    }
+
+    private void setJournal(JournalPosition position) {
+        this.journal = position;
+        this.journalId = position.journalId();
+        this.journalSeq = position.sequence();
+    }
+
+    /**
+     * DB와 마지막으로 맞춘 시점의 버전/잔액/플레이 시간/저널 위치입니다. 새 플레이어는 (null, 0, 0, NONE)입니다.
+     */
+    public record Baseline(Long version, long balance, long playTimeMinutes, JournalPosition journal) {
+        static final Baseline NEW = new Baseline(null, 0L, 0L, JournalPosition.NONE);
+    }
+
+    /**
+     * 잔액이 반영한 마지막 저널 기록입니다. 저널 식별자가 바뀌면(다른 서버의 저널이었거나 처음) 번호를 새로 셉니다.
+     */
+    public record JournalPosition(Long journalId, long sequence) {
+        public static final JournalPosition NONE = new JournalPosition(null, 0L);
+
+        JournalPosition advance(long id, long next) {
+            if (journalId != null && journalId == id) {
+                return next > sequence ? new JournalPosition(journalId, next) : this;
+            }
+            return new JournalPosition(id, next);
+        }
     }
-}
\ No newline at end of file
+}
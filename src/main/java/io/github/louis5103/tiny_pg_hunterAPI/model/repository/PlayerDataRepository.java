@@ -1,47 +1,428 @@
 package io.github.louis5103.tiny_pg_hunterAPI.model.repository;
 
 import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseType;
+import io.github.louis5103.tiny_pg_hunterAPI.config.SchemaMigrator;
+import io.github.louis5103.tiny_pg_hunterAPI.config.SecondLevelCache;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.DatabaseMetrics;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.OperationTimer;
 import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.UuidStorage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.TypedQuery;
-import lombok.RequiredArgsConstructor;
+import org.hibernate.StaleStateException;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
+/**
+ * player_data 테이블 접근 계층입니다.
+ *
+ * 동기 메서드는 호출한 스레드에서 JDBC를 실행하므로 서버 메인 스레드에서 호출하면 안 됩니다.
+ * 다른 플러그인은 ~Async 메서드를 사용하면 어느 스레드에서든 틱을 멈추지 않고 호출할 수 있습니다.
+ *
+ * - 조회와 원자적 UPDATE는 커넥션 풀 크기로 제한된 가상 스레드 실행기에서 실행됩니다
+ *   (SQLite에서는 원자적 UPDATE도 쓰기 스레드로 보내 쓰기 잠금 경합을 없앱니다)
+ * - 엔티티 저장은 단일 쓰기 스레드에서 실행되어 세션 캐시의 저장과 순서가 섞이지 않습니다
+ * - 결과로 Bukkit API를 써야 하면 onMainThread로 메인 스레드에서 이어받습니다
+ *
+ * 오프라인 플레이어 목록(순위 페이지, 미접속자, 닉네임 검색)은 엔티티 대신 PlayerSnapshot을 돌려주는
+ * PlayerSnapshotRepository.findPage / forEach를 사용합니다 (커서 페이지 조회).
+ *
+ * findByUuid와 findTopPlayersByMoney는 2차 캐시/쿼리 캐시를 사용합니다.
+ * merge/persist는 캐시를 함께 갱신하고, JPQL 일괄 UPDATE는 player-data 영역 전체를 무효화합니다.
+ * 이 클래스를 거치지 않고 player_data를 바꿨다면 DatabaseManager.evictPlayer를 호출해야 합니다.
+ *
+ * 저장은 낙관적 잠금(version 컬럼)을 사용합니다. 다른 서버나 원자적 UPDATE가 먼저 행을 바꿨으면
+ * 최신 행 위에 돈/플레이 시간 변경분을 다시 얹어서(PlayerData.rebaseOnto) 저장하므로 마지막 저장이 앞선 변경을 덮어쓰지 않습니다.
+ * 저장 메서드는 DB에 반영된 값을 돌려주며, 접속 중인 원본에는 PlayerData.applySaved로 반영합니다.
+ * 접속 중인 원본은 saveLiveAsync / saveAllLiveAsync로 저장하세요. 같은 원본의 저장을 하나씩만 진행해서
+ * 결과가 반영되기 전의 복사본 두 개가 같은 변경분을 두 번 얹는 일을 막습니다.
+ * 여러 서버가 같은 DB를 쓸 때(database.multi-node)는 조회가 2차 캐시를 건너뛰고 DB에서 최신 행을 읽습니다.
+ *
+ * <pre>
+ * repository.onMainThread(repository.findByUuidAsync(uuid))
+ *         .thenAccept(data -> player.sendMessage("돈: " + Money.format(data.getBalance())));
+ * </pre>
+ */
 public class PlayerDataRepository {
+    // 저장 도중 다른 곳에서 같은 행을 바꿨을 때 다시 시도하는 횟수
+    private static final int MAX_CONFLICT_RETRIES = 3;
+
     private final DatabaseManager databaseManager;
 
+    // 메서드별 지연 분포/호출 수 (기록 시 이름 조회가 없도록 미리 받아둠)
+    private final OperationTimer findByUuidTimer;
+    private final OperationTimer saveTimer;
+    private final OperationTimer claimNameTimer;
+    private final OperationTimer saveAllTimer;
+    private final OperationTimer findTopTimer;
+    private final OperationTimer updatePlayTimeTimer;
+    private final OperationTimer addMoneyTimer;
+    private final OperationTimer withdrawMoneyTimer;
+
+    public PlayerDataRepository(DatabaseManager databaseManager) {
+        if (databaseManager == null) {
+            throw new IllegalArgumentException("DatabaseManager는 null일 수 없습니다!");
+        }
+
+        this.databaseManager = databaseManager;
+        DatabaseMetrics metrics = databaseManager.getMetrics();
+        this.findByUuidTimer = metrics.timer("repository.findByUuid");
+        this.saveTimer = metrics.timer("repository.save");
+        this.claimNameTimer = metrics.timer("repository.claimNameAndSave");
+        this.saveAllTimer = metrics.timer("repository.saveAll");
+        this.findTopTimer = metrics.timer("repository.findTopPlayersByMoney");
+        this.updatePlayTimeTimer = metrics.timer("repository.updatePlayTime");
+        this.addMoneyTimer = metrics.timer("repository.addMoney");
+        this.withdrawMoneyTimer = metrics.timer("repository.withdrawMoney");
+    }
+
     public PlayerData findByUuid(String uuid) {
-        return databaseManager.executeInTransaction(em -> {
-            return em.find(PlayerData.class, uuid);
+        return databaseManager.executeInTransaction(findByUuidTimer, em -> {
+            return em.find(PlayerData.class, uuid, databaseManager.freshReadHints());
         });
     }
 
+    /**
+     * 플레이어를 저장하고 DB에 반영된 값을 돌려줍니다 (넘긴 인스턴스는 바꾸지 않음).
+     * 다른 곳에서 먼저 저장했으면 변경분을 최신 행 위에 다시 얹어 저장합니다.
+     */
     public PlayerData save(PlayerData playerData) {
-        return databaseManager.executeInTransaction(em -> {
-            return em.merge(playerData); // 새로 생성하거나 기존 데이터 업데이트
-        });
+        return retryOnConflict(() -> databaseManager.executeInTransaction(saveTimer, em -> {
+            PlayerData merged = mergeVersioned(em, playerData.copy()); // 새로 생성하거나 기존 데이터 업데이트
+            em.flush();
+            return merged.copy();
+        }));
+    }
+
+    /**
+     * 닉네임을 이 플레이어 앞으로 가져온 뒤 저장합니다.
+     * 닉네임은 대소문자 무시 유니크이므로, 같은 닉네임을 가진 다른(예전) 행은 자리표시 이름으로 바꿉니다.
+     * 첫 접속이나 닉네임 변경 시에만 필요하며, 같은 트랜잭션에서 닉네임 기록(player_name_history)도 남깁니다.
+     */
+    public PlayerData claimNameAndSave(PlayerData playerData) {
+        return retryOnConflict(() -> databaseManager.executeInTransaction(claimNameTimer, em -> {
+            releaseName(em, playerData.getPlayerName(), playerData.getUuid());
+            PlayerData merged = mergeVersioned(em, playerData.copy());
+            recordNameHistory(em, playerData.getUuid(), playerData.getPlayerName());
+            em.flush();
+            return merged.copy();
+        }));
+    }
+
+    /**
+     * 최신 행을 불러와 버전을 비교한 뒤 저장 대상에 반영합니다.
+     * 행이 없으면 새로 만들고, 버전이 다르면 변경분을 최신 값 위에 다시 얹습니다.
+     * 조회와 flush 사이에 다른 곳이 또 저장했다면 flush가 OptimisticLockException으로 실패합니다 (retryOnConflict가 처리).
+     */
+    private PlayerData mergeVersioned(EntityManager em, PlayerData detached) {
+        PlayerData current = em.find(PlayerData.class, detached.getUuid(), databaseManager.freshReadHints());
+        if (current == null) {
+            // 다른 서버에서 저장한 적이 있다고 믿고 있었어도 행이 사라졌다면 새로 만듭니다
+            detached.setVersion(null);
+            em.persist(detached);
+            return detached;
+        }
+        if (!Objects.equals(current.getVersion(), detached.getVersion())) {
+            detached.rebaseOnto(current);
+        }
+        return em.merge(detached);
+    }
+
+    /**
+     * 낙관적 잠금 충돌이면 트랜잭션을 다시 실행합니다 (매번 DB의 최신 행부터 다시 읽음).
+     * 쓰기 묶음 안에서는 트랜잭션이 이미 롤백 대상이므로 바로 던지고, 묶음이 작업을 하나씩 다시 실행할 때 재시도합니다.
+     */
+    private <T> T retryOnConflict(Supplier<T> attempt) {
+        for (int tries = 1; ; tries++) {
+            try {
+                return attempt.get();
+            } catch (RuntimeException e) {
+                if (!isVersionConflict(e) || tries >= MAX_CONFLICT_RETRIES || databaseManager.isInWriteGroup()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static boolean isVersionConflict(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recordNameHistory(EntityManager em, String uuid, String playerName) {
+        // player_name_history.uuid는 저장 방식과 관계없이 문자열입니다
+        String sql = databaseManager.getDatabaseType() == DatabaseType.SQLITE
+                ? "INSERT INTO player_name_history (uuid, player_name, changed_at) VALUES (?1, ?2, ?3) "
+                        + "ON CONFLICT(uuid, player_name) DO UPDATE SET changed_at = excluded.changed_at"
+                : "INSERT INTO player_name_history (uuid, player_name, changed_at) VALUES (?1, ?2, ?3) "
+                        + "ON DUPLICATE KEY UPDATE changed_at = VALUES(changed_at)";
+        em.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                // 영향받는 테이블을 알려주지 않으면 네이티브 UPDATE가 2차 캐시 전체를 비웁니다
+                .addSynchronizedQuerySpace("player_name_history")
+                .setParameter(1, uuid)
+                .setParameter(2, playerName)
+                .setParameter(3, new Timestamp(System.currentTimeMillis()))
+                .executeUpdate();
+    }
+
+    private void releaseName(EntityManager em, String playerName, String ownerUuid) {
+        // 대소문자 무시 인덱스를 타도록 DB별 비교식을 사용합니다 (MySQL은 컬럼 콜레이션이 대소문자 무시)
+        String sql = databaseManager.getDatabaseType() == DatabaseType.SQLITE
+                ? "SELECT uuid FROM player_data WHERE player_name = ?1 COLLATE NOCASE AND uuid <> ?2"
+                : "SELECT uuid FROM player_data WHERE player_name = ?1 AND uuid <> ?2";
+
+        // 네이티브 쿼리는 Hibernate 타입을 거치지 않으므로 uuid를 저장 방식에 맞게 직접 변환합니다
+        UuidStorage storage = UuidStorage.active();
+        List<?> holders = em.createNativeQuery(sql)
+                .setParameter(1, playerName)
+                .setParameter(2, storage.toJdbc(ownerUuid))
+                .getResultList();
+
+        for (Object raw : holders) {
+            String holder = storage.fromJdbc(raw);
+            em.createQuery("UPDATE PlayerData p SET p.playerName = :placeholder, p.version = p.version + 1 "
+                            + "WHERE p.uuid = :uuid")
+                    .setParameter("placeholder", SchemaMigrator.placeholderName(holder))
+                    .setParameter("uuid", holder)
+                    .executeUpdate();
+        }
+    }
+
+    /**
+     * 여러 플레이어를 하나의 트랜잭션에서 JDBC 배치로 저장합니다.
+     * 배치 크기 단위로 기존 행을 IN 조회 한 번에 불러온 뒤 변경하므로
+     * merge마다 SELECT가 나가지 않고, INSERT/UPDATE는 배치로 묶여 전송됩니다.
+     * 버전이 다른 행은 변경분을 최신 행 위에 다시 얹습니다 (넘긴 인스턴스는 바꾸지 않음).
+     *
+     * @return DB에 반영된 값 (넘긴 순서대로)
+     */
+    public List<PlayerData> saveAll(Collection<PlayerData> players) {
+        if (players.isEmpty()) {
+            return List.of();
+        }
+
+        int batchSize = databaseManager.getBatchSize();
+        return retryOnConflict(() -> databaseManager.executeInTransaction(saveAllTimer, em -> {
+            // 충돌로 다시 시도할 때 앞선 시도의 rebase가 남지 않도록 시도마다 새로 복사합니다
+            List<PlayerData> list = players.stream().map(PlayerData::copy).toList();
+            List<PlayerData> saved = new ArrayList<>(list.size());
+            for (int from = 0; from < list.size(); from += batchSize) {
+                List<PlayerData> chunk = list.subList(from, Math.min(from + batchSize, list.size()));
+                List<String> ids = chunk.stream().map(PlayerData::getUuid).toList();
+
+                Map<String, PlayerData> existing = em.createQuery(
+                                "SELECT p FROM PlayerData p WHERE p.uuid IN :ids", PlayerData.class)
+                        .setParameter("ids", ids)
+                        .getResultStream()
+                        .collect(Collectors.toMap(PlayerData::getUuid, Function.identity()));
+
+                List<PlayerData> managed = new ArrayList<>(chunk.size());
+                for (PlayerData playerData : chunk) {
+                    PlayerData current = existing.get(playerData.getUuid());
+                    if (current == null) {
+                        playerData.setVersion(null);
+                        em.persist(playerData);
+                        managed.add(playerData);
+                        continue;
+                    }
+                    if (!Objects.equals(current.getVersion(), playerData.getVersion())) {
+                        playerData.rebaseOnto(current);
+                    }
+                    managed.add(em.merge(playerData)); // 이미 영속 상태이므로 추가 조회 없이 값만 복사
+                }
+
+                // 배치 단위로 전송하고 영속성 컨텍스트를 비워서 메모리 사용량을 일정하게 유지
+                em.flush();
+                managed.forEach(entity -> saved.add(entity.copy()));
+                em.clear();
+            }
+            return saved;
+        }));
     }
 
     public List<PlayerData> findTopPlayersByMoney(int limit) {
-        return databaseManager.executeInTransaction(em -> {
+        return databaseManager.executeInTransaction(findTopTimer, em -> {
             TypedQuery<PlayerData> query = em.createQuery(
-                    "SELECT p FROM PlayerData p ORDER BY p.money DESC",
+                    "SELECT p FROM PlayerData p ORDER BY p.balance DESC",
                     PlayerData.class
             );
             query.setMaxResults(limit);
+            // 결과(UUID 목록)는 쿼리 캐시에, 엔티티는 2차 캐시에 저장됩니다
+            // player_data가 변경되면 갱신 시각 비교로 자동 무효화됩니다
+            query.setHint(HibernateHints.HINT_CACHEABLE, true);
+            query.setHint(HibernateHints.HINT_CACHE_REGION, SecondLevelCache.TOP_MONEY_REGION);
             return query.getResultList();
         });
     }
 
+    /**
+     * 플레이 시간을 UPDATE 한 번으로 원자적으로 더합니다 (엔티티를 불러오지 않음).
+     * 일괄 UPDATE이므로 커밋 시 Hibernate가 player-data 캐시 영역을 비웁니다.
+     * 원자적 UPDATE도 버전을 올리므로, 이 행을 들고 있던 세션의 다음 저장은 변경분을 다시 얹어 저장합니다.
+     */
     public void updatePlayTime(String uuid, long additionalMinutes) {
-        databaseManager.executeInTransaction(em -> {
-            PlayerData player = em.find(PlayerData.class, uuid);
-            if (player != null) {
-                player.setPlayTimeMinutes(player.getPlayTimeMinutes() + additionalMinutes);
-                em.merge(player);
-            }
+        databaseManager.executeInTransaction(updatePlayTimeTimer, em -> em.createQuery(
+                        "UPDATE PlayerData p SET p.playTimeMinutes = p.playTimeMinutes + :minutes, "
+                                + "p.version = p.version + 1 WHERE p.uuid = :uuid")
+                .setParameter("minutes", additionalMinutes)
+                .setParameter("uuid", uuid)
+                .executeUpdate());
+    }
+
+    /**
+     * 돈을 UPDATE 한 번으로 원자적으로 더합니다 (음수면 차감, 잔액 확인 없음).
+     * 여러 스레드나 여러 서버가 동시에 호출해도 변경이 유실되지 않습니다.
+     *
+     * 접속 중인 플레이어는 BalanceLedger(또는 PlayerSessionCache의 데이터)를 사용해야 합니다.
+     * 이 메서드는 오프라인 플레이어나 캐시를 거치지 않는 작업을 위한 것입니다.
+     *
+     * @param amount 더할 금액 (최소 단위, Money 참고)
+     * @return 플레이어가 존재해서 반영되었으면 true
+     */
+    public boolean addMoney(String uuid, long amount) {
+        int updated = databaseManager.executeInTransaction(addMoneyTimer, em -> em.createQuery(
+                        "UPDATE PlayerData p SET p.balance = p.balance + :amount, p.version = p.version + 1 "
+                                + "WHERE p.uuid = :uuid")
+                .setParameter("amount", amount)
+                .setParameter("uuid", uuid)
+                .executeUpdate());
+        return updated == 1;
+    }
+
+    /**
+     * 잔액이 충분할 때만 돈을 차감합니다. 조건 확인과 차감이 UPDATE 한 번에 이루어지므로
+     * 동시에 여러 번 호출되어도 잔액이 음수가 되지 않습니다.
+     *
+     * @param amount 차감할 금액 (최소 단위)
+     * @return 차감에 성공하면 true, 잔액이 부족하거나 플레이어가 없으면 false
+     */
+    public boolean withdrawMoney(String uuid, long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("차감 금액은 음수일 수 없습니다: " + amount);
+        }
+
+        int updated = databaseManager.executeInTransaction(withdrawMoneyTimer, em -> em.createQuery(
+                        "UPDATE PlayerData p SET p.balance = p.balance - :amount, p.version = p.version + 1 "
+                                + "WHERE p.uuid = :uuid AND p.balance >= :amount")
+                .setParameter("amount", amount)
+                .setParameter("uuid", uuid)
+                .executeUpdate());
+        return updated == 1;
+    }
+
+    // ===== 비동기 API =====
+
+    public CompletableFuture<PlayerData> findByUuidAsync(String uuid) {
+        return databaseManager.callAsync(() -> findByUuid(uuid));
+    }
+
+    public CompletableFuture<PlayerData> saveAsync(PlayerData playerData) {
+        // 호출한 쪽이 계속 수정할 수 있으므로 제출 시점의 값을 복사해서 저장합니다
+        PlayerData snapshot = playerData.copy();
+        return databaseManager.supplyOnWriter(() -> save(snapshot));
+    }
+
+    public CompletableFuture<PlayerData> claimNameAndSaveAsync(PlayerData playerData) {
+        PlayerData snapshot = playerData.copy();
+        return databaseManager.supplyOnWriter(() -> claimNameAndSave(snapshot));
+    }
+
+    public CompletableFuture<Void> saveAllAsync(Collection<PlayerData> players) {
+        List<PlayerData> snapshots = players.stream().map(PlayerData::copy).toList();
+        return databaseManager.runOnWriter(() -> saveAll(snapshots));
+    }
+
+    /**
+     * 접속 중인 원본을 쓰기 스레드에서 저장하고 결과를 원본에 반영합니다 (PlayerData.applySaved).
+     * 같은 원본의 앞선 저장이 반영까지 끝난 뒤에 복사본을 만들므로, 저장이 겹쳐도 변경분이 한 번만 더해집니다.
+     * 반영은 저장을 마친 스레드에서 하므로 메인 스레드가 막혀 있어도(종료 중) 다음 저장이 진행됩니다.
+     * 실패하면 원본을 다시 변경 상태로 돌려서 다음 저장에 포함되게 합니다.
+     *
+     * @param claimName 첫 접속이거나 닉네임이 바뀌었으면 true (claimNameAndSave로 저장)
+     */
+    public CompletableFuture<Void> saveLiveAsync(PlayerData live, boolean claimName) {
+        return saveLiveInOrder(List.of(live), snapshots -> databaseManager.supplyOnWriter(() -> List.of(claimName
+                ? claimNameAndSave(snapshots.get(0))
+                : save(snapshots.get(0)))));
+    }
+
+    /**
+     * 접속 중인 원본들을 한 트랜잭션(JDBC 배치)으로 저장하고 결과를 원본에 반영합니다.
+     * 순서 보장과 실패 처리는 saveLiveAsync와 같습니다.
+     */
+    public CompletableFuture<Void> saveAllLiveAsync(List<PlayerData> live) {
+        if (live.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return saveLiveInOrder(List.copyOf(live), snapshots -> databaseManager.supplyOnWriter(() -> saveAll(snapshots)));
+    }
+
+    private CompletableFuture<Void> saveLiveInOrder(List<PlayerData> live,
+                                                    Function<List<PlayerData>, CompletableFuture<List<PlayerData>>> saver) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        return PlayerData.enqueueSave(live, done)
+                .thenCompose(ignored -> {
+                    List<PlayerData> snapshots = live.stream().map(PlayerData::copy).toList();
+                    return saver.apply(snapshots).thenAccept(saved -> {
+                        for (int i = 0; i < live.size(); i++) {
+                            live.get(i).applySaved(snapshots.get(i), saved.get(i));
+                        }
+                    });
+                })
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        live.forEach(PlayerData::markDirty);
+                    }
+                    // 성공하든 실패하든 다음 저장이 이어서 진행되도록 순서를 넘깁니다
+                    done.complete(null);
+                });
+    }
+
+    public CompletableFuture<List<PlayerData>> findTopAsync(int limit) {
+        return databaseManager.callAsync(() -> findTopPlayersByMoney(limit));
+    }
+
+    public CompletableFuture<Void> updatePlayTimeAsync(String uuid, long additionalMinutes) {
+        return databaseManager.callWriteAsync(() -> {
+            updatePlayTime(uuid, additionalMinutes);
             return null;
         });
     }
-}
\ No newline at end of file
+
+    public CompletableFuture<Boolean> addMoneyAsync(String uuid, long amount) {
+        return databaseManager.callWriteAsync(() -> addMoney(uuid, amount));
+    }
+
+    public CompletableFuture<Boolean> withdrawMoneyAsync(String uuid, long amount) {
+        if (amount < 0) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("차감 금액은 음수일 수 없습니다: " + amount));
+        }
+        return databaseManager.callWriteAsync(() -> withdrawMoney(uuid, amount));
+    }
+
+    /**
+     * 비동기 결과를 서버 메인 스레드에서 이어받습니다.
+     * 반환된 Future의 콜백에서는 Bukkit API를 안전하게 사용할 수 있습니다.
+     */
+    public <T> CompletableFuture<T> onMainThread(CompletableFuture<T> future) {
+        return databaseManager.onMainThread(future);
+    }
+}
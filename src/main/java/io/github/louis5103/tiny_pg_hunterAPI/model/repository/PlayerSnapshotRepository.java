@@ -0,0 +1,329 @@
+package io.github.louis5103.tiny_pg_hunterAPI.model.repository;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseType;
+import io.github.louis5103.tiny_pg_hunterAPI.model.dto.NameHistoryEntry;
+import io.github.louis5103.tiny_pg_hunterAPI.model.dto.PlayerPage;
+import io.github.louis5103.tiny_pg_hunterAPI.model.dto.PlayerQuery;
+import io.github.louis5103.tiny_pg_hunterAPI.model.dto.PlayerSnapshot;
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.UuidStorage;
+import io.github.louis5103.tiny_pg_hunterAPI.metrics.OperationTimer;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 영속성 컨텍스트를 거치지 않는 조회 전용 레포지토리입니다.
+ *
+ * PlayerDataRepository는 조회 한 번에도 EntityManager 생성과 트랜잭션 시작/커밋이 필요하지만,
+ * 이 레포지토리는 읽기 전용 풀의 커넥션으로 SQL을 바로 실행하고 불변 PlayerSnapshot을 돌려줍니다.
+ * 프로필 조회, 순위표 같은 빈번한 읽기에 사용합니다. 수정이 필요하면 PlayerDataRepository를 사용하세요.
+ *
+ * 오프라인 플레이어 목록(순위, 미접속자, 닉네임 검색)은 findPage로 조회합니다.
+ * OFFSET 대신 커서(정렬 키 + uuid) 조건으로 인덱스를 이어서 읽으므로 깊은 페이지도 첫 페이지와 비용이 같습니다.
+ */
+public class PlayerSnapshotRepository {
+    static final String COLUMNS = "uuid, player_name, balance, last_login, play_time_minutes";
+
+    private final DatabaseManager databaseManager;
+    private final OperationTimer findByUuidTimer;
+    private final OperationTimer findTopTimer;
+    private final OperationTimer findPageTimer;
+    private final OperationTimer findByNameTimer;
+    private final OperationTimer nameHistoryTimer;
+    private final OperationTimer loadNamesTimer;
+
+    public PlayerSnapshotRepository(DatabaseManager databaseManager) {
+        if (databaseManager == null) {
+            throw new IllegalArgumentException("DatabaseManager는 null일 수 없습니다!");
+        }
+
+        this.databaseManager = databaseManager;
+        this.findByUuidTimer = databaseManager.getMetrics().timer("snapshot.findByUuid");
+        this.findTopTimer = databaseManager.getMetrics().timer("snapshot.findTopByMoney");
+        this.findPageTimer = databaseManager.getMetrics().timer("snapshot.findPage");
+        this.findByNameTimer = databaseManager.getMetrics().timer("snapshot.findByName");
+        this.nameHistoryTimer = databaseManager.getMetrics().timer("snapshot.nameHistory");
+        this.loadNamesTimer = databaseManager.getMetrics().timer("snapshot.loadNames");
+    }
+
+    public PlayerSnapshot findByUuid(String uuid) {
+        return databaseManager.executeReadOnly(findByUuidTimer, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + COLUMNS + " FROM player_data WHERE uuid = ?")) {
+                statement.setObject(1, UuidStorage.active().toJdbc(uuid));
+                try (ResultSet rs = statement.executeQuery()) {
+                    return rs.next() ? map(rs) : null;
+                }
+            }
+        });
+    }
+
+    /**
+     * 현재 닉네임(대소문자 무시)으로 조회합니다. 닉네임 유니크 인덱스를 사용합니다.
+     */
+    public PlayerSnapshot findByName(String playerName) {
+        String sql = databaseManager.getDatabaseType() == DatabaseType.SQLITE
+                ? "SELECT " + COLUMNS + " FROM player_data WHERE player_name = ? COLLATE NOCASE"
+                : "SELECT " + COLUMNS + " FROM player_data WHERE player_name = ?";
+        return databaseManager.executeReadOnly(findByNameTimer, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, playerName);
+                try (ResultSet rs = statement.executeQuery()) {
+                    return rs.next() ? map(rs) : null;
+                }
+            }
+        });
+    }
+
+    /**
+     * 플레이어가 사용한 닉네임 기록을 최근 순으로 조회합니다.
+     */
+    public List<NameHistoryEntry> findNameHistory(String uuid) {
+        return queryNameHistory("SELECT uuid, player_name, changed_at FROM player_name_history "
+                + "WHERE uuid = ? ORDER BY changed_at DESC", uuid);
+    }
+
+    /**
+     * 이 닉네임(대소문자 무시)을 사용한 적이 있는 플레이어들을 최근 순으로 조회합니다.
+     */
+    public List<NameHistoryEntry> findByPastName(String playerName) {
+        return queryNameHistory("SELECT uuid, player_name, changed_at FROM player_name_history "
+                + "WHERE player_name = ? ORDER BY changed_at DESC", playerName);
+    }
+
+    private List<NameHistoryEntry> queryNameHistory(String sql, String parameter) {
+        return databaseManager.executeReadOnly(nameHistoryTimer, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, parameter);
+                try (ResultSet rs = statement.executeQuery()) {
+                    List<NameHistoryEntry> result = new ArrayList<>();
+                    while (rs.next()) {
+                        Timestamp changedAt = rs.getTimestamp(3);
+                        result.add(new NameHistoryEntry(rs.getString(1), rs.getString(2),
+                                changedAt == null ? null : changedAt.toInstant()));
+                    }
+                    return result;
+                }
+            }
+        });
+    }
+
+    /**
+     * 모든 플레이어의 (uuid, 닉네임)을 한 번의 전방 전용 조회로 넘깁니다 (NameIndex 적재용).
+     * 두 컬럼만 읽고, MySQL은 행 단위 스트리밍으로 받으므로 결과 전체를 힙에 올리지 않습니다.
+     *
+     * @return 넘긴 행 수
+     */
+    public long forEachName(BiConsumer<String, String> action) {
+        boolean mysql = databaseManager.getDatabaseType() == DatabaseType.MYSQL;
+        return databaseManager.executeReadOnly(loadNamesTimer, connection -> {
+            try (Statement statement = connection.createStatement(
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(mysql ? Integer.MIN_VALUE : 1000);
+                try (ResultSet rs = statement.executeQuery("SELECT uuid, player_name FROM player_data")) {
+                    UuidStorage storage = UuidStorage.active();
+                    long count = 0;
+                    while (rs.next()) {
+                        action.accept(storage.fromJdbc(rs.getObject(1)), rs.getString(2));
+                        count++;
+                    }
+                    return count;
+                }
+            }
+        });
+    }
+
+    public List<PlayerSnapshot> findTopByMoney(int limit) {
+        return databaseManager.executeReadOnly(findTopTimer, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + COLUMNS + " FROM player_data ORDER BY balance DESC LIMIT ?")) {
+                statement.setInt(1, limit);
+                try (ResultSet rs = statement.executeQuery()) {
+                    List<PlayerSnapshot> result = new ArrayList<>(limit);
+                    while (rs.next()) {
+                        result.add(map(rs));
+                    }
+                    return result;
+                }
+            }
+        });
+    }
+
+    /**
+     * 조건에 맞는 한 페이지를 조회합니다.
+     *
+     * 정렬 컬럼마다 (정렬 컬럼, uuid) 인덱스가 있어서 커서 위치부터 limit + 1개만 읽습니다
+     * (하나 더 읽어서 다음 페이지가 있는지 판단). 정렬 컬럼이 아닌 필터는 인덱스를 따라가며 거르므로
+     * 조건에 맞는 행이 드물면 더 많이 읽습니다. 미접속자는 LAST_LOGIN_ASC + lastLoginBefore,
+     * 닉네임 검색은 NAME_ASC + namePrefix로 조회하면 필터도 인덱스 범위가 됩니다.
+     *
+     * @throws IllegalArgumentException 커서가 잘못되었거나 다른 정렬의 커서
+     */
+    public PlayerPage findPage(PlayerQuery query) {
+        PlayerQuery.Cursor cursor = query.decodeCursor();
+        return databaseManager.executeReadOnly(findPageTimer, connection -> {
+            List<Object> parameters = new ArrayList<>();
+            String sql = buildPageSql(query, cursor, parameters);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    List<PlayerSnapshot> players = new ArrayList<>(query.limit());
+                    boolean hasMore = false;
+                    while (rs.next()) {
+                        if (players.size() == query.limit()) {
+                            hasMore = true;
+                            break;
+                        }
+                        players.add(map(rs));
+                    }
+                    String next = hasMore ? query.cursorAfter(players.get(players.size() - 1)) : null;
+                    return new PlayerPage(List.copyOf(players), next);
+                }
+            }
+        });
+    }
+
+    /**
+     * 조건에 맞는 모든 플레이어를 페이지 단위로 이어서 읽으며 넘깁니다.
+     * 페이지마다 커넥션을 잠깐만 빌리므로 결과가 많아도 커넥션을 오래 잡지 않고, 메모리에는 한 페이지만 올라갑니다.
+     *
+     * @param query  조건 (limit이 한 번에 읽을 행 수, cursor가 있으면 그 다음부터)
+     * @param action 행마다 호출 (조회 스레드에서 실행)
+     * @return 넘긴 행 수
+     */
+    public long forEach(PlayerQuery query, Consumer<PlayerSnapshot> action) {
+        long count = 0;
+        PlayerQuery current = query;
+        while (true) {
+            PlayerPage page = findPage(current);
+            page.players().forEach(action);
+            count += page.players().size();
+            if (!page.hasNext()) {
+                return count;
+            }
+            current = current.after(page.nextCursor());
+        }
+    }
+
+    public CompletableFuture<PlayerPage> findPageAsync(PlayerQuery query) {
+        return databaseManager.callReadAsync(() -> findPage(query));
+    }
+
+    private String buildPageSql(PlayerQuery query, PlayerQuery.Cursor cursor, List<Object> parameters) {
+        boolean sqlite = databaseManager.getDatabaseType() == DatabaseType.SQLITE;
+        // 닉네임 인덱스는 대소문자 무시 (SQLite는 NOCASE 표현식 인덱스, MySQL은 컬럼 콜레이션)
+        String nameColumn = sqlite ? "player_name COLLATE NOCASE" : "player_name";
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM player_data WHERE 1 = 1");
+        if (query.minBalance() != null) {
+            sql.append(" AND balance >= ?");
+            parameters.add(query.minBalance());
+        }
+        if (query.minPlayTime() != null) {
+            sql.append(" AND play_time_minutes >= ?");
+            parameters.add(query.minPlayTime());
+        }
+        if (query.lastLoginAfter() != null) {
+            sql.append(" AND last_login >= ?");
+            parameters.add(Timestamp.from(query.lastLoginAfter()));
+        }
+        if (query.lastLoginBefore() != null) {
+            sql.append(" AND last_login < ?");
+            parameters.add(Timestamp.from(query.lastLoginBefore()));
+        }
+        if (query.namePrefix() != null) {
+            appendNamePrefix(sql, parameters, query.namePrefix(), sqlite, nameColumn);
+        }
+
+        String column = switch (query.sort()) {
+            case MONEY_DESC -> "balance";
+            case PLAY_TIME_DESC -> "play_time_minutes";
+            case LAST_LOGIN_DESC, LAST_LOGIN_ASC -> "last_login";
+            case NAME_ASC -> nameColumn;
+        };
+        boolean descending = query.sort() == PlayerQuery.Sort.MONEY_DESC
+                || query.sort() == PlayerQuery.Sort.PLAY_TIME_DESC
+                || query.sort() == PlayerQuery.Sort.LAST_LOGIN_DESC;
+        if (column.equals("last_login")) {
+            sql.append(" AND last_login IS NOT NULL");
+        }
+
+        if (cursor != null) {
+            Object key = cursor.key() instanceof Instant instant ? Timestamp.from(instant) : cursor.key();
+            if (query.sort() == PlayerQuery.Sort.NAME_ASC) {
+                // 닉네임은 유일하므로 동점 구분이 필요 없습니다
+                sql.append(" AND ").append(column).append(" > ?");
+                parameters.add(key);
+            } else {
+                // 첫 조건이 인덱스 범위의 시작점이 되고, 두 번째 조건은 커서와 같은 키의 앞쪽 행만 거릅니다
+                String bound = descending ? " <= ?" : " >= ?";
+                String strict = descending ? " < ?" : " > ?";
+                sql.append(" AND ").append(column).append(bound)
+                        .append(" AND (").append(column).append(strict).append(" OR uuid > ?)");
+                parameters.add(key);
+                parameters.add(key);
+                parameters.add(UuidStorage.active().toJdbc(cursor.uuid()));
+            }
+        }
+
+        sql.append(" ORDER BY ").append(column).append(descending ? " DESC" : " ASC");
+        if (query.sort() != PlayerQuery.Sort.NAME_ASC) {
+            sql.append(", uuid ASC");
+        }
+        sql.append(" LIMIT ?");
+        parameters.add(query.limit() + 1);
+        return sql.toString();
+    }
+
+    /**
+     * 닉네임 접두사를 인덱스 범위 조건으로 붙입니다.
+     * SQLite의 LIKE는 컬럼 자체가 NOCASE가 아니면 인덱스를 쓰지 못하므로 [접두사, 다음 접두사) 범위로 바꿉니다.
+     */
+    private static void appendNamePrefix(StringBuilder sql, List<Object> parameters, String prefix,
+                                         boolean sqlite, String nameColumn) {
+        if (!sqlite) {
+            sql.append(" AND player_name LIKE ? ESCAPE '!'");
+            parameters.add(prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%");
+            return;
+        }
+        // NOCASE는 ASCII 대문자를 소문자로 바꿔 비교하므로 경계값도 소문자로 맞춥니다 ('Z' + 1은 '['라서 범위가 틀어짐)
+        StringBuilder lower = new StringBuilder(prefix.length());
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            lower.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        sql.append(" AND ").append(nameColumn).append(" >= ?");
+        parameters.add(lower.toString());
+        char last = lower.charAt(lower.length() - 1);
+        if (last != Character.MAX_VALUE) {
+            lower.setCharAt(lower.length() - 1, (char) (last + 1));
+            sql.append(" AND ").append(nameColumn).append(" < ?");
+            parameters.add(lower.toString());
+        }
+    }
+
+    /**
+     * COLUMNS 순서로 조회한 행을 PlayerSnapshot으로 변환합니다.
+     */
+    static PlayerSnapshot map(ResultSet rs) throws SQLException {
+        Timestamp lastLogin = rs.getTimestamp(4);
+        return new PlayerSnapshot(
+                UuidStorage.active().fromJdbc(rs.getObject(1)),
+                rs.getString(2),
+                rs.getLong(3),
+                lastLogin == null ? null : lastLogin.toInstant(),
+                rs.getLong(5));
+    }
+}
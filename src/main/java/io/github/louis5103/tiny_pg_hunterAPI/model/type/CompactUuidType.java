@@ -0,0 +1,81 @@
+package io.github.louis5103.tiny_pg_hunterAPI.model.type;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * String UUID 속성을 UuidStorage 설정에 따라 문자열 또는 16바이트로 저장하는 Hibernate 타입입니다.
+ *
+ * 엔티티와 JPQL 쿼리는 저장 방식과 관계없이 String UUID를 그대로 사용할 수 있습니다.
+ */
+public class CompactUuidType implements UserType<String> {
+
+    @Override
+    public int getSqlType() {
+        return UuidStorage.active().sqlType();
+    }
+
+    @Override
+    public Class<String> returnedClass() {
+        return String.class;
+    }
+
+    @Override
+    public boolean equals(String x, String y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(String x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public String nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        if (UuidStorage.active() == UuidStorage.BINARY) {
+            byte[] bytes = rs.getBytes(position);
+            return bytes == null ? null : UuidStorage.fromBytes(bytes);
+        }
+        return rs.getString(position);
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, String value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        UuidStorage storage = UuidStorage.active();
+        if (value == null) {
+            st.setNull(index, storage.sqlType());
+        } else if (storage == UuidStorage.BINARY) {
+            st.setBytes(index, UuidStorage.toBytes(value));
+        } else {
+            st.setString(index, value);
+        }
+    }
+
+    @Override
+    public String deepCopy(String value) {
+        return value; // String은 불변
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(String value) {
+        return value;
+    }
+
+    @Override
+    public String assemble(Serializable cached, Object owner) {
+        return (String) cached;
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.louis5103.tiny_pg_hunterAPI.model.type;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 돈 금액 표현입니다. 잔액은 최소 단위(1/100)의 long으로 저장하고 계산합니다.
+ *
+ * - 더하고 빼는 동안 부동소수점 오차가 쌓이지 않습니다 (0.1 + 0.2가 정확히 0.30)
+ * - 기본형 long이라 계산과 CAS에 박싱이 없습니다
+ * - 소수 두 자리 문자열로는 표시하거나 입력받을 때만 바꿉니다
+ *
+ * 최소 단위 크기(SCALE)는 DB에 저장된 값의 의미이므로 바꾸면 안 됩니다.
+ */
+public final class Money {
+
+    // 소수점 아래 자리 수와, 1원(표시 단위)이 몇 최소 단위인지
+    public static final int FRACTION_DIGITS = 2;
+    public static final long SCALE = 100L;
+
+    private static final double MAX_MAJOR = Long.MAX_VALUE / (double) SCALE;
+
+    private Money() {
+    }
+
+    /**
+     * 소수 금액(예: 12.34)을 최소 단위(1234)로 바꿉니다. 셋째 자리에서 반올림합니다.
+     * double을 쓰는 외부 API와 맞닿는 곳에서만 사용하세요.
+     *
+     * @throws IllegalArgumentException NaN, 무한대, 범위를 벗어난 금액
+     */
+    public static long ofMajor(double amount) {
+        if (!Double.isFinite(amount) || Math.abs(amount) >= MAX_MAJOR) {
+            throw new IllegalArgumentException("금액이 범위를 벗어났습니다: " + amount);
+        }
+        return Math.round(amount * SCALE);
+    }
+
+    /**
+     * 최소 단위를 소수 금액으로 바꿉니다 (표시나 double을 쓰는 외부 API용, 계산에는 쓰지 마세요).
+     */
+    public static double toMajor(long minor) {
+        return minor / (double) SCALE;
+    }
+
+    /**
+     * "12.34", "-5", "1.0E7" 같은 문자열을 최소 단위로 바꿉니다. 셋째 자리에서 반올림합니다.
+     *
+     * @throws IllegalArgumentException 숫자가 아니거나 범위를 벗어난 경우
+     */
+    public static long parse(String text) {
+        try {
+            return new BigDecimal(text.trim())
+                    .setScale(FRACTION_DIGITS, RoundingMode.HALF_UP)
+                    .unscaledValue()
+                    .longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("잘못된 금액입니다: " + text, e);
+        }
+    }
+
+    /**
+     * 최소 단위를 "1234.56" 형식(항상 소수 두 자리)으로 씁니다.
+     */
+    public static String format(long minor) {
+        return appendTo(new StringBuilder(24), minor).toString();
+    }
+
+    /**
+     * format과 같은 형식으로 StringBuilder에 이어 씁니다 (행마다 문자열을 만들지 않는 내보내기용).
+     */
+    public static StringBuilder appendTo(StringBuilder out, long minor) {
+        long major = minor / SCALE;
+        long fraction = Math.abs(minor % SCALE);
+        if (minor < 0 && major == 0) {
+            out.append('-');
+        }
+        out.append(major).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.louis5103.tiny_pg_hunterAPI.model.type;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseType;
+
+import java.nio.ByteBuffer;
+import java.sql.Types;
+import java.util.UUID;
+
+/**
+ * player_data.uuid 컬럼의 저장 방식입니다. config.yml의 database.uuid-storage 값과 대응합니다.
+ *
+ * - TEXT: 36자 문자열 (기본값, 기존 테이블과 호환)
+ * - BINARY: 16바이트 (MySQL BINARY(16), SQLite BLOB)
+ *   기본키와 모든 보조 인덱스가 작아지고 비교가 빨라집니다.
+ *
+ * 엔티티의 uuid 필드는 어느 방식이든 String으로 유지되며, 변환은 CompactUuidType이 담당합니다.
+ * 네이티브 SQL에서 uuid를 바인딩하거나 읽을 때는 toJdbc / fromJdbc를 사용해야 합니다.
+ */
+public enum UuidStorage {
+    TEXT,
+    BINARY;
+
+    // Hibernate 타입은 설정 객체를 주입받을 수 없으므로 부트스트랩 전에 한 번 지정합니다
+    private static volatile UuidStorage active = TEXT;
+    private static volatile DatabaseType databaseType = DatabaseType.SQLITE;
+
+    /**
+     * 사용할 저장 방식을 지정합니다. SessionFactory를 만들기 전에 호출해야 합니다.
+     */
+    public static void activate(UuidStorage storage, DatabaseType type) {
+        active = storage;
+        databaseType = type;
+    }
+
+    public static UuidStorage active() {
+        return active;
+    }
+
+    public static UuidStorage fromConfig(String value) {
+        return "binary".equalsIgnoreCase(value) ? BINARY : TEXT;
+    }
+
+    /**
+     * 이 저장 방식의 JDBC 타입 코드입니다.
+     */
+    public int sqlType() {
+        if (this == TEXT) {
+            return Types.VARCHAR;
+        }
+        return databaseType == DatabaseType.MYSQL ? Types.BINARY : Types.BLOB;
+    }
+
+    /**
+     * UUID 문자열을 JDBC 바인딩 값으로 변환합니다.
+     */
+    public Object toJdbc(String uuid) {
+        return this == TEXT || uuid == null ? uuid : toBytes(uuid);
+    }
+
+    /**
+     * JDBC에서 읽은 값을 UUID 문자열로 변환합니다.
+     */
+    public String fromJdbc(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof byte[] bytes ? fromBytes(bytes) : value.toString();
+    }
+
+    /**
+     * UUID 문자열을 16바이트(상위 8바이트 + 하위 8바이트, 빅엔디안)로 변환합니다.
+     */
+    public static byte[] toBytes(String uuid) {
+        UUID parsed = UUID.fromString(uuid);
+        return ByteBuffer.allocate(16)
+                .putLong(parsed.getMostSignificantBits())
+                .putLong(parsed.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("UUID는 16바이트여야 합니다: " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import io.github.louis5103.tiny_pg_hunterAPI.journal.TransactionJournal;
+import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * 접속 중인 플레이어의 잔액을 여러 스레드에서 잠금 없이 바꾸는 장부입니다 (금액은 Money의 최소 단위).
+ *
+ * 구조:
+ * - 잔액 칸은 플레이어마다 PlayerData의 long 필드 하나이고, 모든 변경은 그 칸에 대한 CAS입니다.
+ *   전역 잠금이나 공유 카운터가 없어서 서로 다른 플레이어의 거래는 서로를 기다리지 않고,
+ *   같은 플레이어에 몰릴 때만 CAS 재시도가 생깁니다
+ * - 플레이어 조회는 세션 캐시의 ConcurrentHashMap(버킷 단위로 나뉜 구조)이라 읽기에 잠금이 없습니다
+ * - 송금은 보내는 쪽 차감 → 받는 쪽 입금 순서의 CAS 두 번입니다. 잠금을 잡지 않으므로
+ *   A→B와 B→A가 동시에 일어나도 교착 상태가 없습니다. 두 CAS 사이에는 금액이 어느 쪽에도 보이지 않지만
+ *   유실되거나 두 번 더해지지 않습니다
+ * - 금액이 기본형 long이라 거래마다 박싱이나 할당이 없습니다
+ *
+ * 거래는 변경 플래그만 세우고, DB 반영은 PlayerSessionCache의 다음 저장 주기에 한 번에 합니다.
+ * 리더보드 같은 돈 변경 구독자(PlayerSessionCache.setMoneyListener)에게는 거래가 성공한 직후 알립니다.
+ * 거래 저널이 켜져 있으면 거래마다 저널에 기록하므로, 저장 주기 전에 서버가 멈춰도 다음 시작 때 잔액이 복구되고
+ * money_transactions에 감사 기록이 남습니다 (저널 기록에 실패한 거래는 잔액을 되돌리고 IllegalStateException).
+ * 오프라인 플레이어는 PlayerDataRepository.addMoney / withdrawMoney를 사용하세요 (저널에 기록되지 않음).
+ */
+public class BalanceLedger {
+
+    /**
+     * 송금 결과입니다.
+     */
+    public enum TransferResult {
+        SUCCESS,
+        INSUFFICIENT_FUNDS,
+        // 보내는 쪽이나 받는 쪽이 접속 중이 아님 (잔액은 바뀌지 않음)
+        NOT_ONLINE
+    }
+
+    private final PlayerSessionCache sessionCache;
+    // null이면 저널 없이 잔액만 바꿉니다
+    private final TransactionJournal journal;
+
+    public BalanceLedger(PlayerSessionCache sessionCache) {
+        this(sessionCache, null);
+    }
+
+    /**
+     * @param journal 거래를 기록할 저널 (null이면 기록하지 않음)
+     */
+    public BalanceLedger(PlayerSessionCache sessionCache, TransactionJournal journal) {
+        if (sessionCache == null) {
+            throw new IllegalArgumentException("PlayerSessionCache는 null일 수 없습니다!");
+        }
+
+        this.sessionCache = sessionCache;
+        this.journal = journal;
+    }
+
+    /**
+     * 접속 중인 플레이어의 잔액입니다. 접속 중이 아니면 비어 있습니다.
+     */
+    public OptionalLong getBalance(UUID uuid) {
+        PlayerData account = sessionCache.get(uuid);
+        return account == null ? OptionalLong.empty() : OptionalLong.of(account.getBalance());
+    }
+
+    /**
+     * 입금합니다.
+     *
+     * @return 입금했으면 true, 접속 중이 아니면 false
+     * @throws ArithmeticException 잔액이 long 범위를 넘는 경우 (잔액은 바뀌지 않음)
+     */
+    public boolean deposit(UUID uuid, long amount) {
+        return deposit(uuid, amount, "deposit");
+    }
+
+    /**
+     * 사유를 남기며 입금합니다.
+     *
+     * @param reason 저널과 money_transactions에 남길 사유 (최대 TransactionJournal.MAX_REASON_LENGTH자)
+     */
+    public boolean deposit(UUID uuid, long amount, String reason) {
+        requireNonNegative(amount);
+        PlayerData account = sessionCache.get(uuid);
+        if (account == null) {
+            return false;
+        }
+        apply(account, amount, false, reason);
+        return true;
+    }
+
+    /**
+     * 잔액이 충분할 때만 출금합니다.
+     *
+     * @return 출금했으면 true, 잔액이 부족하거나 접속 중이 아니면 false
+     */
+    public boolean withdraw(UUID uuid, long amount) {
+        return withdraw(uuid, amount, "withdraw");
+    }
+
+    /**
+     * 사유를 남기며 잔액이 충분할 때만 출금합니다.
+     */
+    public boolean withdraw(UUID uuid, long amount, String reason) {
+        requireNonNegative(amount);
+        PlayerData account = sessionCache.get(uuid);
+        return account != null && apply(account, -amount, true, reason);
+    }
+
+    /**
+     * 접속 중인 두 플레이어 사이에서 송금합니다 (잠금 없음, 교착 없음).
+     *
+     * @throws ArithmeticException 받는 쪽 잔액이 long 범위를 넘는 경우 (보낸 쪽에 "refund:" 기록과 함께 되돌린 뒤 던짐)
+     * @throws IllegalStateException 거래 저널에 기록할 수 없는 경우 (되돌림도 기록을 남기며, 기록하지 못하면 suppressed로 붙음)
+     */
+    public TransferResult transfer(UUID from, UUID to, long amount) {
+        requireNonNegative(amount);
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("자기 자신에게 송금할 수 없습니다: " + from);
+        }
+        PlayerData sender = sessionCache.get(from);
+        PlayerData receiver = sessionCache.get(to);
+        if (sender == null || receiver == null) {
+            return TransferResult.NOT_ONLINE;
+        }
+        if (!apply(sender, -amount, true, "transfer:" + to)) {
+            return TransferResult.INSUFFICIENT_FUNDS;
+        }
+        try {
+            apply(receiver, amount, false, "transfer:" + from);
+        } catch (ArithmeticException | IllegalStateException e) {
+            refund(sender, amount, to, e);
+            throw e;
+        }
+        return TransferResult.SUCCESS;
+    }
+
+    /**
+     * 받는 쪽 입금에 실패한 송금을 보낸 쪽에 되돌립니다.
+     * 차감은 이미 저널에 있으므로 되돌림도 기록으로 남겨야 합니다. 기록 없이 되돌리면 다음 저장 전에 서버가 멈췄을 때
+     * 복구가 차감만 다시 적용해서 보낸 쪽 돈이 사라집니다.
+     * 되돌림마저 기록하지 못하면 (저널이 그 사이 닫혔거나 쓰기에 실패) 잔액은 차감된 채로 두고,
+     * 그 실패를 원래 예외에 suppressed로 붙입니다.
+     */
+    private void refund(PlayerData sender, long amount, UUID to, RuntimeException cause) {
+        try {
+            apply(sender, amount, false, "refund:" + to);
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * 저널이 있으면 기록과 함께, 없으면 잔액만 CAS로 바꾸고, 바꿨으면 돈 변경 구독자에게 알립니다.
+     *
+     * @return 바꿨으면 true, requireFunds인데 잔액이 부족하면 false
+     */
+    private boolean apply(PlayerData account, long amount, boolean requireFunds, String reason) {
+        boolean applied;
+        if (journal == null) {
+            applied = account.applyJournaled(amount, requireFunds, 0L, null);
+        } else {
+            UUID player = UUID.fromString(account.getUuid());
+            applied = account.applyJournaled(amount, requireFunds, journal.journalId(),
+                    balanceAfter -> journal.append(player, amount, balanceAfter, reason));
+        }
+        if (applied) {
+            sessionCache.notifyMoneyChanged(account);
+        }
+        return applied;
+    }
+
+    private static void requireNonNegative(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("금액은 음수일 수 없습니다: " + amount);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 접속/퇴장 메시지를 모든 플레이어에게 보내는 방송 서비스입니다.
+ *
+ * 서버 기본 방식은 메시지를 플레이어마다 따로 만들고, 접속이 몰리면 N명 × N개의 패킷이 나갑니다.
+ * 이 서비스는 다음과 같이 줄입니다:
+ * - 메시지는 한 번만 만들어서 같은 Component를 모든 수신자에게 보냅니다
+ * - 수신 권한(tinypg.broadcast.receive)이 없는 플레이어는 받지 않습니다
+ * - 방송 창(window-ticks)마다 개별 메시지는 max-individual개까지만 보내고,
+ *   나머지는 창이 끝날 때 "12명이 더 접속했습니다 (...)" 한 줄로 묶어서 보냅니다
+ *
+ * 모든 메서드는 서버 메인 스레드에서 호출해야 합니다.
+ */
+public class BroadcastService {
+
+    /** 접속/퇴장 방송을 받는 권한 */
+    public static final String RECEIVE_PERMISSION = "tinypg.broadcast.receive";
+
+    private final Server server;
+    private final MessageService messageService;
+    private final boolean enabled;
+    private final int maxIndividual;
+    private final int maxListedNames;
+
+    private final Window joins;
+    private final Window quits;
+
+    private BukkitTask flushTask;
+
+    public BroadcastService(Server server, MessageService messageService, boolean enabled,
+                            int maxIndividual, int maxListedNames) {
+        if (server == null) {
+            throw new IllegalArgumentException("Server는 null일 수 없습니다!");
+        }
+        if (messageService == null) {
+            throw new IllegalArgumentException("MessageService는 null일 수 없습니다!");
+        }
+
+        this.server = server;
+        this.messageService = messageService;
+        this.enabled = enabled;
+        this.maxIndividual = Math.max(0, maxIndividual);
+        this.maxListedNames = Math.max(1, maxListedNames);
+        this.joins = new Window(messageService.getTemplate("join"), messageService.getTemplate("join-aggregate"));
+        this.quits = new Window(messageService.getTemplate("quit"), messageService.getTemplate("quit-aggregate"));
+    }
+
+    /**
+     * 방송 창마다 모아 둔 메시지를 내보내는 작업을 시작합니다.
+     *
+     * @param windowTicks 방송 창 길이 (틱)
+     */
+    public void start(Plugin plugin, long windowTicks) {
+        if (!enabled) {
+            return;
+        }
+        long interval = Math.max(1L, windowTicks);
+        flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::flush, interval, interval);
+    }
+
+    /**
+     * 작업을 멈추고 모아 둔 메시지를 버립니다 (종료 중에는 보낼 대상이 없음).
+     */
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        joins.reset();
+        quits.reset();
+    }
+
+    /**
+     * 접속 메시지를 처리합니다. 서버 기본 메시지는 끄고 이 서비스가 대신 보냅니다.
+     * 비활성화되어 있으면 기본 메시지만 교체합니다.
+     */
+    public void announceJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        if (!enabled) {
+            event.joinMessage(messageService.joinMessage(player));
+            return;
+        }
+        event.joinMessage(null);
+        offer(joins, player.getName(), null);
+    }
+
+    /**
+     * 퇴장 메시지를 처리합니다. 나가는 플레이어 본인에게는 보내지 않습니다.
+     */
+    public void announceQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        if (!enabled) {
+            event.quitMessage(messageService.quitMessage(player));
+            return;
+        }
+        event.quitMessage(null);
+        offer(quits, player.getName(), player);
+    }
+
+    private void offer(Window window, String playerName, Player exclude) {
+        if (window.sent < maxIndividual) {
+            window.sent++;
+            broadcast(window.single.render("player", playerName), exclude);
+        } else {
+            window.pending.add(playerName);
+        }
+    }
+
+    /**
+     * 창이 끝날 때 묶인 메시지를 보내고 다음 창을 시작합니다.
+     */
+    private void flush() {
+        flush(joins);
+        flush(quits);
+    }
+
+    private void flush(Window window) {
+        if (!window.pending.isEmpty()) {
+            broadcast(window.aggregate.render(Map.of(
+                    "count", String.valueOf(window.pending.size()),
+                    "players", listNames(window.pending))), null);
+        }
+        window.reset();
+    }
+
+    private String listNames(List<String> names) {
+        int listed = Math.min(names.size(), maxListedNames);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < listed; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(names.get(i));
+        }
+        int rest = names.size() - listed;
+        if (rest > 0) {
+            builder.append(" 외 ").append(rest).append("명");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 이미 만들어진 Component 하나를 수신 권한이 있는 플레이어와 콘솔에 보냅니다.
+     */
+    private void broadcast(Component message, Player exclude) {
+        for (Player viewer : server.getOnlinePlayers()) {
+            if (viewer != exclude && viewer.hasPermission(RECEIVE_PERMISSION)) {
+                viewer.sendMessage(message);
+            }
+        }
+        server.getConsoleSender().sendMessage(message);
+    }
+
+    /**
+     * 방송 창 하나의 상태입니다 (보낸 개별 메시지 수, 묶어서 보낼 이름).
+     */
+    private static final class Window {
+        private final MessageTemplate single;
+        private final MessageTemplate aggregate;
+        private final List<String> pending = new ArrayList<>();
+        private int sent;
+
+        private Window(MessageTemplate single, MessageTemplate aggregate) {
+            this.single = single;
+            this.aggregate = aggregate;
+        }
+
+        private void reset() {
+            pending.clear();
+            sent = 0;
+        }
+    }
+}
@@ -1,96 +1,223 @@
 package io.github.louis5103.tiny_pg_hunterAPI.service;
 
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 메시지 관련 비즈니스 로직을 처리하는 서비스 클래스입니다.
- * 
+ *
  * 서비스 클래스의 역할:
  * - 비즈니스 로직을 캡슐화하여 재사용성을 높입니다
  * - 메시지 포맷팅, 다국어 지원, 권한별 메시지 등을 처리합니다
  * - 여러 다른 클래스에서 공통으로 사용할 수 있는 기능들을 제공합니다
- * 
- * 이전에는 Spring의 @Service 어노테이션을 사용했지만,
- * 이제는 단순한 POJO(Plain Old Java Object)로 구현합니다.
- * 이렇게 하면 Spring 없이도 동일한 기능을 수행할 수 있습니다.
+ *
+ * 메시지는 config.yml의 messages 섹션에서 템플릿으로 읽어 시작 시 한 번만 해석합니다.
+ * - {prefix}는 plugin.prefix 값으로 해석 단계에서 미리 채워집니다
+ * - {player}, {message} 같은 자리표시자만 출력할 때마다 채워집니다
+ * - 자리표시자가 없는 메시지는 불변 Adventure Component로 만들어 두고 그대로 재사용합니다
+ *
+ * 따라서 접속이 몰려도 접두사를 매번 String.format으로 다시 만들지 않습니다.
+ * 예전의 문자열 메서드(getJoinMessage 등)는 호환을 위해 남아 있으며, Component 메서드는 get 없는 이름입니다.
  */
 public class MessageService {
-    
-    // 메시지 색상 코드들을 상수로 정의해서 일관성 있게 사용
-    private static final String PREFIX_COLOR = "§b";
-    private static final String ACCENT_COLOR = "§a";
-    private static final String PLAYER_NAME_COLOR = "§e";
-    private static final String TEXT_COLOR = "§f";
-    
+
+    // 문자열 API가 돌려줄 형식 (§ 색상 코드, 이전 버전과 같음)
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+    // config.yml에 없을 때 사용하는 기본값
+    private static final String DEFAULT_PREFIX = "&7[&6TinyPGHunter&7]&r";
+    private static final Map<String, String> DEFAULT_TEMPLATES = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_TEMPLATES.put("join", "{prefix} &e{player}&f님이 서버에 접속했습니다!");
+        DEFAULT_TEMPLATES.put("quit", "{prefix} &e{player}&f님이 서버에서 나갔습니다.");
+        DEFAULT_TEMPLATES.put("join-aggregate", "{prefix} &e{count}&f명이 더 접속했습니다 &7({players})");
+        DEFAULT_TEMPLATES.put("quit-aggregate", "{prefix} &e{count}&f명이 더 나갔습니다 &7({players})");
+        DEFAULT_TEMPLATES.put("command", "{prefix} &f{message}");
+        DEFAULT_TEMPLATES.put("error", "{prefix} &c{message}");
+        DEFAULT_TEMPLATES.put("success", "{prefix} &a{message}");
+        DEFAULT_TEMPLATES.put("first-join", "{prefix} &a처음 오신 것을 환영합니다!");
+        DEFAULT_TEMPLATES.put("first-join-hint", "{prefix} &f/hello 명령어로 플러그인을 테스트해보세요!");
+        DEFAULT_TEMPLATES.put("vip-join", "{prefix} &aVIP 플레이어로 접속하셨습니다!");
+        DEFAULT_TEMPLATES.put("starting-up", "{prefix} &c서버가 아직 시작 중입니다. 잠시 후 다시 접속해 주세요.");
+        DEFAULT_TEMPLATES.put("database-error", "{prefix} &c데이터베이스 연결에 문제가 발생했습니다.");
+        DEFAULT_TEMPLATES.put("hello", "{prefix} &f안녕하세요! 플러그인이 정상적으로 작동하고 있습니다!");
+    }
+
+    private final Map<String, MessageTemplate> templates = new HashMap<>();
+
+    // 자주 쓰는 템플릿은 조회 없이 바로 사용합니다
+    private final MessageTemplate joinTemplate;
+    private final MessageTemplate quitTemplate;
+    private final MessageTemplate commandTemplate;
+    private final MessageTemplate errorTemplate;
+    private final MessageTemplate successTemplate;
+
+    /**
+     * 기본 메시지로 생성합니다 (서버 없이 사용할 때).
+     */
+    public MessageService() {
+        this(null);
+    }
+
+    /**
+     * 설정의 plugin.prefix와 messages 섹션으로 생성합니다. 없는 항목은 기본 메시지를 사용합니다.
+     *
+     * @param config 플러그인 설정 (null이면 모두 기본값)
+     */
+    public MessageService(ConfigurationSection config) {
+        String prefix = config != null ? config.getString("plugin.prefix", DEFAULT_PREFIX) : DEFAULT_PREFIX;
+        Map<String, String> constants = Map.of("prefix", prefix);
+
+        for (Map.Entry<String, String> entry : DEFAULT_TEMPLATES.entrySet()) {
+            String template = config != null
+                    ? config.getString("messages." + entry.getKey(), entry.getValue())
+                    : entry.getValue();
+            templates.put(entry.getKey(), MessageTemplate.compile(template, constants));
+        }
+        // 기본값에 없는 사용자 정의 메시지도 getMessage로 쓸 수 있게 합니다
+        if (config != null && config.isConfigurationSection("messages")) {
+            ConfigurationSection section = config.getConfigurationSection("messages");
+            for (String key : section.getKeys(false)) {
+                if (!templates.containsKey(key) && section.isString(key)) {
+                    templates.put(key, MessageTemplate.compile(section.getString(key), constants));
+                }
+            }
+        }
+
+        this.joinTemplate = templates.get("join");
+        this.quitTemplate = templates.get("quit");
+        this.commandTemplate = templates.get("command");
+        this.errorTemplate = templates.get("error");
+        this.successTemplate = templates.get("success");
+    }
+
     /**
      * 플레이어 접속 시 표시될 메시지를 생성합니다.
-     * 
+     *
      * @param player 접속한 플레이어 객체
      * @return 포맷팅된 접속 메시지
-     * 
-     * 메시지 포맷 설명:
-     * - §b[§aTiny PG§b] : 플러그인 프리픽스 (파란색 괄호, 초록색 이름)
-     * - §e플레이어명§f : 노란색 플레이어 이름, 흰색 텍스트
      */
-    public String getJoinMessage(Player player) {
-        String playerName = player.getName();
-        
+    public Component joinMessage(Player player) {
         // 나중에 여기서 추가 기능들을 구현할 수 있습니다:
         // - 플레이어의 권한 레벨에 따른 다른 메시지
         // - 첫 접속 여부에 따른 환영 메시지
         // - 길드나 파티 정보 포함
         // - 다국어 지원
-        
-        return String.format("%s[%sTiny PG%s] %s%s%s님이 서버에 접속했습니다!",
-                PREFIX_COLOR, ACCENT_COLOR, PREFIX_COLOR,
-                PLAYER_NAME_COLOR, playerName, TEXT_COLOR);
+
+        return joinTemplate.render("player", player.getName());
     }
-    
+
     /**
      * 플레이어 퇴장 시 표시될 메시지를 생성합니다.
-     * 
+     *
      * @param player 퇴장한 플레이어 객체
      * @return 포맷팅된 퇴장 메시지
      */
-    public String getQuitMessage(Player player) {
-        String playerName = player.getName();
-        return String.format("%s[%sTiny PG%s] %s%s%s님이 서버에서 나갔습니다.",
-                PREFIX_COLOR, ACCENT_COLOR, PREFIX_COLOR,
-                PLAYER_NAME_COLOR, playerName, TEXT_COLOR);
+    public Component quitMessage(Player player) {
+        return quitTemplate.render("player", player.getName());
     }
-    
+
     /**
      * 명령어 응답 메시지를 생성합니다.
-     * 
+     *
      * @param message 기본 메시지 내용
      * @return 플러그인 프리픽스가 포함된 메시지
      */
-    public String getCommandMessage(String message) {
-        return String.format("%s[%sTiny PG%s] %s%s",
-                PREFIX_COLOR, ACCENT_COLOR, PREFIX_COLOR,
-                TEXT_COLOR, message);
+    public Component commandMessage(String message) {
+        return commandTemplate.render("message", message);
     }
-    
+
     /**
      * 오류 메시지를 생성합니다.
-     * 
+     *
      * @param errorMessage 오류 내용
      * @return 빨간색으로 포맷팅된 오류 메시지
      */
-    public String getErrorMessage(String errorMessage) {
-        return String.format("%s[%sTiny PG%s] §c%s",
-                PREFIX_COLOR, ACCENT_COLOR, PREFIX_COLOR, errorMessage);
+    public Component errorMessage(String errorMessage) {
+        return errorTemplate.render("message", errorMessage);
     }
-    
+
     /**
      * 성공 메시지를 생성합니다.
-     * 
+     *
      * @param successMessage 성공 내용
      * @return 초록색으로 포맷팅된 성공 메시지
      */
+    public Component successMessage(String successMessage) {
+        return successTemplate.render("message", successMessage);
+    }
+
+    // === 문자열 API (이전 버전 호환) ===
+    // 같은 템플릿으로 만든 Component를 §색상 코드 문자열로 바꿔 돌려줍니다. 호출마다 직렬화하므로 새 코드는 위 메서드를 쓰세요.
+
+    /**
+     * @deprecated {@link #joinMessage(Player)}를 사용하세요
+     */
+    @Deprecated
+    public String getJoinMessage(Player player) {
+        return LEGACY.serialize(joinMessage(player));
+    }
+
+    /**
+     * @deprecated {@link #quitMessage(Player)}를 사용하세요
+     */
+    @Deprecated
+    public String getQuitMessage(Player player) {
+        return LEGACY.serialize(quitMessage(player));
+    }
+
+    /**
+     * @deprecated {@link #commandMessage(String)}를 사용하세요
+     */
+    @Deprecated
+    public String getCommandMessage(String message) {
+        return LEGACY.serialize(commandMessage(message));
+    }
+
+    /**
+     * @deprecated {@link #errorMessage(String)}를 사용하세요
+     */
+    @Deprecated
+    public String getErrorMessage(String errorMessage) {
+        return LEGACY.serialize(errorMessage(errorMessage));
+    }
+
+    /**
+     * @deprecated {@link #successMessage(String)}를 사용하세요
+     */
+    @Deprecated
     public String getSuccessMessage(String successMessage) {
-        return String.format("%s[%sTiny PG%s] %s%s",
-                PREFIX_COLOR, ACCENT_COLOR, PREFIX_COLOR,
-                ACCENT_COLOR, successMessage);
+        return LEGACY.serialize(successMessage(successMessage));
+    }
+
+    /**
+     * messages 섹션의 메시지를 이름으로 가져옵니다.
+     * 자리표시자가 없는 메시지는 미리 만들어 둔 같은 Component를 반환합니다.
+     *
+     * @param key messages 섹션의 키 (예: "first-join")
+     * @throws IllegalArgumentException 없는 키인 경우
+     */
+    public Component getMessage(String key) {
+        return getTemplate(key).render();
+    }
+
+    /**
+     * messages 섹션의 템플릿을 이름으로 가져옵니다 (자리표시자를 직접 채울 때 사용).
+     *
+     * @throws IllegalArgumentException 없는 키인 경우
+     */
+    public MessageTemplate getTemplate(String key) {
+        MessageTemplate template = templates.get(key);
+        if (template == null) {
+            throw new IllegalArgumentException("알 수 없는 메시지입니다: " + key);
+        }
+        return template;
     }
 }
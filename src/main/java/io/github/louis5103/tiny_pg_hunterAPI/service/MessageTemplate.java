@@ -0,0 +1,189 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 번만 해석해 두고 여러 번 출력하는 메시지 템플릿입니다.
+ *
+ * 템플릿 문법:
+ * - 색상은 레거시 코드(&a, &l, §e ...)로 지정합니다
+ * - {이름} 자리표시자는 출력할 때마다 값이 들어갑니다 (값은 색상 코드로 해석하지 않음)
+ * - 생성 시 넘긴 상수(예: {prefix})는 해석 단계에서 미리 채워집니다
+ *
+ * 해석 결과는 "고정 Component"와 "자리표시자(이름 + 그 위치의 스타일)" 토큰 목록입니다.
+ * 출력은 토큰을 차례로 이어 붙이기만 하므로 String.format, 정규식, 레거시 코드 재해석이 없고,
+ * 자리표시자가 없는 메시지는 불변 Component 하나를 그대로 돌려줍니다.
+ */
+public final class MessageTemplate {
+
+    // 해석 중 자리표시자 위치를 표시하는 문자 (유니코드 사용자 정의 영역)
+    private static final char SLOT_MARKER_BASE = '\uE000';
+    private static final int MAX_SLOTS = 256;
+
+    private final String source;
+    private final List<Object> tokens;      // Component 또는 Slot
+    private final List<String> slotNames;
+    private final Component staticComponent; // 자리표시자가 없을 때만 존재
+
+    private MessageTemplate(String source, List<Object> tokens, List<String> slotNames, Component staticComponent) {
+        this.source = source;
+        this.tokens = tokens;
+        this.slotNames = slotNames;
+        this.staticComponent = staticComponent;
+    }
+
+    /**
+     * 템플릿 문자열을 해석합니다.
+     *
+     * @param template  템플릿 문자열
+     * @param constants 해석 시 미리 채울 값 (레거시 색상 코드 허용)
+     */
+    public static MessageTemplate compile(String template, Map<String, String> constants) {
+        if (template == null) {
+            throw new IllegalArgumentException("템플릿은 null일 수 없습니다!");
+        }
+
+        List<String> slotNames = new ArrayList<>();
+        StringBuilder legacy = new StringBuilder(template.length() + 16);
+        int length = template.length();
+        int i = 0;
+        while (i < length) {
+            char c = template.charAt(i);
+            int close = c == '{' ? template.indexOf('}', i + 1) : -1;
+            if (close < 0) {
+                legacy.append(c);
+                i++;
+                continue;
+            }
+
+            String name = template.substring(i + 1, close);
+            String constant = constants.get(name);
+            if (constant != null) {
+                legacy.append(constant);
+            } else {
+                int index = slotNames.indexOf(name);
+                if (index < 0) {
+                    if (slotNames.size() >= MAX_SLOTS) {
+                        throw new IllegalArgumentException("자리표시자가 너무 많습니다: " + template);
+                    }
+                    index = slotNames.size();
+                    slotNames.add(name);
+                }
+                legacy.append((char) (SLOT_MARKER_BASE + index));
+            }
+            i = close + 1;
+        }
+
+        // &코드와 §코드를 모두 받도록 §로 통일한 뒤 Adventure 컴포넌트로 바꿉니다
+        Component parsed = LegacyComponentSerializer.legacySection()
+                .deserialize(ChatColor.translateAlternateColorCodes('&', legacy.toString()));
+        if (slotNames.isEmpty()) {
+            return new MessageTemplate(template, List.of(parsed), List.of(), parsed);
+        }
+
+        List<Object> tokens = new ArrayList<>();
+        flatten(parsed, Style.empty(), slotNames.size(), tokens);
+        return new MessageTemplate(template, List.copyOf(tokens), List.copyOf(slotNames), null);
+    }
+
+    /**
+     * 컴포넌트 트리를 펼치면서 자리표시자 문자를 기준으로 고정 텍스트와 자리표시자 토큰으로 나눕니다.
+     * 자리표시자에는 그 위치에 적용되던 스타일(앞의 색상 코드)을 기억해 둡니다.
+     */
+    private static void flatten(Component component, Style parentStyle, int slotCount, List<Object> tokens) {
+        Style style = component.style().merge(parentStyle, Style.Merge.Strategy.IF_ABSENT_ON_TARGET);
+        if (component instanceof TextComponent text && !text.content().isEmpty()) {
+            String content = text.content();
+            int start = 0;
+            for (int i = 0; i < content.length(); i++) {
+                int slot = content.charAt(i) - SLOT_MARKER_BASE;
+                if (slot < 0 || slot >= slotCount) {
+                    continue;
+                }
+                if (i > start) {
+                    tokens.add(Component.text(content.substring(start, i), style));
+                }
+                tokens.add(new Slot(slot, style));
+                start = i + 1;
+            }
+            if (start < content.length()) {
+                tokens.add(Component.text(content.substring(start), style));
+            }
+        }
+        for (Component child : component.children()) {
+            flatten(child, style, slotCount, tokens);
+        }
+    }
+
+    /**
+     * 자리표시자가 없는 템플릿인지 반환합니다.
+     */
+    public boolean isStatic() {
+        return staticComponent != null;
+    }
+
+    /**
+     * 자리표시자가 없는 템플릿의 미리 만들어 둔 Component를 반환합니다.
+     * 자리표시자가 있으면 이름이 그대로 보이도록 출력합니다.
+     */
+    public Component render() {
+        return staticComponent != null ? staticComponent : render(Map.of());
+    }
+
+    /**
+     * 자리표시자 하나에 값을 넣어 출력합니다 (가장 흔한 경우, Map 할당 없음).
+     */
+    public Component render(String name, String value) {
+        if (staticComponent != null) {
+            return staticComponent;
+        }
+        TextComponent.Builder builder = Component.text();
+        for (Object token : tokens) {
+            if (token instanceof Slot slot) {
+                String slotName = slotNames.get(slot.index());
+                builder.append(Component.text(slotName.equals(name) ? value : "{" + slotName + "}", slot.style()));
+            } else {
+                builder.append((Component) token);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 자리표시자 이름별 값을 넣어 출력합니다. 값이 없는 자리표시자는 {이름} 그대로 보입니다.
+     */
+    public Component render(Map<String, String> values) {
+        if (staticComponent != null) {
+            return staticComponent;
+        }
+        TextComponent.Builder builder = Component.text();
+        for (Object token : tokens) {
+            if (token instanceof Slot slot) {
+                String slotName = slotNames.get(slot.index());
+                String value = values.get(slotName);
+                builder.append(Component.text(value != null ? value : "{" + slotName + "}", slot.style()));
+            } else {
+                builder.append((Component) token);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 해석 전 원본 문자열을 반환합니다.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    private record Slot(int index, Style style) {
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import io.github.louis5103.tiny_pg_hunterAPI.model.dto.PlayerSnapshot;
+import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerSnapshotRepository;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * 돈 순위 상위 K명을 메모리에 유지하는 리더보드입니다.
+ *
+ * - 시작 시 balance 인덱스를 타는 조회 한 번으로 상위 K명을 불러옵니다
+ * - 이후에는 캐시된 플레이어의 돈이 바뀔 때마다 증분으로 갱신합니다
+ * - 순위/상위 N명 조회는 정렬된 배열에서 이진 탐색으로 처리하므로 DB를 거치지 않습니다
+ * - 오프라인 플레이어의 변화는 주기적인 재동기화로 반영합니다
+ *
+ * 갱신은 K 이하 크기의 배열 복사만 발생하므로 K(기본 100)가 작으면 충분히 가볍습니다.
+ */
+public class MoneyLeaderboard {
+
+    // 돈 내림차순, 같으면 UUID 오름차순 (순서가 항상 하나로 정해지도록)
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingLong(Entry::balance).reversed()
+            .thenComparing(Entry::uuid);
+
+    private final PlayerSnapshotRepository snapshotRepository;
+    private final PlayerSessionCache sessionCache;
+    private final Logger logger;
+    private final int capacity;
+
+    private final Entry[] entries;
+    private final Map<String, Entry> index = new HashMap<>();
+    private int size;
+
+    private BukkitTask reconcileTask;
+
+    public MoneyLeaderboard(PlayerSnapshotRepository snapshotRepository, PlayerSessionCache sessionCache,
+                            Logger logger, int capacity) {
+        if (snapshotRepository == null) {
+            throw new IllegalArgumentException("PlayerSnapshotRepository는 null일 수 없습니다!");
+        }
+        if (sessionCache == null) {
+            throw new IllegalArgumentException("PlayerSessionCache는 null일 수 없습니다!");
+        }
+
+        this.snapshotRepository = snapshotRepository;
+        this.sessionCache = sessionCache;
+        this.logger = logger;
+        this.capacity = Math.max(1, capacity);
+        this.entries = new Entry[this.capacity];
+    }
+
+    /**
+     * 초기 적재와 주기적인 재동기화를 비동기로 시작합니다.
+     *
+     * @param reconcileSeconds 재동기화 주기 (초)
+     */
+    public void start(Plugin plugin, long reconcileSeconds) {
+        long intervalTicks = Math.max(1L, reconcileSeconds) * 20L;
+        reconcileTask = plugin.getServer().getScheduler()
+                .runTaskTimerAsynchronously(plugin, this::reconcile, 0L, intervalTicks);
+    }
+
+    public void stop() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel();
+            reconcileTask = null;
+        }
+    }
+
+    /**
+     * DB의 상위 K명과 접속 중인 플레이어의 최신 값을 합쳐서 리더보드를 다시 만듭니다.
+     * 비동기 스레드에서 호출해야 합니다.
+     */
+    public void reconcile() {
+        try {
+            Map<String, Entry> merged = new HashMap<>();
+            // 엔티티 대신 불변 스냅샷으로 읽어서 영속성 컨텍스트 비용을 피합니다
+            for (PlayerSnapshot snapshot : snapshotRepository.findTopByMoney(capacity)) {
+                merged.put(snapshot.uuid(), new Entry(snapshot.uuid(), snapshot.playerName(), snapshot.balance()));
+            }
+            // 접속 중인 플레이어는 아직 저장되지 않은 변경이 있을 수 있으므로 캐시 값을 우선합니다
+            for (PlayerData playerData : sessionCache.values()) {
+                merged.put(playerData.getUuid(), Entry.of(playerData));
+            }
+            replaceAll(merged.values());
+        } catch (Exception e) {
+            logger.warning("리더보드 재동기화 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 플레이어의 돈이 바뀌었을 때 호출합니다. 상위 K명 밖이면 무시됩니다.
+     */
+    public void update(PlayerData playerData) {
+        update(Entry.of(playerData));
+    }
+
+    public synchronized void update(Entry entry) {
+        Entry previous = index.remove(entry.uuid());
+        if (previous != null) {
+            removeAt(positionOf(previous));
+        }
+
+        if (size == capacity) {
+            if (ORDER.compare(entry, entries[size - 1]) > 0) {
+                return; // 마지막 순위보다 낮으면 추적하지 않습니다
+            }
+            index.remove(entries[size - 1].uuid());
+            entries[--size] = null;
+        }
+
+        int position = -(Arrays.binarySearch(entries, 0, size, entry, ORDER) + 1);
+        System.arraycopy(entries, position, entries, position + 1, size - position);
+        entries[position] = entry;
+        index.put(entry.uuid(), entry);
+        size++;
+    }
+
+    /**
+     * 1부터 시작하는 순위를 반환합니다. 상위 K명 밖이면 -1입니다.
+     */
+    public synchronized int getRank(String uuid) {
+        Entry entry = index.get(uuid);
+        return entry == null ? -1 : positionOf(entry) + 1;
+    }
+
+    /**
+     * 상위 N명을 순위 순서대로 반환합니다.
+     */
+    public synchronized List<Entry> getTop(int limit) {
+        int count = Math.min(Math.max(0, limit), size);
+        return List.of(Arrays.copyOf(entries, count));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private synchronized void replaceAll(Collection<Entry> candidates) {
+        List<Entry> sorted = new ArrayList<>(candidates);
+        sorted.sort(ORDER);
+
+        Arrays.fill(entries, null);
+        index.clear();
+        size = Math.min(capacity, sorted.size());
+        for (int i = 0; i < size; i++) {
+            entries[i] = sorted.get(i);
+            index.put(entries[i].uuid(), entries[i]);
+        }
+    }
+
+    private int positionOf(Entry entry) {
+        return Arrays.binarySearch(entries, 0, size, entry, ORDER);
+    }
+
+    private void removeAt(int position) {
+        System.arraycopy(entries, position + 1, entries, position, size - position - 1);
+        entries[--size] = null;
+    }
+
+    /**
+     * 리더보드의 한 줄 (불변 값)입니다. balance는 최소 단위입니다 (Money.format으로 표시).
+     */
+    public record Entry(String uuid, String playerName, long balance) {
+        static Entry of(PlayerData playerData) {
+            return new Entry(playerData.getUuid(), playerData.getPlayerName(), playerData.getBalance());
+        }
+    }
+}
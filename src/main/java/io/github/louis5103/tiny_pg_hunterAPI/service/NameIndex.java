@@ -0,0 +1,263 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import io.github.louis5103.tiny_pg_hunterAPI.model.dto.PlayerSnapshot;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerSnapshotRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * 닉네임 → UUID 메모리 색인입니다 (대소문자 무시). 오프라인 플레이어 지정과 탭 완성에 사용합니다.
+ *
+ * 구조:
+ * - 기본 색인: 처음 필요할 때 한 번 DB에서 (uuid, 닉네임)만 스트리밍해서 만든 정렬 배열입니다.
+ *   닉네임 String 하나와 long 두 개만 들고 있어서 수십만 명이어도 수십 MB 이내이고,
+ *   조회와 접두사 검색은 이진 탐색입니다
+ * - 변경분: 적재 이후 접속에서 바뀐 닉네임은 작은 정렬 맵(ConcurrentSkipListMap)에 두고 기본 색인보다 우선합니다
+ * - 해제 목록: 다른 플레이어가 가져가거나 바꾼 예전 닉네임은 (닉네임, 예전 UUID)로 기록해 기본 색인에서 가립니다
+ *
+ * 기본 색인은 불변 배열을 통째로 교체하므로 읽기에 잠금이 없고, 어느 스레드에서든 호출할 수 있습니다.
+ * 색인에 없는 닉네임은 닉네임 유니크 인덱스로 DB를 한 번 조회합니다 (가져오기 등으로 생긴 행 대비).
+ */
+public class NameIndex {
+
+    private static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER;
+
+    private final PlayerSnapshotRepository snapshotRepository;
+    private final DatabaseManager databaseManager;
+    private final Logger logger;
+
+    private volatile Base base = Base.EMPTY;
+    private final ConcurrentSkipListMap<String, UUID> overlay = new ConcurrentSkipListMap<>(ORDER);
+    private final ConcurrentSkipListMap<String, UUID> released = new ConcurrentSkipListMap<>(ORDER);
+    private final AtomicBoolean loadStarted = new AtomicBoolean();
+    private volatile boolean loaded;
+
+    public NameIndex(PlayerSnapshotRepository snapshotRepository, DatabaseManager databaseManager, Logger logger) {
+        if (snapshotRepository == null) {
+            throw new IllegalArgumentException("PlayerSnapshotRepository는 null일 수 없습니다!");
+        }
+        if (databaseManager == null) {
+            throw new IllegalArgumentException("DatabaseManager는 null일 수 없습니다!");
+        }
+
+        this.snapshotRepository = snapshotRepository;
+        this.databaseManager = databaseManager;
+        this.logger = logger;
+    }
+
+    /**
+     * 기본 색인 적재를 시작합니다 (처음 한 번만, 조회 전용 실행기에서). 실패하면 다음 호출에서 다시 시도합니다.
+     */
+    public void ensureLoaded() {
+        if (loaded || !loadStarted.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.nanoTime();
+        databaseManager.callReadAsync(this::buildBase).whenComplete((built, error) -> {
+            if (error != null) {
+                loadStarted.set(false);
+                logger.warning("닉네임 색인 적재 실패: " + error.getMessage());
+                return;
+            }
+            base = built;
+            loaded = true;
+            logger.info(String.format("닉네임 색인 적재 완료: %d명 (%dms)", built.size(),
+                    (System.nanoTime() - start) / 1_000_000));
+        });
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 접속 시 호출합니다. 예전 닉네임을 해제하고 새 닉네임을 이 플레이어에게 연결합니다.
+     *
+     * @param previousName 알고 있는 예전 닉네임 (첫 접속이거나 모르면 null)
+     */
+    public void update(UUID uuid, String previousName, String name) {
+        if (previousName != null && !previousName.equalsIgnoreCase(name)) {
+            overlay.remove(previousName, uuid);
+            released.put(previousName, uuid);
+        }
+        // 기본 색인에 다른 플레이어가 이 닉네임으로 남아 있어도 변경분이 우선합니다
+        overlay.put(name, uuid);
+    }
+
+    /**
+     * 메모리 색인에서만 찾습니다. 없거나 아직 적재 전이면 null입니다 (DB 조회 없음, 메인 스레드 가능).
+     */
+    public UUID resolveCached(String name) {
+        UUID uuid = overlay.get(name);
+        if (uuid != null) {
+            return uuid;
+        }
+        uuid = base.get(name);
+        return uuid == null || uuid.equals(released.get(name)) ? null : uuid;
+    }
+
+    /**
+     * 닉네임을 UUID로 바꿉니다. 메모리 색인에 없으면 DB에서 찾고 결과를 색인에 넣습니다. 없으면 null로 완료됩니다.
+     */
+    public CompletableFuture<UUID> resolveAsync(String name) {
+        ensureLoaded();
+        UUID cached = resolveCached(name);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return databaseManager.callReadAsync(() -> {
+            PlayerSnapshot snapshot = snapshotRepository.findByName(name);
+            if (snapshot == null) {
+                return null;
+            }
+            UUID uuid = UUID.fromString(snapshot.uuid());
+            overlay.putIfAbsent(snapshot.playerName(), uuid);
+            return uuid;
+        });
+    }
+
+    /**
+     * 접두사(대소문자 무시)로 시작하는 닉네임을 정렬 순서로 최대 limit개 돌려줍니다 (메모리만 사용).
+     * 적재 전이면 적재를 시작하고, 그동안은 이번 실행 중 접속한 플레이어만 나옵니다.
+     */
+    public List<String> complete(String prefix, int limit) {
+        ensureLoaded();
+        List<String> result = new ArrayList<>(Math.min(limit, 64));
+        Base snapshot = base;
+        int index = snapshot.lowerBound(prefix);
+        Iterator<Map.Entry<String, UUID>> changes = overlay.tailMap(prefix, true).entrySet().iterator();
+        Map.Entry<String, UUID> change = nextMatching(changes, prefix);
+
+        while (result.size() < limit) {
+            String fromBase = null;
+            while (index < snapshot.size() && snapshot.startsWith(index, prefix)) {
+                String candidate = snapshot.names[index];
+                // 변경분에 같은 닉네임이 있거나 해제된 항목이면 건너뜁니다
+                if (overlay.containsKey(candidate) || snapshot.uuid(index).equals(released.get(candidate))) {
+                    index++;
+                    continue;
+                }
+                fromBase = candidate;
+                break;
+            }
+            if (fromBase == null && change == null) {
+                break;
+            }
+            if (change != null && (fromBase == null || ORDER.compare(change.getKey(), fromBase) <= 0)) {
+                result.add(change.getKey());
+                change = nextMatching(changes, prefix);
+            } else {
+                result.add(fromBase);
+                index++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 색인에 있는 닉네임 수 (대략값, 변경분 포함)입니다.
+     */
+    public int size() {
+        return base.size() + overlay.size();
+    }
+
+    private static Map.Entry<String, UUID> nextMatching(Iterator<Map.Entry<String, UUID>> iterator, String prefix) {
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Map.Entry<String, UUID> entry = iterator.next();
+        return entry.getKey().regionMatches(true, 0, prefix, 0, prefix.length()) ? entry : null;
+    }
+
+    private Base buildBase() {
+        List<String> names = new ArrayList<>();
+        List<UUID> uuids = new ArrayList<>();
+        snapshotRepository.forEachName((uuid, name) -> {
+            // 자리표시 이름('~'로 시작)은 실제 닉네임이 아니므로 제외합니다
+            if (!name.startsWith("~")) {
+                names.add(name);
+                uuids.add(UUID.fromString(uuid));
+            }
+        });
+
+        Integer[] order = new Integer[names.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // DB 콜레이션마다 정렬이 달라서 (MySQL은 '_'를 글자 앞에 둠) 자바 비교 기준으로 다시 정렬합니다
+        Arrays.sort(order, (a, b) -> ORDER.compare(names.get(a), names.get(b)));
+
+        String[] sortedNames = new String[order.length];
+        long[] most = new long[order.length];
+        long[] least = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedNames[i] = names.get(order[i]);
+            UUID uuid = uuids.get(order[i]);
+            most[i] = uuid.getMostSignificantBits();
+            least[i] = uuid.getLeastSignificantBits();
+        }
+        return new Base(sortedNames, most, least);
+    }
+
+    /**
+     * 적재 시점의 불변 정렬 배열입니다.
+     */
+    private static final class Base {
+        static final Base EMPTY = new Base(new String[0], new long[0], new long[0]);
+
+        final String[] names;
+        final long[] most;
+        final long[] least;
+
+        Base(String[] names, long[] most, long[] least) {
+            this.names = names;
+            this.most = most;
+            this.least = least;
+        }
+
+        int size() {
+            return names.length;
+        }
+
+        UUID uuid(int index) {
+            return new UUID(most[index], least[index]);
+        }
+
+        UUID get(String name) {
+            int index = Arrays.binarySearch(names, name, ORDER);
+            return index >= 0 ? uuid(index) : null;
+        }
+
+        /**
+         * name 이상인 첫 위치입니다.
+         */
+        int lowerBound(String name) {
+            int low = 0;
+            int high = names.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ORDER.compare(names[mid], name) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        boolean startsWith(int index, String prefix) {
+            return names[index].regionMatches(true, 0, prefix, 0, prefix.length());
+        }
+    }
+}
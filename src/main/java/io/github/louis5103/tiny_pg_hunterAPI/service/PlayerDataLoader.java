@@ -0,0 +1,168 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerDataRepository;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * 플레이어 데이터를 접속 전에 미리 불러오는 서비스입니다.
+ *
+ * 로딩 파이프라인:
+ * 1. AsyncPlayerPreLoginEvent(비동기 스레드)에서 DB 전용 실행기로 조회를 맡기고 결과를 기다립니다
+ * 2. 조회 결과를 스테이징 맵에 보관합니다
+ * 3. PlayerJoinEvent(메인 스레드)에서는 스테이징 맵에서 꺼내 쓰기만 합니다
+ * 4. 접속 시 갱신(닉네임, 마지막 로그인)은 백그라운드 쓰기 스레드로 보냅니다
+ *
+ * 이렇게 하면 메인 스레드는 JDBC를 전혀 호출하지 않습니다.
+ */
+public class PlayerDataLoader {
+
+    private final DatabaseManager databaseManager;
+    private final PlayerDataRepository playerRepository;
+    private final PlayerSessionCache sessionCache;
+    private final Logger logger;
+    private final long loadTimeoutMillis;
+    private final long readyWaitMillis;
+
+    // 접속 전 단계에서 불러온 데이터를 접속 이벤트까지 넘겨주는 스테이징 맵
+    private final Map<UUID, StagedPlayer> staging = new ConcurrentHashMap<>();
+
+    public PlayerDataLoader(DatabaseManager databaseManager, PlayerDataRepository playerRepository,
+                            PlayerSessionCache sessionCache, Logger logger, long loadTimeoutMillis,
+                            long readyWaitMillis) {
+        if (databaseManager == null) {
+            throw new IllegalArgumentException("DatabaseManager는 null일 수 없습니다!");
+        }
+        if (playerRepository == null) {
+            throw new IllegalArgumentException("PlayerDataRepository는 null일 수 없습니다!");
+        }
+        if (sessionCache == null) {
+            throw new IllegalArgumentException("PlayerSessionCache는 null일 수 없습니다!");
+        }
+
+        this.databaseManager = databaseManager;
+        this.playerRepository = playerRepository;
+        this.sessionCache = sessionCache;
+        this.logger = logger;
+        this.loadTimeoutMillis = loadTimeoutMillis;
+        this.readyWaitMillis = readyWaitMillis;
+    }
+
+    /**
+     * 데이터베이스 초기화가 끝날 때까지 기다립니다 (접속 전 비동기 단계 전용).
+     * 서버 시작 직후 접속한 플레이어가 데이터 없이 입장하지 않도록 할 때 사용합니다.
+     *
+     * @return 준비되었으면 true, 시간 초과나 초기화 실패면 false
+     */
+    public boolean awaitDatabase() {
+        return databaseManager.awaitReady(readyWaitMillis);
+    }
+
+    /**
+     * 접속 전 비동기 단계에서 호출됩니다. 메인 스레드에서 호출하면 안 됩니다.
+     *
+     * @return 불러오기에 성공하면 true (실패해도 접속은 막지 않습니다)
+     */
+    public boolean preload(UUID uuid, String playerName) {
+        // 퇴장 저장이 아직 진행 중이면 메모리의 최신 데이터를 그대로 이어서 사용합니다
+        PlayerData recent = sessionCache.reclaim(uuid);
+        if (recent != null) {
+            staging.put(uuid, new StagedPlayer(recent, false));
+            return true;
+        }
+
+        try {
+            PlayerData loaded = load(uuid).get(loadTimeoutMillis, TimeUnit.MILLISECONDS);
+            boolean isNew = loaded == null;
+            PlayerData playerData = isNew ? new PlayerData(uuid.toString(), playerName) : loaded;
+            staging.put(uuid, new StagedPlayer(playerData, isNew));
+            return true;
+        } catch (Exception e) {
+            logger.warning(String.format("플레이어 데이터 사전 로딩 실패 (%s): %s", playerName, e.getMessage()));
+            return false;
+        }
+    }
+
+    /**
+     * 접속 이벤트에서 스테이징된 데이터를 꺼냅니다. 없으면 null을 반환합니다.
+     */
+    public StagedPlayer consume(UUID uuid) {
+        return staging.remove(uuid);
+    }
+
+    /**
+     * 접속이 거부되었거나 중간에 끊긴 플레이어의 스테이징 데이터를 버립니다.
+     */
+    public void discard(UUID uuid) {
+        staging.remove(uuid);
+    }
+
+    /**
+     * DB 전용 실행기에서 플레이어 데이터를 조회합니다.
+     */
+    public CompletableFuture<PlayerData> load(UUID uuid) {
+        String key = uuid.toString();
+        // 다중 서버 모드에서는 다른 서버가 퇴장 시 저장한 값을 읽도록 2차 캐시를 건너뜁니다
+        return databaseManager.supplyAsync(em -> em.find(PlayerData.class, key, databaseManager.freshReadHints()));
+    }
+
+    /**
+     * 접속 시 갱신된 데이터를 백그라운드 쓰기 스레드에 넘깁니다.
+     * 저장할 때 복사본을 만들므로 호출한 스레드가 이후에 원본을 수정해도 영향이 없습니다.
+     * 사전 로딩 이후 다른 서버가 저장했다면 버전 충돌로 변경분이 다시 얹히고, 그 결과를 원본에 반영합니다.
+     * 퇴장 저장이 끝나기 전에 재접속해서 되돌려받은 원본이면 그 저장이 반영된 뒤에 이어서 저장합니다.
+     *
+     * @param nameChanged 첫 접속이거나 닉네임이 바뀌었으면 true (닉네임 소유권을 함께 정리)
+     */
+    public CompletableFuture<Void> saveInBackground(PlayerData playerData, boolean nameChanged) {
+        // 지금 저장하므로 세션 캐시의 다음 주기 저장 대상에서는 뺍니다 (실패하면 레포지토리가 다시 세움)
+        playerData.clearDirty();
+        String playerName = playerData.getPlayerName();
+        return playerRepository.saveLiveAsync(playerData, nameChanged)
+                .exceptionally(e -> {
+                    logger.warning(String.format("플레이어 데이터 저장 실패 (%s): %s", playerName, e.getMessage()));
+                    return null;
+                });
+    }
+
+    /**
+     * 사전 로딩에 실패한 플레이어를 위한 대체 경로입니다.
+     * 조회와 갱신을 모두 쓰기 스레드에서 처리하므로 메인 스레드는 기다리지 않습니다.
+     * 결과는 메인 스레드에서 전달되므로 이어지는 콜백에서 Bukkit API와 세션 캐시 등록을 바로 할 수 있습니다
+     * (그 사이 퇴장했는지는 호출한 쪽이 확인해야 합니다).
+     *
+     * @return 저장된 데이터의 분리된 복사본 (실패하면 null)
+     */
+    public CompletableFuture<PlayerData> touchInBackground(UUID uuid, String playerName) {
+        String key = uuid.toString();
+        AtomicReference<PlayerData> saved = new AtomicReference<>();
+        CompletableFuture<PlayerData> touching = databaseManager.runOnWriter(() -> {
+            PlayerData playerData = playerRepository.findByUuid(key);
+            if (playerData == null) {
+                playerData = new PlayerData(key, playerName);
+            } else {
+                playerData.setPlayerName(playerName);
+                playerData.updateLastLogin();
+            }
+            saved.set(playerRepository.claimNameAndSave(playerData));
+        }).thenApply(ignored -> saved.get());
+        return databaseManager.onMainThread(touching).exceptionally(e -> {
+            logger.warning(String.format("플레이어 데이터 갱신 실패 (%s): %s", playerName, e.getMessage()));
+            return null;
+        });
+    }
+
+    /**
+     * 스테이징된 플레이어 데이터와 첫 접속 여부입니다.
+     */
+    public record StagedPlayer(PlayerData playerData, boolean isNew) {
+    }
+}
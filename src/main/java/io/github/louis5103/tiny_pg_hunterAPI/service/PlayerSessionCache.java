@@ -0,0 +1,245 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerDataRepository;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * 접속 중인 플레이어의 데이터를 메모리에 보관하는 쓰기 지연(write-behind) 캐시입니다.
+ *
+ * 동작 방식:
+ * - 접속 시 플레이어당 하나의 PlayerData를 보관합니다
+ * - 잔액(BalanceLedger) / addPlayTime / updateLastLogin 변경은 메모리만 바꾸고 변경 플래그를 세웁니다
+ *   (잔액은 여러 스레드에서 바꿀 수 있으며, 거래 저널에 먼저 기록됩니다)
+ * - 설정된 주기마다, 그리고 퇴장 시에 변경된 플레이어만 골라 하나의 트랜잭션으로 저장합니다
+ *
+ * 따라서 게임 중 발생하는 돈/플레이 시간 변경에는 I/O가 없고,
+ * DB 쓰기 빈도는 이벤트 발생 빈도가 아니라 저장 주기에 의해 제한됩니다.
+ */
+public class PlayerSessionCache {
+
+    private final DatabaseManager databaseManager;
+    private final PlayerDataRepository playerRepository;
+    private final Logger logger;
+    private final Map<UUID, PlayerData> sessions = new ConcurrentHashMap<>();
+
+    // 퇴장 후 저장이 끝나지 않은 플레이어 (빠르게 재접속하면 DB 대신 이 데이터를 사용)
+    private final Map<UUID, PlayerData> departing = new ConcurrentHashMap<>();
+
+    // 돈이 바뀐 플레이어를 알려받는 대상 (예: 리더보드)
+    private volatile Consumer<PlayerData> moneyListener = playerData -> { };
+
+    // addMoney가 거치는 장부 (거래 저널 기록 포함)
+    private volatile BalanceLedger balanceLedger;
+
+    private BukkitTask flushTask;
+
+    public PlayerSessionCache(DatabaseManager databaseManager, PlayerDataRepository playerRepository, Logger logger) {
+        if (databaseManager == null) {
+            throw new IllegalArgumentException("DatabaseManager는 null일 수 없습니다!");
+        }
+        if (playerRepository == null) {
+            throw new IllegalArgumentException("PlayerDataRepository는 null일 수 없습니다!");
+        }
+
+        this.databaseManager = databaseManager;
+        this.playerRepository = playerRepository;
+        this.logger = logger;
+    }
+
+    /**
+     * 주기적인 저장 작업을 시작합니다. 저장 자체는 비동기 스레드에서 실행됩니다.
+     *
+     * @param intervalSeconds 저장 주기 (초)
+     */
+    public void start(Plugin plugin, long intervalSeconds) {
+        long intervalTicks = Math.max(1L, intervalSeconds) * 20L;
+        flushTask = plugin.getServer().getScheduler()
+                .runTaskTimerAsynchronously(plugin, this::flushDirty, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * 주기적인 저장 작업을 멈춥니다. 남은 변경은 flushDirty()로 직접 저장해야 합니다.
+     */
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+    }
+
+    /**
+     * 접속한 플레이어의 데이터를 캐시에 등록합니다.
+     */
+    public void put(UUID uuid, PlayerData playerData) {
+        sessions.put(uuid, playerData);
+    }
+
+    /**
+     * 접속 중인 플레이어의 캐시된 데이터를 반환합니다. 캐시에 없으면 null입니다.
+     * 반환된 객체를 수정하면 다음 저장 주기에 데이터베이스에 반영됩니다.
+     */
+    public PlayerData get(UUID uuid) {
+        return sessions.get(uuid);
+    }
+
+    /**
+     * 접속 중인 플레이어의 돈을 메모리에서 변경합니다 (DB I/O 없음).
+     * BalanceLedger.deposit / withdraw와 같아서 거래 저널에 먼저 기록되고, 리더보드 같은 구독자에게 즉시 알려줍니다.
+     *
+     * @param amount 더할 금액 (최소 단위, 음수면 잔액이 충분할 때만 차감)
+     * @return 변경했으면 true, 캐시에 없는 플레이어이거나 잔액이 부족하면 false
+     * @throws IllegalStateException BalanceLedger가 연결되지 않았거나 거래 저널에 기록할 수 없는 경우
+     */
+    public boolean addMoney(UUID uuid, long amount) {
+        BalanceLedger ledger = balanceLedger;
+        if (ledger == null) {
+            throw new IllegalStateException("BalanceLedger가 연결되지 않았습니다");
+        }
+
+        return amount >= 0 ? ledger.deposit(uuid, amount) : ledger.withdraw(uuid, -amount);
+    }
+
+    /**
+     * addMoney가 거칠 장부를 연결합니다 (장부가 이 캐시를 들고 있으므로 생성 뒤에 연결).
+     */
+    public void setBalanceLedger(BalanceLedger balanceLedger) {
+        this.balanceLedger = balanceLedger;
+    }
+
+    /**
+     * 돈 변경을 알려받을 구독자를 설정합니다. BalanceLedger의 거래가 성공할 때마다 거래한 스레드에서 호출됩니다.
+     * 다른 서버의 저장이 충돌 처리로 얹힌 변경은 알리지 않으므로, 리더보드는 주기적인 재동기화로 따라잡습니다.
+     */
+    public void setMoneyListener(Consumer<PlayerData> moneyListener) {
+        this.moneyListener = moneyListener == null ? playerData -> { } : moneyListener;
+    }
+
+    /**
+     * 잔액이 바뀐 플레이어를 구독자에게 알립니다 (BalanceLedger가 거래 직후 호출).
+     */
+    void notifyMoneyChanged(PlayerData playerData) {
+        moneyListener.accept(playerData);
+    }
+
+    /**
+     * 현재 캐시된 모든 플레이어 데이터입니다.
+     */
+    public Collection<PlayerData> values() {
+        return sessions.values();
+    }
+
+    /**
+     * 퇴장한 플레이어를 캐시에서 제거하고, 변경 사항이 있으면 저장합니다.
+     * 제거 직전에 다른 스레드가 잡아둔 거래(BalanceLedger)가 저장용 복사 뒤에 반영될 수 있으므로,
+     * 저장이 끝났을 때 다시 변경 상태면 한 번 더 저장합니다.
+     */
+    public CompletableFuture<Void> invalidate(UUID uuid) {
+        PlayerData playerData = sessions.remove(uuid);
+        if (playerData == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        departing.put(uuid, playerData);
+        return write(List.of(playerData))
+                .thenCompose(ignored -> write(List.of(playerData)))
+                .whenComplete((ignored, e) -> departing.remove(uuid, playerData));
+    }
+
+    /**
+     * 퇴장 저장이 아직 끝나지 않은 플레이어의 데이터를 되돌려받습니다.
+     * 재접속 시 데이터베이스에서 이전 값을 읽어오는 경쟁 상태를 막기 위해 사용합니다.
+     */
+    public PlayerData reclaim(UUID uuid) {
+        return departing.get(uuid);
+    }
+
+    /**
+     * 변경된 플레이어만 모아서 하나의 트랜잭션(JDBC 배치)으로 저장합니다.
+     * 자동 저장과 서버 종료 시 모두 이 경로를 사용합니다.
+     */
+    public CompletableFuture<Void> flushDirty() {
+        return write(sessions.values());
+    }
+
+    /**
+     * 종료 시 저장할 플레이어의 복사본을 모두 꺼냅니다 (접속 중 + 퇴장 저장 대기 중).
+     * 꺼낸 플레이어의 변경 플래그는 내려가므로, 반환된 목록을 반드시 저장해야 합니다.
+     * 퇴장 저장이 이미 대기열에 있는 플레이어는 플래그가 내려가 있으므로 빠지고,
+     * 퇴장 저장에 실패해 다시 변경 상태가 된 플레이어만 포함됩니다.
+     */
+    public List<PlayerData> drainDirty() {
+        List<PlayerData> snapshots = new ArrayList<>();
+        drainInto(sessions.values(), snapshots);
+        drainInto(departing.values(), snapshots);
+        return snapshots;
+    }
+
+    private void drainInto(Collection<PlayerData> candidates, List<PlayerData> snapshots) {
+        for (PlayerData playerData : candidates) {
+            if (playerData.clearDirty()) {
+                snapshots.add(playerData.copy());
+            }
+        }
+    }
+
+    private CompletableFuture<Void> write(Collection<PlayerData> candidates) {
+        List<PlayerData> pending = new ArrayList<>();
+        for (PlayerData playerData : candidates) {
+            // 플래그를 먼저 내려야 복사 이후의 변경이 다음 저장으로 넘어갑니다
+            if (playerData.clearDirty()) {
+                pending.add(playerData);
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // 쓰기 스레드에서 배치 저장 한 번으로 처리하고, 충돌로 다시 얹힌 변경분과 새 버전을 원본에 반영합니다
+        // 같은 플레이어의 앞선 저장(퇴장 저장, 접속 저장 등)이 진행 중이면 그 반영이 끝난 뒤에 복사해서 저장합니다
+        // 실패한 플레이어는 레포지토리가 다시 변경 상태로 돌려서 다음 주기에 재시도합니다
+        return playerRepository.saveAllLiveAsync(pending)
+                .exceptionally(e -> {
+                    logger.warning(String.format("플레이어 데이터 일괄 저장 실패 (%d명): %s",
+                            pending.size(), e.getMessage()));
+                    return null;
+                });
+    }
+
+    /**
+     * 진행 중인 저장(원본 반영 포함)이 모두 끝날 때까지 기다립니다 (접속 중 + 퇴장 저장 대기 중).
+     * 종료 시 drainDirty 전에 호출해야 마지막 저장이 아직 반영되지 않은 버전과 기준점을 들고 가지 않습니다.
+     *
+     * @param deadlineNanos System.nanoTime() 기준 마감 시각
+     * @return 마감 전에 모두 끝났으면 true
+     */
+    public boolean awaitSaves(long deadlineNanos) {
+        List<PlayerData> players = new ArrayList<>(sessions.values());
+        players.addAll(departing.values());
+        try {
+            PlayerData.pendingSaves(players).get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerDataRepository;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * 접속 중인 플레이어의 플레이 시간을 메모리에서 누적하고 주기적으로 저장합니다.
+ *
+ * 동작 방식:
+ * - 접속 시 "어디까지 반영했는지" 시각을 UUID → long 맵(개방 주소법)에 기록합니다
+ * - 체크포인트 주기마다 하나의 작업이 모든 접속자를 훑어 지난 시간(분)을 세션 캐시의 PlayerData에 더하고,
+ *   세션 캐시의 일괄 저장(하나의 트랜잭션, JDBC 배치)으로 한 번에 저장합니다
+ * - 퇴장 시 남은 시간을 더하므로, 세션 캐시의 퇴장 저장에 함께 반영됩니다
+ *
+ * 플레이어마다 예약 작업을 만들지 않으므로 접속자가 늘어도 스케줄러 부담은 일정하고,
+ * 서버가 비정상 종료되어도 잃는 플레이 시간은 최대 체크포인트 주기 하나입니다.
+ * 모든 메서드는 서버 메인 스레드에서 호출해야 합니다.
+ */
+public class PlaytimeTracker {
+
+    private static final long MILLIS_PER_MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private final PlayerSessionCache sessionCache;
+    private final PlayerDataRepository playerRepository;
+    private final Logger logger;
+
+    // 플레이어별로 플레이 시간을 반영한 마지막 시각 (epoch millis)
+    private final UuidLongMap accountedUntil = new UuidLongMap(64);
+
+    private BukkitTask checkpointTask;
+
+    public PlaytimeTracker(PlayerSessionCache sessionCache, PlayerDataRepository playerRepository, Logger logger) {
+        if (sessionCache == null) {
+            throw new IllegalArgumentException("PlayerSessionCache는 null일 수 없습니다!");
+        }
+        if (playerRepository == null) {
+            throw new IllegalArgumentException("PlayerDataRepository는 null일 수 없습니다!");
+        }
+
+        this.sessionCache = sessionCache;
+        this.playerRepository = playerRepository;
+        this.logger = logger;
+    }
+
+    /**
+     * 주기적인 체크포인트 작업을 시작합니다 (메인 스레드, 저장은 쓰기 스레드).
+     *
+     * @param intervalMinutes 체크포인트 주기 (분)
+     */
+    public void start(Plugin plugin, long intervalMinutes) {
+        long intervalTicks = Math.max(1L, intervalMinutes) * 60L * 20L;
+        checkpointTask = plugin.getServer().getScheduler()
+                .runTaskTimer(plugin, this::checkpoint, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * 체크포인트 작업을 멈추고 접속 중인 모든 플레이어의 남은 시간을 세션 캐시에 반영합니다.
+     * 저장은 이후 종료 절차의 일괄 저장이 처리합니다.
+     */
+    public void stop() {
+        if (checkpointTask != null) {
+            checkpointTask.cancel();
+            checkpointTask = null;
+        }
+        accrueAll(System.currentTimeMillis(), true);
+        accountedUntil.clear();
+    }
+
+    /**
+     * 플레이어 접속 시 호출합니다.
+     */
+    public void startSession(UUID uuid) {
+        accountedUntil.put(uuid, System.currentTimeMillis());
+    }
+
+    /**
+     * 플레이어 퇴장 시 호출합니다. 세션 캐시에서 제거하기 전에 호출해야 퇴장 저장에 포함됩니다.
+     * 1분 미만의 나머지는 반올림해서 반영합니다.
+     */
+    public void endSession(UUID uuid) {
+        long since = accountedUntil.remove(uuid);
+        if (since == UuidLongMap.NO_VALUE) {
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - since;
+        credit(uuid, (elapsed + MILLIS_PER_MINUTE / 2) / MILLIS_PER_MINUTE);
+    }
+
+    /**
+     * 접속 중인 모든 플레이어의 지난 시간을 반영하고 한 번에 저장합니다.
+     */
+    public void checkpoint() {
+        accrueAll(System.currentTimeMillis(), false);
+        sessionCache.flushDirty();
+    }
+
+    /**
+     * 현재 추적 중인 플레이어 수입니다.
+     */
+    public int getTrackedCount() {
+        return accountedUntil.size();
+    }
+
+    private void accrueAll(long now, boolean roundRemainder) {
+        accountedUntil.replaceAll((msb, lsb, since) -> {
+            long elapsed = now - since;
+            long minutes = roundRemainder
+                    ? (elapsed + MILLIS_PER_MINUTE / 2) / MILLIS_PER_MINUTE
+                    : elapsed / MILLIS_PER_MINUTE;
+            if (minutes <= 0) {
+                return since;
+            }
+            credit(new UUID(msb, lsb), minutes);
+            // 반영한 분만큼만 앞으로 옮겨서 1분 미만 나머지는 다음 체크포인트로 넘깁니다
+            return since + minutes * MILLIS_PER_MINUTE;
+        });
+    }
+
+    private void credit(UUID uuid, long minutes) {
+        if (minutes <= 0) {
+            return;
+        }
+        PlayerData playerData = sessionCache.get(uuid);
+        if (playerData != null) {
+            // 메모리에만 더하고 변경 표시 → 세션 캐시의 일괄 저장에 포함됩니다
+            playerData.addPlayTime(minutes);
+            return;
+        }
+        // 세션 캐시에 없으면(사전 로딩 실패 후 아직 불러오는 중 등) 원자적 UPDATE로 직접 더합니다
+        playerRepository.updatePlayTimeAsync(uuid.toString(), minutes).exceptionally(e -> {
+            logger.warning(String.format("플레이 시간 저장 실패 (%s, %d분): %s", uuid, minutes, e.getMessage()));
+            return null;
+        });
+    }
+}
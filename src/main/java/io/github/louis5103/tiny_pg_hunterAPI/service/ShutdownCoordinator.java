@@ -0,0 +1,106 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseManager;
+import io.github.louis5103.tiny_pg_hunterAPI.model.entity.PlayerData;
+import io.github.louis5103.tiny_pg_hunterAPI.model.repository.PlayerDataRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * 플러그인 종료 시 데이터베이스 작업을 정해진 시간 안에 정리합니다.
+ *
+ * 종료 순서:
+ * 1. 새 비동기 작업을 받지 않습니다 (이후 제출은 즉시 실패)
+ * 2. 주기 저장을 멈추고, 진행 중인 저장이 원본에 반영되기를 기다린 뒤
+ *    남은 변경 플레이어를 모아 쓰기 대기열 맨 뒤에 한 번의 일괄 저장으로 넣습니다
+ * 3. 마감 시간까지 쓰기 → 조회 순으로 대기열이 비기를 기다리고, 넘기면 남은 작업을 취소합니다
+ * 4. 저장하지 못한 플레이어와 취소된 작업 수를 로그로 남깁니다
+ * 5. EntityManagerFactory와 커넥션 풀을 닫습니다
+ *
+ * 서버의 종료 감시(watchdog)보다 짧은 마감 시간을 쓰면 DB가 멈춰 있어도 서버 종료가 막히지 않습니다.
+ */
+public class ShutdownCoordinator {
+
+    // 로그에 이름을 남길 최대 플레이어 수
+    private static final int MAX_LOGGED_NAMES = 20;
+
+    private final DatabaseManager databaseManager;
+    private final PlayerSessionCache sessionCache;
+    private final PlayerDataRepository playerRepository;
+    private final Logger logger;
+    private final long deadlineMillis;
+    private final long closeTimeoutMillis;
+
+    public ShutdownCoordinator(DatabaseManager databaseManager, PlayerSessionCache sessionCache,
+                               PlayerDataRepository playerRepository, Logger logger,
+                               long deadlineMillis, long closeTimeoutMillis) {
+        if (databaseManager == null) {
+            throw new IllegalArgumentException("DatabaseManager는 null일 수 없습니다!");
+        }
+        if (sessionCache == null) {
+            throw new IllegalArgumentException("PlayerSessionCache는 null일 수 없습니다!");
+        }
+        if (playerRepository == null) {
+            throw new IllegalArgumentException("PlayerDataRepository는 null일 수 없습니다!");
+        }
+
+        this.databaseManager = databaseManager;
+        this.sessionCache = sessionCache;
+        this.playerRepository = playerRepository;
+        this.logger = logger;
+        this.deadlineMillis = Math.max(1L, deadlineMillis);
+        this.closeTimeoutMillis = Math.max(1L, closeTimeoutMillis);
+    }
+
+    /**
+     * 종료 절차를 실행합니다. 메인 스레드에서 호출되며 최대 deadline + closeTimeout 동안 막힙니다.
+     */
+    public void shutdown() {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+
+        databaseManager.stopAccepting();
+        sessionCache.stop();
+
+        // 앞선 저장의 결과가 반영되기 전에 복사하면 같은 변경분이 두 번 더해지므로 먼저 기다립니다
+        // 반영은 쓰기 스레드에서 이루어지므로 메인 스레드가 여기서 기다려도 막히지 않습니다
+        if (!sessionCache.awaitSaves(deadlineNanos)) {
+            logger.warning("진행 중인 저장이 마감 시간 안에 끝나지 않았습니다 - 마지막 저장을 그대로 진행합니다");
+        }
+        List<PlayerData> pending = sessionCache.drainDirty();
+        // 하나의 트랜잭션(JDBC 배치)으로 저장하며, 앞서 대기열에 들어간 쓰기가 모두 끝난 뒤 실행됩니다
+        // 초기화가 실패한 상태라면 저장이 실패로 끝나고 아래에서 저장하지 못한 플레이어를 남깁니다
+        Runnable finalFlush = pending.isEmpty() ? null : () -> playerRepository.saveAll(pending);
+
+        DatabaseManager.DrainResult result = databaseManager.drain(finalFlush, deadlineNanos);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        if (finalFlush != null) {
+            if (result.finalWriteCompleted()) {
+                logger.info(String.format("종료 전 플레이어 %d명의 데이터를 저장했습니다 (%dms)",
+                        pending.size(), elapsedMillis));
+            } else {
+                logger.severe(String.format("종료 전 플레이어 데이터 저장 실패 (%s): %s",
+                        result.finalWriteError().getMessage(), describe(pending)));
+            }
+        }
+        if (result.droppedWrites() > 0 || result.droppedReads() > 0) {
+            logger.warning(String.format("종료 마감 시간(%dms) 초과 - 취소된 쓰기 %d개, 조회 %d개",
+                    deadlineMillis, result.droppedWrites(), result.droppedReads()));
+        }
+
+        databaseManager.closeResources(closeTimeoutMillis);
+    }
+
+    private static String describe(List<PlayerData> players) {
+        String names = players.stream()
+                .limit(MAX_LOGGED_NAMES)
+                .map(PlayerData::getPlayerName)
+                .collect(Collectors.joining(", "));
+        int rest = players.size() - MAX_LOGGED_NAMES;
+        return rest > 0 ? String.format("%s 외 %d명", names, rest) : names;
+    }
+}
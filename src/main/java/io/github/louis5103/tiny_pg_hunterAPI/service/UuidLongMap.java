@@ -0,0 +1,160 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * UUID를 두 개의 long으로 나눠 저장하는 개방 주소법(선형 탐사) 해시 맵입니다. 값은 long입니다.
+ *
+ * HashMap&lt;UUID, Long&gt;과 달리 항목마다 Entry/Long 객체를 만들지 않으므로
+ * 접속/퇴장이 잦아도 가비지가 생기지 않고, 순회는 배열을 한 번 훑는 것으로 끝납니다.
+ * 스레드 안전하지 않습니다 (한 스레드에서만 사용).
+ */
+final class UuidLongMap {
+
+    /** 값이 없을 때 get/remove가 반환하는 값 */
+    static final long NO_VALUE = Long.MIN_VALUE;
+
+    // 0/0 UUID는 빈 칸 표시로 쓰므로 키로 사용할 수 없습니다 (플레이어 UUID는 버전 비트 때문에 0/0이 될 수 없음)
+    private long[] most;
+    private long[] least;
+    private long[] values;
+    private int size;
+    private int mask;
+
+    UuidLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        most = new long[capacity];
+        least = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(UUID key) {
+        int slot = find(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        return slot >= 0 ? values[slot] : NO_VALUE;
+    }
+
+    void put(UUID key, long value) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        if (msb == 0L && lsb == 0L) {
+            throw new IllegalArgumentException("0 UUID는 키로 사용할 수 없습니다");
+        }
+        int slot = find(msb, lsb);
+        if (slot >= 0) {
+            values[slot] = value;
+            return;
+        }
+        // 적재율 1/2을 넘으면 두 배로 늘립니다
+        if ((size + 1) * 2 > most.length) {
+            rehash(most.length * 2);
+        }
+        insert(msb, lsb, value);
+        size++;
+    }
+
+    long remove(UUID key) {
+        int slot = find(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        if (slot < 0) {
+            return NO_VALUE;
+        }
+        long removed = values[slot];
+        deleteSlot(slot);
+        size--;
+        return removed;
+    }
+
+    /**
+     * 모든 항목을 순회하면서 값을 바꿉니다. 순회 중에 put/remove를 호출하면 안 됩니다.
+     */
+    void replaceAll(Updater updater) {
+        for (int i = 0; i < most.length; i++) {
+            if (most[i] != 0L || least[i] != 0L) {
+                values[i] = updater.apply(most[i], least[i], values[i]);
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(most, 0L);
+        Arrays.fill(least, 0L);
+        size = 0;
+    }
+
+    private int find(long msb, long lsb) {
+        int slot = hash(msb, lsb) & mask;
+        while (most[slot] != 0L || least[slot] != 0L) {
+            if (most[slot] == msb && least[slot] == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(long msb, long lsb, long value) {
+        int slot = hash(msb, lsb) & mask;
+        while (most[slot] != 0L || least[slot] != 0L) {
+            slot = (slot + 1) & mask;
+        }
+        most[slot] = msb;
+        least[slot] = lsb;
+        values[slot] = value;
+    }
+
+    /**
+     * 선형 탐사에서는 묘비 없이 지우려면 뒤따르는 항목을 앞으로 당겨야 합니다 (backward shift).
+     */
+    private void deleteSlot(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (most[next] != 0L || least[next] != 0L) {
+            int home = hash(most[next], least[next]) & mask;
+            // home이 (gap, next] 구간 밖이면 gap으로 옮겨도 탐색 경로가 끊기지 않습니다
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                most[gap] = most[next];
+                least[gap] = least[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        most[gap] = 0L;
+        least[gap] = 0L;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldMost.length; i++) {
+            if (oldMost[i] != 0L || oldLeast[i] != 0L) {
+                insert(oldMost[i], oldLeast[i], oldValues[i]);
+            }
+        }
+    }
+
+    // 테스트에서 같은 칸으로 모이는 키를 고를 때도 사용합니다
+    static int hash(long msb, long lsb) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    @FunctionalInterface
+    interface Updater {
+        long apply(long mostSignificantBits, long leastSignificantBits, long value);
+    }
+}
@@ -0,0 +1,292 @@
+package io.github.louis5103.tiny_pg_hunterAPI.transfer;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseType;
+import io.github.louis5103.tiny_pg_hunterAPI.journal.TransactionJournal;
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.Money;
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.UuidStorage;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Locale;
+import java.util.function.LongConsumer;
+
+/**
+ * player_data를 JDBC로 직접 스트리밍하는 가져오기/내보내기입니다.
+ *
+ * - 읽기는 전방 전용(forward-only) 결과 집합을 사용하고, MySQL은 행 단위 스트리밍 모드로 받습니다
+ *   (전체 결과를 힙에 올리지 않음)
+ * - 쓰기는 batchSize개씩 JDBC 배치로 보내고 배치마다 커밋하므로 메모리와 언두 로그가 일정합니다
+ * - 같은 uuid가 이미 있으면 덮어씁니다 (MySQL ON DUPLICATE KEY / SQLite ON CONFLICT)
+ * - uuid 저장 방식(문자열/16바이트)은 대상 테이블의 컬럼 타입을 보고 맞춥니다
+ * - 잔액을 최소 단위로 바꾸기 전(money DOUBLE 컬럼)의 데이터베이스에서도 내보낼 수 있습니다
+ *
+ * Hibernate와 Bukkit에 의존하지 않으므로 플러그인 명령어와 오프라인 도구(PlayerDataTransferTool)에서 함께 씁니다.
+ * 닉네임은 대소문자 무시 유니크이므로, 다른 uuid가 같은 닉네임을 가진 파일은 해당 배치에서 실패합니다.
+ *
+ * 쓴 행의 잔액은 절댓값이므로, 행의 저널 위치(journal_id, journal_seq)도 함께 덮어써서 그 전의 저널 기록이
+ * 복구(JournalReplayer.recover) 때 가져온 잔액 위에 다시 더해지지 않게 합니다.
+ * - 저널을 넘긴 경우(플러그인 명령어): 그 저널의 지금까지의 기록을 모두 반영한 것으로 표시합니다
+ * - 저널이 없는 경우(오프라인 도구, 저널을 끈 서버): 저널 위치를 비웁니다 (NULL, 0). 비워진 행에는 남아 있는
+ *   모든 기록이 다시 더해지므로, 대상 DB를 쓰는 서버의 저널이 비워진 상태(journal 폴더에 세그먼트가
+ *   남지 않은 상태)에서 가져와야 합니다
+ * 어느 경우든 가져오는 동안 대상 플레이어가 접속해서 거래하지 않아야 합니다.
+ */
+public class PlayerDataTransfer {
+
+    private static final String SELECT_ALL =
+            "SELECT uuid, player_name, balance, last_login, play_time_minutes FROM player_data ORDER BY uuid";
+    // 스키마 V6 이전 (money DOUBLE)
+    private static final String SELECT_ALL_LEGACY =
+            "SELECT uuid, player_name, money, last_login, play_time_minutes FROM player_data ORDER BY uuid";
+    private static final String UPSERT_MYSQL =
+            "INSERT INTO player_data (uuid, player_name, balance, last_login, play_time_minutes, journal_id, journal_seq) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE player_name = VALUES(player_name), balance = VALUES(balance), "
+                    + "last_login = VALUES(last_login), play_time_minutes = VALUES(play_time_minutes), "
+                    + "journal_id = VALUES(journal_id), journal_seq = VALUES(journal_seq), version = version + 1";
+    private static final String UPSERT_SQLITE =
+            "INSERT INTO player_data (uuid, player_name, balance, last_login, play_time_minutes, journal_id, journal_seq) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?) "
+                    + "ON CONFLICT(uuid) DO UPDATE SET player_name = excluded.player_name, balance = excluded.balance, "
+                    + "last_login = excluded.last_login, play_time_minutes = excluded.play_time_minutes, "
+                    + "journal_id = excluded.journal_id, journal_seq = excluded.journal_seq, "
+                    + "version = player_data.version + 1";
+
+    // 진행 상황을 알리는 간격 (행)
+    private static final long PROGRESS_INTERVAL = 100_000L;
+
+    private final int batchSize;
+    private final LongConsumer progress;
+    // 쓴 행을 반영한 것으로 표시할 저널 (null이면 저널 위치를 비움)
+    private final TransactionJournal journal;
+
+    /**
+     * @param batchSize 한 번에 보내고 커밋할 행 수
+     * @param progress  PROGRESS_INTERVAL 행마다 누적 행 수를 받는 콜백 (필요 없으면 null)
+     */
+    public PlayerDataTransfer(int batchSize, LongConsumer progress) {
+        this(batchSize, progress, null);
+    }
+
+    /**
+     * @param journal 쓴 행을 지금까지의 기록을 반영한 것으로 표시할 대상 서버의 저널 (null이면 저널 위치를 비움)
+     */
+    public PlayerDataTransfer(int batchSize, LongConsumer progress, TransactionJournal journal) {
+        this.batchSize = Math.max(1, batchSize);
+        this.progress = progress == null ? rows -> { } : progress;
+        this.journal = journal;
+    }
+
+    /**
+     * player_data 전체를 한 행씩 읽어 넘깁니다.
+     *
+     * @return 읽은 행 수
+     */
+    public long export(Connection source, DatabaseType sourceType, TransferFormat.RowWriter out)
+            throws SQLException, IOException {
+        boolean legacy = !hasColumn(source, "balance");
+        try (Statement statement = source.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // MySQL Connector/J는 Integer.MIN_VALUE일 때만 결과를 한 행씩 스트리밍합니다
+            statement.setFetchSize(sourceType == DatabaseType.MYSQL ? Integer.MIN_VALUE : batchSize);
+            try (ResultSet rs = statement.executeQuery(legacy ? SELECT_ALL_LEGACY : SELECT_ALL)) {
+                long rows = 0;
+                while (rs.next()) {
+                    Timestamp lastLogin = rs.getTimestamp(4);
+                    long balance = legacy ? Money.ofMajor(rs.getDouble(3)) : rs.getLong(3);
+                    out.write(new PlayerRow(UuidStorage.TEXT.fromJdbc(rs.getObject(1)), rs.getString(2),
+                            balance, lastLogin == null ? null : lastLogin.getTime(), rs.getLong(5)));
+                    if (++rows % PROGRESS_INTERVAL == 0) {
+                        progress.accept(rows);
+                    }
+                }
+                return rows;
+            }
+        }
+    }
+
+    /**
+     * 입력의 모든 행을 대상 player_data에 넣거나 덮어씁니다. 배치마다 커밋합니다.
+     *
+     * @return 쓴 행 수
+     */
+    public long importRows(Connection target, DatabaseType targetType, TransferFormat.RowReader in)
+            throws SQLException, IOException {
+        UuidStorage storage = detectUuidStorage(target);
+        boolean autoCommit = target.getAutoCommit();
+        target.setAutoCommit(false);
+        try (PreparedStatement upsert = target.prepareStatement(
+                targetType == DatabaseType.MYSQL ? UPSERT_MYSQL : UPSERT_SQLITE)) {
+            long rows = 0;
+            int pending = 0;
+            PlayerRow row;
+            while ((row = in.next()) != null) {
+                bind(upsert, storage, row);
+                upsert.addBatch();
+                rows++;
+                if (++pending == batchSize) {
+                    flush(target, upsert, rows - pending);
+                    pending = 0;
+                }
+                if (rows % PROGRESS_INTERVAL == 0) {
+                    progress.accept(rows);
+                }
+            }
+            if (pending > 0) {
+                flush(target, upsert, rows - pending);
+            }
+            return rows;
+        } catch (SQLException | IOException | RuntimeException e) {
+            target.rollback();
+            throw e;
+        } finally {
+            target.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * 입력에서 최대 batchSize개 행을 읽어 배치 하나로 보냅니다. 커밋은 호출한 쪽이 합니다.
+     * 가져오기를 배치마다 다른 작업으로 나눌 때 사용합니다 (단일 쓰기 스레드에서 다른 쓰기가 사이에 끼어들 수 있도록).
+     *
+     * @param rowsBefore 앞선 배치까지 쓴 행 수 (오류 메시지와 진행 상황용)
+     * @return 이번에 쓴 행 수 (입력이 끝났으면 0)
+     */
+    public int importBatch(Connection target, DatabaseType targetType, TransferFormat.RowReader in, long rowsBefore)
+            throws SQLException, IOException {
+        UuidStorage storage = detectUuidStorage(target);
+        try (PreparedStatement upsert = target.prepareStatement(
+                targetType == DatabaseType.MYSQL ? UPSERT_MYSQL : UPSERT_SQLITE)) {
+            int rows = 0;
+            PlayerRow row;
+            while (rows < batchSize && (row = in.next()) != null) {
+                bind(upsert, storage, row);
+                upsert.addBatch();
+                rows++;
+            }
+            if (rows == 0) {
+                return 0;
+            }
+            try {
+                upsert.executeBatch();
+            } catch (SQLException e) {
+                throw new SQLException(String.format("%d번째 행부터의 배치 저장 실패: %s", rowsBefore + 1, e.getMessage()), e);
+            }
+            if ((rowsBefore + rows) / PROGRESS_INTERVAL > rowsBefore / PROGRESS_INTERVAL) {
+                progress.accept(rowsBefore + rows);
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * 한 데이터베이스의 player_data를 다른 데이터베이스로 바로 옮깁니다 (중간 파일 없음).
+     *
+     * @return 옮긴 행 수
+     */
+    public long copy(Connection source, DatabaseType sourceType, Connection target, DatabaseType targetType)
+            throws SQLException, IOException {
+        UuidStorage storage = detectUuidStorage(target);
+        boolean autoCommit = target.getAutoCommit();
+        target.setAutoCommit(false);
+        try (PreparedStatement upsert = target.prepareStatement(
+                targetType == DatabaseType.MYSQL ? UPSERT_MYSQL : UPSERT_SQLITE)) {
+            long[] counters = new long[2]; // [0] 전체 행, [1] 현재 배치 행
+            TransferFormat.RowWriter sink = new TransferFormat.RowWriter() {
+                @Override
+                public void write(PlayerRow row) throws IOException {
+                    try {
+                        bind(upsert, storage, row);
+                        upsert.addBatch();
+                        counters[0]++;
+                        if (++counters[1] == batchSize) {
+                            flush(target, upsert, counters[0] - counters[1]);
+                            counters[1] = 0;
+                        }
+                    } catch (SQLException e) {
+                        throw new IOException(e.getMessage(), e);
+                    }
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            export(source, sourceType, sink);
+            if (counters[1] > 0) {
+                flush(target, upsert, counters[0] - counters[1]);
+            }
+            return counters[0];
+        } catch (SQLException | IOException | RuntimeException e) {
+            target.rollback();
+            throw e;
+        } finally {
+            target.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void bind(PreparedStatement statement, UuidStorage storage, PlayerRow row) throws SQLException {
+        statement.setObject(1, storage.toJdbc(row.uuid()));
+        statement.setString(2, row.playerName());
+        statement.setLong(3, row.balance());
+        if (row.lastLoginMillis() == null) {
+            statement.setNull(4, Types.TIMESTAMP);
+        } else {
+            statement.setTimestamp(4, new Timestamp(row.lastLoginMillis()));
+        }
+        statement.setLong(5, row.playTimeMinutes());
+        if (journal == null) {
+            statement.setNull(6, Types.BIGINT);
+            statement.setLong(7, 0L);
+        } else {
+            statement.setLong(6, journal.journalId());
+            statement.setLong(7, journal.lastSequence());
+        }
+    }
+
+    private static void flush(Connection connection, PreparedStatement statement, long firstRow) throws SQLException {
+        try {
+            statement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            throw new SQLException(String.format("%d번째 행부터의 배치 저장 실패: %s", firstRow + 1, e.getMessage()), e);
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String column) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String table : new String[]{"player_data", "PLAYER_DATA"}) {
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                while (columns.next()) {
+                    if (column.equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 대상 테이블의 uuid 컬럼 타입으로 저장 방식을 판단합니다.
+     */
+    static UuidStorage detectUuidStorage(Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String table : new String[]{"player_data", "PLAYER_DATA"}) {
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, null)) {
+                while (columns.next()) {
+                    if ("uuid".equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                        String type = columns.getString("TYPE_NAME").toUpperCase(Locale.ROOT);
+                        return type.contains("CHAR") || type.contains("TEXT") ? UuidStorage.TEXT : UuidStorage.BINARY;
+                    }
+                }
+            }
+        }
+        throw new SQLException("대상 데이터베이스에 player_data 테이블이 없습니다");
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.louis5103.tiny_pg_hunterAPI.transfer;
+
+import io.github.louis5103.tiny_pg_hunterAPI.config.DatabaseType;
+import io.github.louis5103.tiny_pg_hunterAPI.config.SchemaMigrator;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * 서버를 켜지 않고 player_data를 옮기는 명령줄 도구입니다. 플러그인 jar에 함께 들어 있습니다.
+ *
+ * <pre>
+ * java -cp tiny_pg_hunterAPI.jar io.github.louis5103.tiny_pg_hunterAPI.transfer.PlayerDataTransferTool export &lt;jdbc-url&gt; &lt;파일&gt;
+ * java -cp tiny_pg_hunterAPI.jar ... import &lt;jdbc-url&gt; &lt;파일&gt;
+ * java -cp tiny_pg_hunterAPI.jar ... copy &lt;원본 jdbc-url&gt; &lt;대상 jdbc-url&gt;
+ *
+ * 옵션: --user, --password (원본/단일 DB), --to-user, --to-password (copy 대상), --batch N (기본 1000)
+ * 예: copy jdbc:sqlite:plugins/Tiny_PG_HunterAPI/database/player_data.db jdbc:mysql://localhost:3306/minecraft --to-user mc --to-password pw
+ * </pre>
+ *
+ * 가져오기/복사 대상에는 플러그인과 같은 스키마 마이그레이션을 먼저 적용하므로 빈 데이터베이스에도 바로 넣을 수 있습니다.
+ * Bukkit 클래스를 사용하지 않습니다.
+ */
+public final class PlayerDataTransferTool {
+
+    private static final Logger LOGGER = Logger.getLogger("TinyPG-Transfer");
+
+    private PlayerDataTransferTool() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            printUsage();
+            System.exit(2);
+            return;
+        }
+
+        Map<String, String> options = parseOptions(args);
+        int batchSize = Integer.parseInt(options.getOrDefault("--batch", "1000"));
+        long start = System.nanoTime();
+        PlayerDataTransfer transfer = new PlayerDataTransfer(batchSize,
+                rows -> System.out.printf("  %,d행 처리 (%.0f행/초)%n", rows, rows / elapsedSeconds(start)));
+
+        try {
+            long rows = switch (args[0].toLowerCase()) {
+                case "export" -> export(transfer, args[1], Path.of(args[2]), options);
+                case "import" -> importFile(transfer, args[1], Path.of(args[2]), options);
+                case "copy" -> copy(transfer, args[1], args[2], options);
+                default -> {
+                    printUsage();
+                    System.exit(2);
+                    yield 0L;
+                }
+            };
+            System.out.printf("완료: %,d행, %.1f초%n", rows, elapsedSeconds(start));
+        } catch (Exception e) {
+            System.err.println("실패: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private static long export(PlayerDataTransfer transfer, String url, Path file, Map<String, String> options)
+            throws Exception {
+        DatabaseType type = typeOf(url);
+        try (Connection connection = open(url, options.get("--user"), options.get("--password"));
+             TransferFormat.RowWriter writer = TransferFormat.openWriter(file)) {
+            // MySQL 스트리밍 결과는 트랜잭션 하나 안에서 읽어야 일관된 스냅샷이 됩니다
+            connection.setAutoCommit(false);
+            if (type == DatabaseType.MYSQL) {
+                connection.setReadOnly(true);
+            }
+            long rows = transfer.export(connection, type, writer);
+            connection.commit();
+            return rows;
+        }
+    }
+
+    private static long importFile(PlayerDataTransfer transfer, String url, Path file, Map<String, String> options)
+            throws Exception {
+        DatabaseType type = typeOf(url);
+        try (Connection connection = open(url, options.get("--user"), options.get("--password"));
+             TransferFormat.RowReader reader = TransferFormat.openReader(file)) {
+            new SchemaMigrator(type, LOGGER).migrate(connection);
+            return transfer.importRows(connection, type, reader);
+        }
+    }
+
+    private static long copy(PlayerDataTransfer transfer, String fromUrl, String toUrl, Map<String, String> options)
+            throws Exception {
+        DatabaseType sourceType = typeOf(fromUrl);
+        DatabaseType targetType = typeOf(toUrl);
+        try (Connection source = open(fromUrl, options.get("--user"), options.get("--password"));
+             Connection target = open(toUrl, options.get("--to-user"), options.get("--to-password"))) {
+            new SchemaMigrator(targetType, LOGGER).migrate(target);
+            source.setAutoCommit(false);
+            long rows = transfer.copy(source, sourceType, target, targetType);
+            source.commit();
+            return rows;
+        }
+    }
+
+    private static Connection open(String url, String user, String password) throws SQLException {
+        // 셰이드 jar에서는 서비스 파일로 드라이버가 등록되지 않을 수 있으므로 직접 불러옵니다
+        try {
+            Class.forName(typeOf(url) == DatabaseType.MYSQL ? "com.mysql.cj.jdbc.Driver" : "org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("JDBC 드라이버를 찾을 수 없습니다: " + e.getMessage(), e);
+        }
+        if (user == null) {
+            return DriverManager.getConnection(url);
+        }
+        return DriverManager.getConnection(url, user, password == null ? "" : password);
+    }
+
+    private static DatabaseType typeOf(String url) {
+        if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+            return DatabaseType.MYSQL;
+        }
+        if (url.startsWith("jdbc:sqlite:")) {
+            return DatabaseType.SQLITE;
+        }
+        throw new IllegalArgumentException("지원하지 않는 JDBC URL입니다 (jdbc:mysql:, jdbc:sqlite:): " + url);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 3; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("알 수 없는 인자입니다: " + args[i]);
+            }
+            options.put(args[i], args[i + 1]);
+        }
+        return options;
+    }
+
+    private static double elapsedSeconds(long startNanos) {
+        return Math.max(1e-9, (System.nanoTime() - startNanos) / 1_000_000_000.0);
+    }
+
+    private static void printUsage() {
+        System.err.println("사용법:");
+        System.err.println("  export <jdbc-url> <파일.csv|.ndjson[.gz]> [--user U --password P]");
+        System.err.println("  import <jdbc-url> <파일.csv|.ndjson[.gz]> [--user U --password P]");
+        System.err.println("  copy <원본 jdbc-url> <대상 jdbc-url> [--user U --password P --to-user U --to-password P]");
+        System.err.println("  공통 옵션: --batch N (배치/커밋 단위, 기본 1000)");
+    }
+}
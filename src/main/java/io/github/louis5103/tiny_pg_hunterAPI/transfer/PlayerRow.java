@@ -0,0 +1,13 @@
+package io.github.louis5103.tiny_pg_hunterAPI.transfer;
+
+/**
+ * 가져오기/내보내기 중 player_data 한 행입니다. 엔티티를 거치지 않으므로 영속성 컨텍스트에 쌓이지 않습니다.
+ *
+ * @param uuid            UUID 문자열 (저장 방식과 관계없이 36자 형식)
+ * @param playerName      닉네임
+ * @param balance         소지금 (최소 단위, Money 참고)
+ * @param lastLoginMillis 마지막 로그인 시각 (epoch millis, 없으면 null)
+ * @param playTimeMinutes 플레이 시간 (분)
+ */
+public record PlayerRow(String uuid, String playerName, long balance, Long lastLoginMillis, long playTimeMinutes) {
+}
@@ -0,0 +1,436 @@
+package io.github.louis5103.tiny_pg_hunterAPI.transfer;
+
+import io.github.louis5103.tiny_pg_hunterAPI.model.type.Money;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * player_data 파일 형식입니다. 파일 이름의 확장자로 고릅니다 (.gz를 붙이면 gzip 압축).
+ *
+ * - CSV: uuid,player_name,money,last_login,play_time_minutes (머리글 한 줄, last_login은 epoch millis)
+ * - NDJSON: 한 줄에 JSON 객체 하나 (.ndjson 또는 .jsonl)
+ *
+ * 두 형식 모두 한 줄에 한 행이라 파일 크기와 관계없이 한 행씩 읽고 씁니다.
+ * money는 사람이 읽는 소수 금액(소수 두 자리)으로 쓰고, 읽을 때 최소 단위로 바꿉니다 (예전 double 파일도 읽을 수 있음).
+ */
+public enum TransferFormat {
+    CSV,
+    NDJSON;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "uuid,player_name,money,last_login,play_time_minutes";
+
+    /**
+     * 파일 이름으로 형식을 고릅니다.
+     *
+     * @throws IllegalArgumentException 지원하지 않는 확장자
+     */
+    public static TransferFormat fromFileName(String fileName) {
+        String name = stripGzip(fileName.toLowerCase(Locale.ROOT));
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("지원하지 않는 파일 형식입니다 (.csv, .ndjson, .jsonl, 뒤에 .gz 가능): " + fileName);
+    }
+
+    private static String stripGzip(String name) {
+        return name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name;
+    }
+
+    /**
+     * 파일에 쓰는 RowWriter를 엽니다. 확장자가 .gz면 압축합니다.
+     */
+    public static RowWriter openWriter(Path file) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz")) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return fromFileName(file.getFileName().toString()).writer(writer);
+    }
+
+    /**
+     * 파일을 읽는 RowReader를 엽니다. 확장자가 .gz면 압축을 풉니다.
+     */
+    public static RowReader openReader(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz")) {
+            in = new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return fromFileName(file.getFileName().toString()).reader(reader);
+    }
+
+    public RowWriter writer(BufferedWriter writer) throws IOException {
+        if (this == CSV) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            return new CsvWriter(writer);
+        }
+        return new NdjsonWriter(writer);
+    }
+
+    public RowReader reader(BufferedReader reader) {
+        return this == CSV ? new CsvReader(reader) : new NdjsonReader(reader);
+    }
+
+    /**
+     * 한 행씩 쓰는 출력입니다.
+     */
+    public interface RowWriter extends AutoCloseable {
+        void write(PlayerRow row) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * 한 행씩 읽는 입력입니다. 끝에 도달하면 null을 반환합니다.
+     */
+    public interface RowReader extends AutoCloseable {
+        PlayerRow next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    // ===== CSV =====
+
+    private static final class CsvWriter implements RowWriter {
+        private final BufferedWriter writer;
+        private final StringBuilder line = new StringBuilder(128);
+
+        private CsvWriter(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(PlayerRow row) throws IOException {
+            line.setLength(0);
+            line.append(row.uuid()).append(',');
+            appendCsvField(line, row.playerName());
+            line.append(',');
+            Money.appendTo(line, row.balance()).append(',');
+            if (row.lastLoginMillis() != null) {
+                line.append(row.lastLoginMillis().longValue());
+            }
+            line.append(',').append(row.playTimeMinutes());
+            writer.append(line);
+            writer.newLine();
+        }
+
+        private static void appendCsvField(StringBuilder out, String value) {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.append(value);
+                return;
+            }
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.append('"');
+                }
+                out.append(c);
+            }
+            out.append('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    private static final class CsvReader implements RowReader {
+        private final BufferedReader reader;
+        private final String[] fields = new String[5];
+        private final StringBuilder field = new StringBuilder(64);
+        private long lineNumber;
+
+        private CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public PlayerRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isEmpty() || (lineNumber == 1 && line.startsWith("uuid,")));
+
+            split(line);
+            try {
+                return new PlayerRow(fields[0], fields[1], Money.parse(fields[2]),
+                        fields[3].isEmpty() ? null : Long.parseLong(fields[3]), Long.parseLong(fields[4]));
+            } catch (IllegalArgumentException e) {
+                throw new IOException(String.format("%d번째 줄의 숫자 형식이 잘못되었습니다: %s", lineNumber, line), e);
+            }
+        }
+
+        /**
+         * 따옴표로 감싼 필드("" 이스케이프)를 처리하며 쉼표로 나눕니다.
+         */
+        private void split(String line) throws IOException {
+            int count = 0;
+            int i = 0;
+            int length = line.length();
+            while (count < fields.length) {
+                field.setLength(0);
+                if (i < length && line.charAt(i) == '"') {
+                    i++;
+                    while (true) {
+                        if (i >= length) {
+                            throw new IOException(lineNumber + "번째 줄의 따옴표가 닫히지 않았습니다");
+                        }
+                        char c = line.charAt(i++);
+                        if (c == '"') {
+                            if (i < length && line.charAt(i) == '"') {
+                                field.append('"');
+                                i++;
+                            } else {
+                                break;
+                            }
+                        } else {
+                            field.append(c);
+                        }
+                    }
+                } else {
+                    while (i < length && line.charAt(i) != ',') {
+                        field.append(line.charAt(i++));
+                    }
+                }
+                fields[count++] = field.toString();
+                if (i < length && line.charAt(i) == ',') {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            if (count != fields.length) {
+                throw new IOException(String.format("%d번째 줄의 열 수가 %d개입니다 (5개 필요)", lineNumber, count));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    // ===== NDJSON =====
+
+    private static final class NdjsonWriter implements RowWriter {
+        private final BufferedWriter writer;
+        private final StringBuilder line = new StringBuilder(160);
+
+        private NdjsonWriter(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(PlayerRow row) throws IOException {
+            line.setLength(0);
+            line.append("{\"uuid\":\"").append(row.uuid()).append("\",\"player_name\":");
+            appendJsonString(line, row.playerName());
+            line.append(",\"money\":");
+            Money.appendTo(line, row.balance())
+                    .append(",\"last_login\":").append(row.lastLoginMillis() == null ? "null" : row.lastLoginMillis().toString())
+                    .append(",\"play_time_minutes\":").append(row.playTimeMinutes()).append('}');
+            writer.append(line);
+            writer.newLine();
+        }
+
+        private static void appendJsonString(StringBuilder out, String value) {
+            out.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> out.append("\\\"");
+                    case '\\' -> out.append("\\\\");
+                    case '\n' -> out.append("\\n");
+                    case '\r' -> out.append("\\r");
+                    case '\t' -> out.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                    }
+                }
+            }
+            out.append('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * 이 형식이 쓰는 평평한 객체(문자열/숫자/null 값)만 읽는 최소한의 JSON 파서입니다.
+     */
+    private static final class NdjsonReader implements RowReader {
+        private final BufferedReader reader;
+        private final StringBuilder token = new StringBuilder(64);
+        private long lineNumber;
+        private String line;
+        private int pos;
+
+        private NdjsonReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public PlayerRow next() throws IOException {
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+
+            pos = 0;
+            String uuid = null;
+            String name = null;
+            Long money = null;
+            Long lastLogin = null;
+            long playTime = 0L;
+
+            expect('{');
+            skipSpaces();
+            if (peek() != '}') {
+                while (true) {
+                    String key = readString();
+                    expect(':');
+                    skipSpaces();
+                    String value = peek() == '"' ? readString() : readLiteral();
+                    try {
+                        switch (key) {
+                            case "uuid" -> uuid = value;
+                            case "player_name" -> name = value;
+                            case "money" -> money = Money.parse(value);
+                            case "last_login" -> lastLogin = value == null ? null : Long.parseLong(value);
+                            case "play_time_minutes" -> playTime = Long.parseLong(value);
+                            default -> { } // 모르는 키는 무시 (이후 버전에서 열이 늘어도 읽을 수 있도록)
+                        }
+                    } catch (IllegalArgumentException | NullPointerException e) {
+                        throw error("\"" + key + "\" 값이 잘못되었습니다");
+                    }
+                    skipSpaces();
+                    if (peek() == ',') {
+                        pos++;
+                        skipSpaces();
+                        continue;
+                    }
+                    expect('}');
+                    break;
+                }
+            }
+            if (uuid == null || name == null || money == null) {
+                throw error("uuid, player_name, money는 필수입니다");
+            }
+            return new PlayerRow(uuid, name, money, lastLogin, playTime);
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            token.setLength(0);
+            while (pos < line.length()) {
+                char c = line.charAt(pos++);
+                if (c == '"') {
+                    return token.toString();
+                }
+                if (c != '\\') {
+                    token.append(c);
+                    continue;
+                }
+                if (pos >= line.length()) {
+                    break;
+                }
+                char escaped = line.charAt(pos++);
+                switch (escaped) {
+                    case 'n' -> token.append('\n');
+                    case 'r' -> token.append('\r');
+                    case 't' -> token.append('\t');
+                    case 'b' -> token.append('\b');
+                    case 'f' -> token.append('\f');
+                    case 'u' -> {
+                        if (pos + 4 > line.length()) {
+                            throw error("\\u 이스케이프가 잘못되었습니다");
+                        }
+                        token.append((char) Integer.parseInt(line, pos, pos + 4, 16));
+                        pos += 4;
+                    }
+                    default -> token.append(escaped);
+                }
+            }
+            throw error("문자열이 닫히지 않았습니다");
+        }
+
+        /**
+         * 숫자 또는 null을 읽습니다. null이면 null을 반환합니다.
+         */
+        private String readLiteral() {
+            int start = pos;
+            while (pos < line.length() && ",} \t".indexOf(line.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = line.substring(start, pos);
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private void expect(char c) throws IOException {
+            skipSpaces();
+            if (peek() != c) {
+                throw error("'" + c + "'가 필요합니다");
+            }
+            pos++;
+        }
+
+        private char peek() {
+            return pos < line.length() ? line.charAt(pos) : '\0';
+        }
+
+        private void skipSpaces() {
+            while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IOException error(String message) {
+            return new IOException(String.format("%d번째 줄 %d번째 글자: %s", lineNumber, pos + 1, message));
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.louis5103.tiny_pg_hunterAPI.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesHaveTheirOwnBucket() {
+        for (int value = 0; value < 8; value++) {
+            assertEquals(value, LatencyHistogram.indexOf(value));
+            assertEquals(value, LatencyHistogram.upperBoundOf(value));
+        }
+    }
+
+    @Test
+    void everyValueFallsInsideItsBucket() {
+        long[] values = {8L, 9L, 15L, 16L, 17L, 1_000L, 1_023L, 1_024L, 999_999L, 1_000_000_007L,
+                Long.MAX_VALUE / 3, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.upperBoundOf(index) >= value, () -> "상한이 값보다 작음: " + value);
+            assertTrue(LatencyHistogram.upperBoundOf(index - 1) < value, () -> "앞 버킷에 들어가야 함: " + value);
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousAndRelativeErrorIsBounded() {
+        int last = LatencyHistogram.indexOf(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(last));
+        for (int index = 8; index <= last; index++) {
+            long lower = LatencyHistogram.upperBoundOf(index - 1) + 1;
+            long upper = LatencyHistogram.upperBoundOf(index);
+            assertEquals(index, LatencyHistogram.indexOf(lower));
+            assertEquals(index, LatencyHistogram.indexOf(upper));
+            // 하위 버킷 8개 → 버킷 폭은 하한의 1/8 이하
+            assertTrue((double) (upper - lower) / lower <= 0.125, () -> "버킷이 너무 넓음: " + lower);
+        }
+    }
+
+    @Test
+    void quantilesReportBucketUpperBoundCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value * 1_000L);
+        }
+        histogram.record(-5L); // 음수는 0으로 기록
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(101L, snapshot.count());
+        assertEquals(100_000L, snapshot.maxNanos());
+        assertEquals(100_000L, snapshot.valueAt(1.0));
+        long p50 = snapshot.valueAt(0.5);
+        assertTrue(p50 >= 50_000L && p50 <= 50_000L * 9 / 8, () -> "p50: " + p50);
+        assertEquals(0L, snapshot.valueAt(0.0));
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0L, snapshot.valueAt(0.99));
+        assertEquals(0.0, snapshot.meanNanos());
+    }
+}
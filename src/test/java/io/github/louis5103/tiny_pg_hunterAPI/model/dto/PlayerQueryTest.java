@@ -0,0 +1,105 @@
+package io.github.louis5103.tiny_pg_hunterAPI.model.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PlayerQueryTest {
+
+    private static final String UUID = "0f8fad5b-d9cb-469f-a165-70867728950e";
+    private static final Instant LOGIN = Instant.parse("2024-05-01T12:34:56.789Z");
+
+    private static PlayerSnapshot snapshot(String name, long balance, long playTime) {
+        return new PlayerSnapshot(UUID, name, balance, LOGIN, playTime);
+    }
+
+    private static PlayerQuery.Cursor roundTrip(PlayerQuery.Sort sort, PlayerSnapshot last) {
+        PlayerQuery query = PlayerQuery.by(sort);
+        return query.after(query.cursorAfter(last)).decodeCursor();
+    }
+
+    @Test
+    void noCursorDecodesToNull() {
+        assertNull(PlayerQuery.by(PlayerQuery.Sort.MONEY_DESC).decodeCursor());
+    }
+
+    @Test
+    void cursorRoundTripsForEverySort() {
+        PlayerSnapshot last = snapshot("Steve", 12_345L, 678L);
+
+        assertEquals(new PlayerQuery.Cursor(12_345L, UUID), roundTrip(PlayerQuery.Sort.MONEY_DESC, last));
+        assertEquals(new PlayerQuery.Cursor(678L, UUID), roundTrip(PlayerQuery.Sort.PLAY_TIME_DESC, last));
+        assertEquals(new PlayerQuery.Cursor(LOGIN, UUID), roundTrip(PlayerQuery.Sort.LAST_LOGIN_DESC, last));
+        assertEquals(new PlayerQuery.Cursor(LOGIN, UUID), roundTrip(PlayerQuery.Sort.LAST_LOGIN_ASC, last));
+        assertEquals(new PlayerQuery.Cursor("Steve", UUID), roundTrip(PlayerQuery.Sort.NAME_ASC, last));
+    }
+
+    @Test
+    void cursorKeepsNegativeAndExtremeBalances() {
+        assertEquals(-1L, roundTrip(PlayerQuery.Sort.MONEY_DESC, snapshot("a", -1L, 0L)).key());
+        assertEquals(Long.MIN_VALUE, roundTrip(PlayerQuery.Sort.MONEY_DESC, snapshot("a", Long.MIN_VALUE, 0L)).key());
+        assertEquals(Long.MAX_VALUE, roundTrip(PlayerQuery.Sort.MONEY_DESC, snapshot("a", Long.MAX_VALUE, 0L)).key());
+    }
+
+    @Test
+    void nameKeyMayContainSeparatorAndNonAscii() {
+        // 키는 마지막 칸이라 구분자(줄바꿈)가 들어 있어도 그대로 돌아와야 합니다
+        assertEquals("line\nbreak", roundTrip(PlayerQuery.Sort.NAME_ASC, snapshot("line\nbreak", 0L, 0L)).key());
+        assertEquals("헌터_01", roundTrip(PlayerQuery.Sort.NAME_ASC, snapshot("헌터_01", 0L, 0L)).key());
+    }
+
+    @Test
+    void cursorIsUrlSafe() {
+        String cursor = PlayerQuery.by(PlayerQuery.Sort.NAME_ASC).cursorAfter(snapshot("??>>~~", 0L, 0L));
+        assertFalse(cursor.contains("+") || cursor.contains("/") || cursor.contains("="), cursor);
+    }
+
+    @Test
+    void cursorFromAnotherSortIsRejected() {
+        String moneyCursor = PlayerQuery.by(PlayerQuery.Sort.MONEY_DESC).cursorAfter(snapshot("a", 1L, 2L));
+        PlayerQuery byPlayTime = PlayerQuery.by(PlayerQuery.Sort.PLAY_TIME_DESC).after(moneyCursor);
+        assertThrows(IllegalArgumentException.class, byPlayTime::decodeCursor);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        PlayerQuery query = PlayerQuery.by(PlayerQuery.Sort.MONEY_DESC);
+        // Base64가 아님
+        assertThrows(IllegalArgumentException.class, () -> query.after("not base64!").decodeCursor());
+        // 칸이 모자람
+        assertThrows(IllegalArgumentException.class, () -> query.after(encode("MONEY_DESC\n" + UUID)).decodeCursor());
+        // 키가 숫자가 아님
+        assertThrows(IllegalArgumentException.class,
+                () -> query.after(encode("MONEY_DESC\n" + UUID + "\nabc")).decodeCursor());
+        // long 범위를 넘는 키
+        assertThrows(IllegalArgumentException.class,
+                () -> query.after(encode("MONEY_DESC\n" + UUID + "\n9223372036854775808")).decodeCursor());
+        PlayerQuery byLogin = PlayerQuery.by(PlayerQuery.Sort.LAST_LOGIN_DESC);
+        assertThrows(IllegalArgumentException.class,
+                () -> byLogin.after(encode("LAST_LOGIN_DESC\n" + UUID + "\nyesterday")).decodeCursor());
+    }
+
+    @Test
+    void limitMustBeInRange() {
+        PlayerQuery query = PlayerQuery.by(PlayerQuery.Sort.MONEY_DESC);
+        assertThrows(IllegalArgumentException.class, () -> query.withLimit(0));
+        assertThrows(IllegalArgumentException.class, () -> query.withLimit(PlayerQuery.MAX_LIMIT + 1));
+        assertEquals(PlayerQuery.MAX_LIMIT, query.withLimit(PlayerQuery.MAX_LIMIT).limit());
+    }
+
+    @Test
+    void emptyNamePrefixMeansNoFilter() {
+        assertNull(PlayerQuery.by(PlayerQuery.Sort.NAME_ASC).withNamePrefix("").namePrefix());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
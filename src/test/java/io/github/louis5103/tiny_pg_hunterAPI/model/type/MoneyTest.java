@@ -0,0 +1,101 @@
+package io.github.louis5103.tiny_pg_hunterAPI.model.type;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void parseReadsDecimalAndScientificNotation() {
+        assertEquals(1234L, Money.parse("12.34"));
+        assertEquals(-500L, Money.parse(" -5 "));
+        assertEquals(1_000_000_000L, Money.parse("1.0E7"));
+        assertEquals(0L, Money.parse("0"));
+    }
+
+    @Test
+    void parseRoundsHalfUpAtThirdDigit() {
+        assertEquals(1L, Money.parse("0.005"));
+        assertEquals(0L, Money.parse("0.004"));
+        assertEquals(1235L, Money.parse("12.345"));
+        // HALF_UP은 0에서 멀어지는 쪽으로 반올림합니다
+        assertEquals(-1L, Money.parse("-0.005"));
+        assertEquals(-1235L, Money.parse("-12.345"));
+    }
+
+    @Test
+    void parseAcceptsTheFullLongRange() {
+        assertEquals(Long.MAX_VALUE, Money.parse("92233720368547758.07"));
+        assertEquals(Long.MIN_VALUE, Money.parse("-92233720368547758.08"));
+    }
+
+    @Test
+    void parseRejectsOverflow() {
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("92233720368547758.08"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("-92233720368547758.09"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1e400"));
+        // 반올림 결과가 범위를 넘는 경우
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("92233720368547758.075"));
+    }
+
+    @Test
+    void parseRejectsNonNumbers() {
+        assertThrows(IllegalArgumentException.class, () -> Money.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("abc"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1,000"));
+    }
+
+    @Test
+    void formatAlwaysWritesTwoFractionDigits() {
+        assertEquals("0.00", Money.format(0L));
+        assertEquals("0.05", Money.format(5L));
+        assertEquals("1.00", Money.format(100L));
+        assertEquals("1234.56", Money.format(123_456L));
+    }
+
+    @Test
+    void formatKeepsTheSignOfSmallNegatives() {
+        assertEquals("-0.05", Money.format(-5L));
+        assertEquals("-0.99", Money.format(-99L));
+        assertEquals("-1.00", Money.format(-100L));
+        assertEquals("-1.23", Money.format(-123L));
+    }
+
+    @Test
+    void formatHandlesLongBounds() {
+        assertEquals("92233720368547758.07", Money.format(Long.MAX_VALUE));
+        assertEquals("-92233720368547758.08", Money.format(Long.MIN_VALUE));
+    }
+
+    @Test
+    void appendToContinuesExistingBuilder() {
+        assertEquals("money=-0.01", Money.appendTo(new StringBuilder("money="), -1L).toString());
+    }
+
+    @Test
+    void formatThenParseRoundTrips() {
+        long[] values = {0L, 1L, -1L, 99L, -99L, 100L, -100L, 123_456_789L, -123_456_789L,
+                Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : values) {
+            assertEquals(value, Money.parse(Money.format(value)), () -> "값: " + value);
+        }
+    }
+
+    @Test
+    void ofMajorDoesNotAccumulateFloatingPointError() {
+        assertEquals(30L, Money.ofMajor(0.1 + 0.2));
+        assertEquals(1234L, Money.ofMajor(12.34));
+        assertEquals(-1L, Money.ofMajor(-0.01));
+        assertEquals(12.34, Money.toMajor(1234L));
+    }
+
+    @Test
+    void ofMajorRejectsNonFiniteAndOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMajor(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMajor(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMajor(1e17));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMajor(-1e17));
+    }
+}
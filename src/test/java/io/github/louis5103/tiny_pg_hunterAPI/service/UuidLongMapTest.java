@@ -0,0 +1,193 @@
+package io.github.louis5103.tiny_pg_hunterAPI.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UuidLongMapTest {
+
+    // new UuidLongMap(4)의 칸 수는 8이고, 4개까지는 늘어나지 않습니다
+    private static final int SMALL_MASK = 7;
+
+    private long nextCandidate = 1L;
+
+    /**
+     * 칸 8개짜리 맵에서 home 칸으로 해시되는 새 키를 고릅니다.
+     */
+    private UUID keyWithHome(int home) {
+        while (true) {
+            long msb = nextCandidate++;
+            if ((UuidLongMap.hash(msb, 1L) & SMALL_MASK) == home) {
+                return new UUID(msb, 1L);
+            }
+        }
+    }
+
+    @Test
+    void putGetAndOverwrite() {
+        UuidLongMap map = new UuidLongMap(4);
+        UUID key = UUID.randomUUID();
+
+        assertEquals(UuidLongMap.NO_VALUE, map.get(key));
+        map.put(key, 10L);
+        map.put(key, 20L);
+
+        assertEquals(20L, map.get(key));
+        assertEquals(1, map.size());
+        assertEquals(UuidLongMap.NO_VALUE, map.remove(UUID.randomUUID()));
+        assertEquals(20L, map.remove(key));
+        assertEquals(0, map.size());
+        assertEquals(UuidLongMap.NO_VALUE, map.get(key));
+    }
+
+    @Test
+    void rejectsZeroUuid() {
+        UuidLongMap map = new UuidLongMap(4);
+        assertThrows(IllegalArgumentException.class, () -> map.put(new UUID(0L, 0L), 1L));
+    }
+
+    @Test
+    void removeShiftsClusterThatWrapsAroundTheEnd() {
+        UuidLongMap map = new UuidLongMap(4);
+        // 셋 다 마지막 칸(7)이 home이라 7, 0, 1 칸에 놓입니다
+        UUID a = keyWithHome(7);
+        UUID b = keyWithHome(7);
+        UUID c = keyWithHome(7);
+        map.put(a, 1L);
+        map.put(b, 2L);
+        map.put(c, 3L);
+
+        assertEquals(1L, map.remove(a));
+        assertEquals(2L, map.get(b));
+        assertEquals(3L, map.get(c));
+
+        assertEquals(2L, map.remove(b));
+        assertEquals(3L, map.get(c));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void removeLeavesEntriesThatAreAlreadyAtHome() {
+        UuidLongMap map = new UuidLongMap(4);
+        UUID a = keyWithHome(3); // 칸 3
+        UUID b = keyWithHome(4); // 칸 4 (자기 home이라 당기면 안 됨)
+        UUID c = keyWithHome(3); // 칸 5 (b를 건너뛰고 칸 3으로 당겨져야 함)
+        map.put(a, 1L);
+        map.put(b, 2L);
+        map.put(c, 3L);
+
+        map.remove(a);
+
+        assertEquals(UuidLongMap.NO_VALUE, map.get(a));
+        assertEquals(2L, map.get(b));
+        assertEquals(3L, map.get(c));
+    }
+
+    @Test
+    void removeAcrossTheEndWithMixedHomes() {
+        UuidLongMap map = new UuidLongMap(4);
+        UUID a = keyWithHome(6); // 칸 6
+        UUID b = keyWithHome(7); // 칸 7
+        UUID c = keyWithHome(6); // 칸 0 (한 바퀴 넘어감)
+        UUID d = keyWithHome(0); // 칸 1
+        map.put(a, 1L);
+        map.put(b, 2L);
+        map.put(c, 3L);
+        map.put(d, 4L);
+
+        map.remove(b);
+
+        assertEquals(1L, map.get(a));
+        assertEquals(UuidLongMap.NO_VALUE, map.get(b));
+        assertEquals(3L, map.get(c));
+        assertEquals(4L, map.get(d));
+        // 당겨진 뒤에도 지우고 다시 찾을 수 있어야 합니다
+        assertEquals(3L, map.remove(c));
+        assertEquals(4L, map.get(d));
+        assertEquals(1L, map.get(a));
+    }
+
+    @Test
+    void repeatedRemoveLeavesNoTombstones() {
+        UuidLongMap map = new UuidLongMap(4);
+        UUID resident = keyWithHome(5);
+        map.put(resident, 42L);
+        // 묘비가 남는 구현이라면 빈 칸이 없어져서 없는 키를 찾을 때 끝나지 않습니다
+        for (int i = 0; i < 10_000; i++) {
+            UUID key = keyWithHome(i & SMALL_MASK);
+            map.put(key, i);
+            assertEquals(i, map.remove(key));
+        }
+        assertEquals(1, map.size());
+        assertEquals(42L, map.get(resident));
+        assertEquals(UuidLongMap.NO_VALUE, map.get(keyWithHome(5)));
+    }
+
+    @Test
+    void growsWithoutLosingEntries() {
+        UuidLongMap map = new UuidLongMap(4);
+        Map<UUID, Long> expected = new HashMap<>();
+        for (long i = 0; i < 1000; i++) {
+            UUID key = UUID.randomUUID();
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+    }
+
+    @Test
+    void matchesHashMapUnderRandomPutAndRemove() {
+        Random random = new Random(42);
+        List<UUID> universe = new ArrayList<>();
+        for (int i = 0; i < 48; i++) {
+            universe.add(new UUID(random.nextLong(), random.nextLong() | 1L));
+        }
+        UuidLongMap map = new UuidLongMap(4);
+        Map<UUID, Long> expected = new HashMap<>();
+
+        for (int op = 0; op < 200_000; op++) {
+            UUID key = universe.get(random.nextInt(universe.size()));
+            if (random.nextBoolean()) {
+                long value = random.nextLong(1_000_000L);
+                map.put(key, value);
+                expected.put(key, value);
+            } else {
+                Long removed = expected.remove(key);
+                assertEquals(removed == null ? UuidLongMap.NO_VALUE : removed, map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (UUID key : universe) {
+            Long value = expected.get(key);
+            assertEquals(value == null ? UuidLongMap.NO_VALUE : value, map.get(key));
+        }
+    }
+
+    @Test
+    void replaceAllAndClear() {
+        UuidLongMap map = new UuidLongMap(4);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        map.put(a, 1L);
+        map.put(b, 2L);
+
+        map.replaceAll((msb, lsb, value) -> value * 10);
+        assertEquals(10L, map.get(a));
+        assertEquals(20L, map.get(b));
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(UuidLongMap.NO_VALUE, map.get(a));
+        map.put(a, 3L);
+        assertEquals(3L, map.get(a));
+    }
+}